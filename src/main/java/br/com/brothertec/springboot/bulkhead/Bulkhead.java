@@ -0,0 +1,112 @@
+package br.com.brothertec.springboot.bulkhead;
+
+import br.com.brothertec.springboot.exception.BulkheadFullException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+//bounded executor isolating one class of repository work from the others
+public class Bulkhead implements MeterBinder {
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final TaskDecorator taskDecorator;
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, int threads, int queueCapacity) {
+        this(name, threads, queueCapacity, task -> task);
+    }
+
+    public Bulkhead(String name, int threads, int queueCapacity, TaskDecorator taskDecorator) {
+        this.name = name;
+        this.taskDecorator = taskDecorator;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employees-" + name + "-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> T call(Supplier<T> task) {
+        //work bound to the caller's transaction has to stay on the caller's thread
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return task.get();
+        }
+
+        FutureTask<T> future = new FutureTask<>(task::get);
+        try {
+            executor.execute(taskDecorator.decorate(future));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new BulkheadFullException("Bulkhead '" + name + "' is saturated", e);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting on bulkhead '" + name + "'", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    //asynchronous counterpart of call; the task never joins a transaction of the caller
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(taskDecorator.decorate(() -> {
+                try {
+                    future.complete(task.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            future.completeExceptionally(new BulkheadFullException("Bulkhead '" + name + "' is saturated", e));
+        }
+        return future;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employees.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("bulkhead", name)
+                .register(registry);
+        Gauge.builder("employees.bulkhead.queued", executor, e -> e.getQueue().size())
+                .tag("bulkhead", name)
+                .register(registry);
+        Gauge.builder("employees.bulkhead.saturation", executor,
+                        e -> (double) (e.getActiveCount() + e.getQueue().size())
+                                / (e.getMaximumPoolSize() + e.getQueue().size() + e.getQueue().remainingCapacity()))
+                .tag("bulkhead", name)
+                .register(registry);
+        FunctionCounter.builder("employees.bulkhead.rejected", rejected, LongAdder::sum)
+                .tag("bulkhead", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.brothertec.springboot.bulkhead;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.bulkhead")
+public class BulkheadProperties {
+    private Pool scan = new Pool(4, 16);
+    private Pool point = new Pool(32, 512);
+    //runs AsyncEmployeeService calls, which in turn wait on scan or point
+    private Pool async = new Pool(64, 1024);
+    //full exports hold their thread and cursor while a client reads, for minutes; kept apart so they never starve scans
+    private Pool export = new Pool(2, 2);
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        private int threads;
+        private int queueCapacity;
+    }
+}
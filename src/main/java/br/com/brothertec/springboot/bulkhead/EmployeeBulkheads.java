@@ -0,0 +1,94 @@
+package br.com.brothertec.springboot.bulkhead;
+
+import br.com.brothertec.springboot.deadline.RequestDeadline;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+//list scans, point lookups and full exports never compete for the same threads (and therefore connections)
+@Component
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class EmployeeBulkheads implements MeterBinder, DisposableBean {
+    private final Bulkhead scan;
+    private final Bulkhead point;
+    private final Bulkhead async;
+    private final Bulkhead export;
+
+    public EmployeeBulkheads(BulkheadProperties properties) {
+        this(properties, ObservationRegistry.NOOP);
+    }
+
+    @Autowired
+    public EmployeeBulkheads(BulkheadProperties properties, ObjectProvider<ObservationRegistry> observationRegistry) {
+        this(properties, observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+    }
+
+    private EmployeeBulkheads(BulkheadProperties properties, ObservationRegistry observationRegistry) {
+        TaskDecorator decorator = task -> propagateRequestContext(propagateObservation(observationRegistry, task));
+        this.scan = new Bulkhead("scan", properties.getScan().getThreads(), properties.getScan().getQueueCapacity(),
+                decorator);
+        this.point = new Bulkhead("point", properties.getPoint().getThreads(), properties.getPoint().getQueueCapacity(),
+                decorator);
+        this.async = new Bulkhead("async", properties.getAsync().getThreads(), properties.getAsync().getQueueCapacity(),
+                decorator);
+        this.export = new Bulkhead("export", properties.getExport().getThreads(),
+                properties.getExport().getQueueCapacity(), decorator);
+    }
+
+    static Runnable propagateRequestContext(Runnable task) {
+        return TenantContext.propagate(RequestDeadline.propagate(task));
+    }
+
+    //queries on the bulkhead thread become spans of the caller's service call
+    static Runnable propagateObservation(ObservationRegistry observationRegistry, Runnable task) {
+        Observation current = observationRegistry.getCurrentObservation();
+        if (current == null) {
+            return task;
+        }
+        return () -> {
+            try (Observation.Scope scope = current.openScope()) {
+                task.run();
+            }
+        };
+    }
+
+    public Bulkhead scan() {
+        return scan;
+    }
+
+    public Bulkhead point() {
+        return point;
+    }
+
+    public Bulkhead async() {
+        return async;
+    }
+
+    public Bulkhead export() {
+        return export;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        scan.bindTo(registry);
+        point.bindTo(registry);
+        async.bindTo(registry);
+        export.bindTo(registry);
+    }
+
+    @Override
+    public void destroy() {
+        scan.shutdown();
+        point.shutdown();
+        async.shutdown();
+        export.shutdown();
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.brothertec.springboot.bulkimport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+//cuts a channel into blocks that end on a line break, so each block can be parsed independently
+class CsvBlockReader {
+
+    record Block(long offset, byte[] bytes) {
+    }
+
+    private final ReadableByteChannel channel;
+    private ByteBuffer buffer;
+    //absolute offset of buffer[0]
+    private long offset;
+    private boolean eof;
+
+    CsvBlockReader(ReadableByteChannel channel, int blockSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(blockSize);
+    }
+
+    //the channel's first bytes, left buffered for readHeader and next
+    byte[] peek(int length) throws IOException {
+        if (buffer.capacity() < length) {
+            buffer = ByteBuffer.allocate(length).put(buffer.flip());
+        }
+        while (buffer.position() < length && fill()) {
+            //keep reading until enough bytes are buffered or the channel ends
+        }
+        return Arrays.copyOf(buffer.array(), Math.min(length, buffer.position()));
+    }
+
+    String readHeader() throws IOException {
+        int lineBreak;
+        while ((lineBreak = indexOfLineBreak()) < 0 && fill()) {
+            //keep reading until the first line is complete
+        }
+        int end = lineBreak < 0 ? buffer.position() : lineBreak + 1;
+        String header = new String(buffer.array(), 0, lineBreak < 0 ? end : lineBreak, StandardCharsets.UTF_8);
+        consume(end);
+        return header.endsWith("\r") ? header.substring(0, header.length() - 1) : header;
+    }
+
+    //resumes after a checkpoint; seekable channels jump, anything else is read and discarded
+    void skipTo(long target) throws IOException {
+        while (offset < target) {
+            long bufferedEnd = offset + buffer.position();
+            if (target <= bufferedEnd) {
+                consume((int) (target - offset));
+                return;
+            }
+            buffer.clear();
+            if (channel instanceof SeekableByteChannel seekable) {
+                seekable.position(target);
+                offset = target;
+                return;
+            }
+            offset = bufferedEnd;
+            if (!fill()) {
+                return;
+            }
+        }
+    }
+
+    Block next() throws IOException {
+        while (true) {
+            if (eof && buffer.position() == 0) {
+                return null;
+            }
+            if (!eof && buffer.hasRemaining()) {
+                fill();
+                continue;
+            }
+            int end = eof ? buffer.position() : lastIndexOfLineBreak() + 1;
+            if (end == 0) {
+                //a single line longer than the buffer
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+                continue;
+            }
+            Block block = new Block(offset, Arrays.copyOf(buffer.array(), end));
+            consume(end);
+            return block;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (!buffer.hasRemaining()) {
+            buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+        }
+        if (channel.read(buffer) < 0) {
+            eof = true;
+            return false;
+        }
+        return true;
+    }
+
+    private void consume(int bytes) {
+        buffer.flip().position(bytes);
+        buffer.compact();
+        offset += bytes;
+    }
+
+    private int indexOfLineBreak() {
+        byte[] bytes = buffer.array();
+        for (int i = 0; i < buffer.position(); i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int lastIndexOfLineBreak() {
+        byte[] bytes = buffer.array();
+        for (int i = buffer.position() - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.brothertec.springboot.bulkimport;
+
+import br.com.brothertec.springboot.exception.InvalidCsvException;
+import br.com.brothertec.springboot.model.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+//RFC 4180 fields (quotes, doubled quotes, commas inside quotes) without line breaks inside a field
+class CsvEmployeeParser {
+    private static final int MAX_LENGTH = 255;
+
+    //employee is null when the row was rejected; endOffset is where the next row starts
+    record ParsedRow(long endOffset, Employee employee, String error) {
+    }
+
+    private final int firstNameColumn;
+    private final int lastNameColumn;
+    private final int emailColumn;
+
+    CsvEmployeeParser(String header) {
+        List<String> columns = split(header);
+        this.firstNameColumn = column(columns, "firstname");
+        this.lastNameColumn = column(columns, "lastname");
+        this.emailColumn = column(columns, "email");
+    }
+
+    List<ParsedRow> parse(CsvBlockReader.Block block) {
+        byte[] bytes = block.bytes();
+        List<ParsedRow> rows = new ArrayList<>();
+        int start = 0;
+        while (start < bytes.length) {
+            int end = start;
+            while (end < bytes.length && bytes[end] != '\n') {
+                end++;
+            }
+            int length = end - start;
+            if (length > 0 && bytes[end - 1] == '\r') {
+                length--;
+            }
+            long endOffset = block.offset() + Math.min(bytes.length, end + 1);
+            if (length > 0) {
+                rows.add(parseLine(new String(bytes, start, length, StandardCharsets.UTF_8), endOffset));
+            }
+            start = end + 1;
+        }
+        return rows;
+    }
+
+    private ParsedRow parseLine(String line, long endOffset) {
+        List<String> fields = split(line);
+        if (fields.size() <= Math.max(firstNameColumn, Math.max(lastNameColumn, emailColumn))) {
+            return rejected(endOffset, "missing columns");
+        }
+        String firstName = fields.get(firstNameColumn).trim();
+        String lastName = fields.get(lastNameColumn).trim();
+        String email = fields.get(emailColumn).trim();
+        if (firstName.isEmpty() || lastName.isEmpty()) {
+            return rejected(endOffset, "first and last name are required");
+        }
+        int at = email.indexOf('@');
+        if (at <= 0 || at != email.lastIndexOf('@') || at == email.length() - 1) {
+            return rejected(endOffset, "invalid email '" + email + "'");
+        }
+        if (firstName.length() > MAX_LENGTH || lastName.length() > MAX_LENGTH || email.length() > MAX_LENGTH) {
+            return rejected(endOffset, "field longer than " + MAX_LENGTH + " characters");
+        }
+        return new ParsedRow(endOffset, Employee.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .build(), null);
+    }
+
+    private static ParsedRow rejected(long endOffset, String error) {
+        return new ParsedRow(endOffset, null, error);
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    //accepts first_name, firstName, "First Name" and so on
+    private static int column(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            String normalized = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+            //byte order mark left by spreadsheet exports
+            if (i == 0 && normalized.startsWith("\uFEFF")) {
+                normalized = normalized.substring(1);
+            }
+            if (normalized.equals(name)) {
+                return i;
+            }
+        }
+        throw new InvalidCsvException("CSV header must contain first_name, last_name and email columns");
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.brothertec.springboot.bulkimport;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.import")
+public class CsvImportProperties {
+    //rows committed per transaction, together with the progress checkpoint
+    private int chunkSize = 1_000;
+    private int parserThreads = 4;
+    //bytes handed to a parser at a time; grows on its own for longer lines
+    private int blockSize = 4 * 1024 * 1024;
+    //rejected rows reported back in detail; the rest are only counted
+    private int maxReportedErrors = 20;
+    //command line import (import profile)
+    private String file;
+    private String tenant;
+    private String importId;
+}
@@ -0,0 +1,16 @@
+package br.com.brothertec.springboot.bulkimport;
+
+import java.util.List;
+
+//counts cover the whole import, earlier runs of a resumed import included; rowsPerSecond is for this run only
+public record CsvImportResult(String importId,
+                              long rowsRead,
+                              long imported,
+                              long duplicates,
+                              long rejected,
+                              long resumedFromOffset,
+                              long byteOffset,
+                              double seconds,
+                              long rowsPerSecond,
+                              List<String> errors) {
+}
@@ -0,0 +1,52 @@
+package br.com.brothertec.springboot.bulkimport;
+
+import br.com.brothertec.springboot.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+//java -jar app.jar --spring.profiles.active=import --employees.import.file=employees.csv
+//the import id defaults to the file name, so rerunning the same command resumes an interrupted import. another
+//file under that name, or a rerun after the import completed, is refused; set employees.import.import-id then
+@Component
+@Profile("import")
+public class CsvImportRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(CsvImportRunner.class);
+
+    private EmployeeCsvImporter importer;
+    private CsvImportProperties properties;
+
+    public CsvImportRunner(EmployeeCsvImporter importer, CsvImportProperties properties) {
+        this.importer = importer;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (properties.getFile() == null) {
+            throw new IllegalArgumentException("Set employees.import.file to the CSV to import");
+        }
+        Path file = Path.of(properties.getFile());
+        String importId = properties.getImportId() != null ? properties.getImportId() : file.getFileName().toString();
+        if (properties.getTenant() != null) {
+            TenantContext.setTenantId(properties.getTenant());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CsvImportResult result = importer.importCsv(channel, importId);
+            log.info("Imported {} of {} rows from {} ({} duplicates, {} rejected) in {} s ({} rows/s)",
+                    result.imported(), result.rowsRead(), file, result.duplicates(), result.rejected(),
+                    String.format("%.1f", result.seconds()), result.rowsPerSecond());
+            result.errors().forEach(error -> log.warn("Rejected {}", error));
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
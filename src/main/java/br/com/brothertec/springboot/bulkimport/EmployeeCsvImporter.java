@@ -0,0 +1,219 @@
+package br.com.brothertec.springboot.bulkimport;
+
+import br.com.brothertec.springboot.exception.InvalidCsvException;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.model.ImportCheckpoint;
+import br.com.brothertec.springboot.repository.EmployeeRepository;
+import br.com.brothertec.springboot.repository.ImportCheckpointRepository;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//streams a CSV from a channel: blocks are parsed in parallel, consumed in order and committed in chunks.
+//with an import id, the byte offset after each chunk is committed with it, so a rerun continues from there;
+//the rerun must present the same file, by size and first block, and a completed import is never rerun.
+@Component
+@EnableConfigurationProperties(CsvImportProperties.class)
+public class EmployeeCsvImporter implements DisposableBean {
+    private EmployeeRepository employeeRepository;
+    private ImportCheckpointRepository checkpointRepository;
+    private TransactionTemplate transactionTemplate;
+    private CsvImportProperties properties;
+    private final ExecutorService parsers;
+
+    public EmployeeCsvImporter(EmployeeRepository employeeRepository, ImportCheckpointRepository checkpointRepository,
+                               PlatformTransactionManager transactionManager, CsvImportProperties properties) {
+        this.employeeRepository = employeeRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.parsers = Executors.newFixedThreadPool(Math.max(1, properties.getParserThreads()),
+                new CustomizableThreadFactory("employees-csv-"));
+    }
+
+    public CsvImportResult importCsv(ReadableByteChannel channel, String importId) throws IOException {
+        return importCsv(channel, importId, channel instanceof SeekableByteChannel seekable ? seekable.size() : -1);
+    }
+
+    //size is the whole file's, or -1 when the caller cannot tell (a chunked upload)
+    public CsvImportResult importCsv(ReadableByteChannel channel, String importId, long size) throws IOException {
+        long startedAt = System.nanoTime();
+        ImportCheckpoint previous = importId == null ? null : checkpointRepository.findById(importId).orElse(null);
+        if (previous != null && !previous.getTenantId().equals(TenantContext.getTenantId())) {
+            throw new InvalidCsvException("Import id " + importId + " belongs to another tenant");
+        }
+        if (previous != null && previous.isCompleted()) {
+            throw new InvalidCsvException("Import id " + importId + " has already completed, use a new import id to import again");
+        }
+
+        CsvBlockReader reader = new CsvBlockReader(channel, properties.getBlockSize());
+        //a resumed import hashes as many bytes as its first run did, whatever the block size is now
+        int hashedLength = previous != null && previous.getFingerprint() != null
+                ? hashedLength(previous.getFingerprint())
+                : properties.getBlockSize();
+        String fingerprint = fingerprint(size, reader.peek(hashedLength));
+        if (previous != null && !fingerprint.equals(previous.getFingerprint())) {
+            throw new InvalidCsvException("Import id " + importId + " was started with a different file, use a new import id for this one");
+        }
+        ImportCheckpoint checkpoint = previous != null ? previous : newCheckpoint(importId, fingerprint);
+        long resumedFrom = checkpoint.getByteOffset();
+        long rowsAtStart = checkpoint.getRowsRead();
+        List<String> errors = new ArrayList<>();
+
+        CsvEmployeeParser parser = new CsvEmployeeParser(reader.readHeader());
+        reader.skipTo(resumedFrom);
+
+        //a few blocks ahead keeps every parser busy while bounding memory
+        Queue<Future<List<CsvEmployeeParser.ParsedRow>>> inFlight = new ArrayDeque<>();
+        int maxInFlight = 2 * Math.max(1, properties.getParserThreads());
+        List<Employee> chunk = new ArrayList<>(properties.getChunkSize());
+        Progress progress = new Progress(checkpoint);
+        CsvBlockReader.Block block = reader.next();
+        while (block != null || !inFlight.isEmpty()) {
+            while (block != null && inFlight.size() < maxInFlight) {
+                CsvBlockReader.Block parsed = block;
+                inFlight.add(parsers.submit(() -> parser.parse(parsed)));
+                block = reader.next();
+            }
+            for (CsvEmployeeParser.ParsedRow row : await(inFlight.poll())) {
+                progress.rowsRead++;
+                progress.byteOffset = row.endOffset();
+                if (row.employee() == null) {
+                    progress.rejected++;
+                    if (errors.size() < properties.getMaxReportedErrors()) {
+                        errors.add("row ending at byte " + row.endOffset() + ": " + row.error());
+                    }
+                    continue;
+                }
+                chunk.add(row.employee());
+                if (chunk.size() >= properties.getChunkSize()) {
+                    commit(checkpoint, chunk, progress, false);
+                    chunk.clear();
+                }
+            }
+        }
+        commit(checkpoint, chunk, progress, true);
+
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        long rowsThisRun = checkpoint.getRowsRead() - rowsAtStart;
+        return new CsvImportResult(importId, checkpoint.getRowsRead(), checkpoint.getImported(),
+                checkpoint.getDuplicates(), checkpoint.getRejected(), resumedFrom, checkpoint.getByteOffset(),
+                seconds, seconds > 0 ? Math.round(rowsThisRun / seconds) : rowsThisRun, errors);
+    }
+
+    //dedupes the chunk against itself and the repository, then saves rows and checkpoint in one transaction
+    private void commit(ImportCheckpoint checkpoint, List<Employee> chunk, Progress progress, boolean completed) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> taken = new HashSet<>(chunk.isEmpty()
+                    ? List.of()
+                    : employeeRepository.findExistingEmails(chunk.stream().map(Employee::getEmail).toList()));
+            List<Employee> fresh = new ArrayList<>(chunk.size());
+            for (Employee employee : chunk) {
+                if (taken.add(employee.getEmail())) {
+                    fresh.add(employee);
+                }
+            }
+            employeeRepository.saveAll(fresh);
+
+            progress.imported += fresh.size();
+            progress.duplicates += chunk.size() - fresh.size();
+            progress.applyTo(checkpoint);
+            checkpoint.setCompleted(completed);
+            if (checkpoint.getImportId() != null) {
+                checkpointRepository.save(checkpoint);
+            }
+        });
+    }
+
+    private static List<CsvEmployeeParser.ParsedRow> await(Future<List<CsvEmployeeParser.ParsedRow>> parsed)
+            throws IOException {
+        try {
+            return parsed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("CSV import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException("CSV parsing failed", e.getCause());
+        }
+    }
+
+    private static ImportCheckpoint newCheckpoint(String importId, String fingerprint) {
+        return ImportCheckpoint.builder()
+                .importId(importId)
+                .tenantId(TenantContext.getTenantId())
+                .fingerprint(fingerprint)
+                .build();
+    }
+
+    static String fingerprint(long size, byte[] firstBlock) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(firstBlock);
+            return size + ":" + firstBlock.length + ":" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int hashedLength(String fingerprint) {
+        String[] parts = fingerprint.split(":");
+        try {
+            return parts.length == 3 ? Integer.parseInt(parts[1]) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        parsers.shutdownNow();
+    }
+
+    //running totals; copied into the checkpoint only once a chunk is about to commit
+    private static class Progress {
+        long byteOffset;
+        long rowsRead;
+        long imported;
+        long duplicates;
+        long rejected;
+
+        Progress(ImportCheckpoint checkpoint) {
+            byteOffset = checkpoint.getByteOffset();
+            rowsRead = checkpoint.getRowsRead();
+            imported = checkpoint.getImported();
+            duplicates = checkpoint.getDuplicates();
+            rejected = checkpoint.getRejected();
+        }
+
+        void applyTo(ImportCheckpoint checkpoint) {
+            checkpoint.setByteOffset(byteOffset);
+            checkpoint.setRowsRead(rowsRead);
+            checkpoint.setImported(imported);
+            checkpoint.setDuplicates(duplicates);
+            checkpoint.setRejected(rejected);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package br.com.brothertec.springboot.cache;
+
+//origin is the node that made the change, so it can skip its own broadcast
+public record EmployeeInvalidation(String origin, String tenantId, long id) {
+}
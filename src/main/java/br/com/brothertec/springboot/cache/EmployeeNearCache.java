@@ -0,0 +1,172 @@
+package br.com.brothertec.springboot.cache;
+
+import br.com.brothertec.springboot.model.Employee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+//per-node cache of employees by (tenant, id), kept coherent across nodes by an InvalidationBus.
+//every invalidation takes a new version and leaves a tombstone; a load may only populate an entry
+//when no invalidation happened since the load started, so a slow read cannot put back stale data.
+public class EmployeeNearCache implements MeterBinder {
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    //highest version of an evicted tombstone; loads started before it can no longer be checked and are not cached
+    private final AtomicLong evictedUpTo = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final InvalidationBus bus;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    public EmployeeNearCache(InvalidationBus bus, int maxEntries, Duration ttl) {
+        this(bus, maxEntries, ttl, System::nanoTime);
+    }
+
+    EmployeeNearCache(InvalidationBus bus, int maxEntries, Duration ttl, LongSupplier nanoClock) {
+        this.bus = bus;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        bus.subscribe(this::onInvalidation);
+    }
+
+    //returns an instance the caller may modify: a copy on a hit, the loader's own result on a miss; reads inside a transaction bypass the cache since they may see uncommitted rows
+    public Optional<Employee> get(String tenantId, long id, Supplier<Optional<Employee>> loader) {
+        if (maxEntries <= 0 || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        Key key = new Key(tenantId, id);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.value() != null && nanoClock.getAsLong() - entry.expiresAtNanos() < 0) {
+            hits.increment();
+            return Optional.of(copy(entry.value()));
+        }
+        misses.increment();
+        long version = versions.get();
+        Optional<Employee> loaded = loader.get();
+        loaded.ifPresent(employee -> populate(key, version, employee));
+        return loaded;
+    }
+
+    //last loaded value even past its ttl, for when the database cannot be reached; never one that was invalidated
+    public Optional<Employee> getStale(String tenantId, long id) {
+        if (maxEntries <= 0 || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Optional.empty();
+        }
+        Entry entry = entries.get(new Key(tenantId, id));
+        return entry != null && entry.value() != null ? Optional.of(copy(entry.value())) : Optional.empty();
+    }
+
+    //caches a batch read with one query; versioned like get, so a write that overlaps the query wins
+    public void preload(String tenantId, Supplier<List<Employee>> loader) {
+        if (maxEntries <= 0 || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        long version = versions.get();
+        for (Employee employee : loader.get()) {
+            populate(new Key(tenantId, employee.getId()), version, employee);
+        }
+    }
+
+    //drops the entry here and on every other node once the surrounding transaction, if any, has committed
+    public void invalidate(String tenantId, long id) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(tenantId, id);
+                }
+            });
+        } else {
+            invalidateNow(tenantId, id);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employees.near-cache.hits", hits, LongAdder::sum).register(registry);
+        FunctionCounter.builder("employees.near-cache.misses", misses, LongAdder::sum).register(registry);
+        Gauge.builder("employees.near-cache.size", entries, Map::size).register(registry);
+    }
+
+    private void invalidateNow(String tenantId, long id) {
+        evict(new Key(tenantId, id));
+        bus.publish(new EmployeeInvalidation(nodeId, tenantId, id));
+    }
+
+    private void onInvalidation(EmployeeInvalidation invalidation) {
+        if (!nodeId.equals(invalidation.origin())) {
+            evict(new Key(invalidation.tenantId(), invalidation.id()));
+        }
+    }
+
+    private void evict(Key key) {
+        entries.put(key, new Entry(versions.incrementAndGet(), null, nanoClock.getAsLong() + ttlNanos));
+        trim();
+    }
+
+    private void populate(Key key, long version, Employee employee) {
+        if (version < evictedUpTo.get()) {
+            return;
+        }
+        Entry loaded = new Entry(version, copy(employee), nanoClock.getAsLong() + ttlNanos);
+        entries.compute(key, (k, existing) -> existing == null || existing.version() <= version ? loaded : existing);
+        trim();
+    }
+
+    //map iteration order is effectively random, which is good enough as an eviction policy here
+    private void trim() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            Entry evicted = iterator.next();
+            iterator.remove();
+            if (evicted.value() == null) {
+                evictedUpTo.accumulateAndGet(evicted.version(), Math::max);
+            }
+        }
+    }
+
+    private static Employee copy(Employee employee) {
+        return Employee.builder()
+                .id(employee.getId())
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .tenantId(employee.getTenantId())
+                .version(employee.getVersion())
+                .build();
+    }
+
+    private record Key(String tenantId, long id) {
+    }
+
+    //value is null for a tombstone
+    private record Entry(long version, Employee value, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.brothertec.springboot.cache;
+
+import java.util.function.Consumer;
+
+//carries near-cache invalidations between nodes; provide a bean of this type to replace the in-process default
+public interface InvalidationBus {
+
+    void publish(EmployeeInvalidation invalidation);
+
+    void subscribe(Consumer<EmployeeInvalidation> subscriber);
+}
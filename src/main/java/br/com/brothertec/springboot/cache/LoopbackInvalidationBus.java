@@ -0,0 +1,22 @@
+package br.com.brothertec.springboot.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+//delivers synchronously to every cache in this JVM; enough for a single node and for tests with several caches
+public class LoopbackInvalidationBus implements InvalidationBus {
+    private final List<Consumer<EmployeeInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(EmployeeInvalidation invalidation) {
+        for (Consumer<EmployeeInvalidation> subscriber : subscribers) {
+            subscriber.accept(invalidation);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<EmployeeInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.brothertec.springboot.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(NearCacheProperties.class)
+public class NearCacheConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public InvalidationBus invalidationBus() {
+        return new LoopbackInvalidationBus();
+    }
+
+    @Bean
+    public EmployeeNearCache employeeNearCache(InvalidationBus invalidationBus, NearCacheProperties properties) {
+        return new EmployeeNearCache(invalidationBus, properties.isEnabled() ? properties.getMaxEntries() : 0,
+                properties.getTtl());
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.brothertec.springboot.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.near-cache")
+public class NearCacheProperties {
+    private boolean enabled = true;
+    private int maxEntries = 10_000;
+    //upper bound on staleness should an invalidation be lost on the bus
+    private Duration ttl = Duration.ofMinutes(1);
+}
@@ -0,0 +1,50 @@
+package br.com.brothertec.springboot.config;
+
+import br.com.brothertec.springboot.deadline.DeadlineProperties;
+import br.com.brothertec.springboot.deadline.RequestDeadlineInterceptor;
+import br.com.brothertec.springboot.profiling.ProfilingInterceptor;
+import br.com.brothertec.springboot.profiling.ProfilingProperties;
+import br.com.brothertec.springboot.ratelimit.RateLimitInterceptor;
+import br.com.brothertec.springboot.ratelimit.RateLimitProperties;
+import br.com.brothertec.springboot.warmup.WarmupTraffic;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties({RateLimitProperties.class, DeadlineProperties.class, ProfilingProperties.class})
+public class WebConfig implements WebMvcConfigurer {
+    private RateLimitProperties rateLimitProperties;
+    private DeadlineProperties deadlineProperties;
+    private ProfilingProperties profilingProperties;
+
+    public WebConfig(RateLimitProperties rateLimitProperties, DeadlineProperties deadlineProperties,
+                     ProfilingProperties profilingProperties) {
+        this.rateLimitProperties = rateLimitProperties;
+        this.deadlineProperties = deadlineProperties;
+        this.profilingProperties = profilingProperties;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        //first, so the request event also covers the time spent in the interceptors below
+        if (profilingProperties.isEnabled()) {
+            registry.addInterceptor(new ProfilingInterceptor())
+                    .addPathPatterns("/api/employees", "/api/employees/**", "/api/async/employees", "/api/async/employees/**")
+                    .excludePathPatterns("/api/employees/changes");
+        }
+        //before the rate limiter, which lets the warm-up's requests through
+        registry.addInterceptor(new WarmupTraffic())
+                .addPathPatterns("/api/employees", "/api/employees/**");
+        registry.addInterceptor(new RequestDeadlineInterceptor(deadlineProperties))
+                .addPathPatterns("/api/employees", "/api/employees/**", "/api/async/employees", "/api/async/employees/**");
+        if (rateLimitProperties.isEnabled()) {
+            //a change stream stays open for minutes and would pin (and skew) the adaptive concurrency limit;
+            //EmployeeChangeStream caps the subscriptions per client instead
+            registry.addInterceptor(new RateLimitInterceptor(rateLimitProperties))
+                    .addPathPatterns("/api/employees", "/api/employees/**", "/api/async/employees", "/api/async/employees/**")
+                    .excludePathPatterns("/api/employees/changes");
+        }
+    }
+}
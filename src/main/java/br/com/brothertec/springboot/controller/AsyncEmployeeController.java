@@ -0,0 +1,70 @@
+package br.com.brothertec.springboot.controller;
+
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.service.AsyncEmployeeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+//same resource as EmployeeController, but the servlet thread is released while the service works
+@RestController
+@RequestMapping("/api/async/employees")
+public class AsyncEmployeeController {
+    private AsyncEmployeeService asyncEmployeeService;
+
+    public AsyncEmployeeController(AsyncEmployeeService asyncEmployeeService) {
+        this.asyncEmployeeService = asyncEmployeeService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public CompletableFuture<EmployeeDto> createEmployee(@RequestBody Employee employee) {
+        return asyncEmployeeService.saveEmployee(employee).thenApply(EmployeeDto::from);
+    }
+
+    @GetMapping
+    public CompletableFuture<List<EmployeeDto>> getAllEmployees() {
+        return asyncEmployeeService.getAllEmployees().thenApply(EmployeeDto::fromAll);
+    }
+
+    @GetMapping(params = "page")
+    public CompletableFuture<List<EmployeeDto>> getEmployees(@RequestParam("page") int page,
+                                                             @RequestParam(value = "size", defaultValue = "50") int size) {
+        return asyncEmployeeService.getEmployees(page, EmployeeController.pageSize(size)).thenApply(EmployeeDto::fromAll);
+    }
+
+    @GetMapping(params = "ids")
+    public CompletableFuture<List<EmployeeDto>> getEmployeesByIds(@RequestParam("ids") List<Long> ids) {
+        return asyncEmployeeService.getEmployeesByIds(ids).thenApply(EmployeeDto::fromAll);
+    }
+
+    @GetMapping("{id}")
+    public CompletableFuture<ResponseEntity<EmployeeDto>> getEmployeeById(@PathVariable("id") long employeeId) {
+        return asyncEmployeeService.getEmployeeById(employeeId)
+                .thenApply(employee -> employee
+                        .map(EmployeeDto::from)
+                        .map(ResponseEntity::ok)
+                        .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    @PutMapping("{id}")
+    public CompletableFuture<ResponseEntity<EmployeeDto>> updateEmployee(@PathVariable("id") long employeeId,
+                                                                         @RequestBody Employee employee) {
+        employee.setId(employeeId);
+        return asyncEmployeeService.getEmployeeById(employeeId)
+                .thenCompose(found -> found
+                        .map(savedEmployee -> asyncEmployeeService.updateEmployee(employee)
+                                .thenApply(updatedEmployee -> ResponseEntity.ok(EmployeeDto.from(updatedEmployee))))
+                        .orElseGet(() -> CompletableFuture.<ResponseEntity<EmployeeDto>>completedFuture(ResponseEntity.notFound().build())));
+    }
+
+    @DeleteMapping("{id}")
+    public CompletableFuture<ResponseEntity<String>> deleteEmployee(@PathVariable("id") long employeeId) {
+        return asyncEmployeeService.deleteEmployee(employeeId)
+                .thenApply(done -> new ResponseEntity<String>("Employee deleted successfully!", HttpStatus.OK));
+    }
+}
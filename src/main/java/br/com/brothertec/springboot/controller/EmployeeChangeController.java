@@ -0,0 +1,28 @@
+package br.com.brothertec.springboot.controller;
+
+import br.com.brothertec.springboot.ratelimit.RateLimitInterceptor;
+import br.com.brothertec.springboot.stream.EmployeeChangeStream;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/employees/changes")
+public class EmployeeChangeController {
+    private EmployeeChangeStream employeeChangeStream;
+
+    public EmployeeChangeController(EmployeeChangeStream employeeChangeStream) {
+        this.employeeChangeStream = employeeChangeStream;
+    }
+
+    //EventSource sends Last-Event-ID on reconnect by itself; the parameter is for clients that cannot set headers
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployeeChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+                                            @RequestParam(value = "lastEventId", required = false) Long lastEventId,
+                                            HttpServletRequest request) {
+        return employeeChangeStream.subscribe(TenantContext.getTenantId(), RateLimitInterceptor.clientId(request),
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+}
@@ -1,51 +1,110 @@
 package br.com.brothertec.springboot.controller;
 
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.dto.EmployeeField;
+import br.com.brothertec.springboot.dto.EmployeeListWriter;
+import br.com.brothertec.springboot.dto.EmployeeStatsDto;
+import br.com.brothertec.springboot.dto.PartialEmployeeDto;
+import br.com.brothertec.springboot.exception.InvalidFieldSelectionException;
 import br.com.brothertec.springboot.model.Employee;
 import br.com.brothertec.springboot.service.EmployeeService;
+import br.com.brothertec.springboot.stats.EmployeeStatsAggregator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
+    //a page is held whole in memory before it is written, unlike the streamed export
+    static final int MAX_PAGE_SIZE = 500;
+
     private EmployeeService employeeService;
+    private EmployeeStatsAggregator employeeStatsAggregator;
+    private EmployeeListWriter employeeListWriter;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeStatsAggregator employeeStatsAggregator,
+                              ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.employeeStatsAggregator = employeeStatsAggregator;
+        this.employeeListWriter = new EmployeeListWriter(objectMapper);
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Employee createEmployee(@RequestBody Employee employee) {
-        return employeeService.saveEmployee(employee);
+    public EmployeeDto createEmployee(@RequestBody Employee employee) {
+        return EmployeeDto.from(employeeService.saveEmployee(employee));
+    }
+
+    //rows go from the scrolled result set straight to the response, so memory stays flat however many there are.
+    //a full export outlasts any list deadline, so it is named apart to get limits and a deadline of its own
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, EmployeeListWriter.SMILE_VALUE, EmployeeListWriter.CBOR_VALUE})
+    public void streamAllEmployees(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) List<MediaType> accept,
+                                HttpServletResponse response) throws IOException, HttpMediaTypeNotAcceptableException {
+        MediaType mediaType = employeeListWriter.negotiate(accept);
+        if (mediaType == null) {
+            throw new HttpMediaTypeNotAcceptableException(List.of(MediaType.APPLICATION_JSON,
+                    MediaType.valueOf(EmployeeListWriter.SMILE_VALUE), MediaType.valueOf(EmployeeListWriter.CBOR_VALUE)));
+        }
+        response.setContentType(mediaType.toString());
+        employeeListWriter.write(response.getOutputStream(), mediaType, employeeService::streamAllEmployees);
+    }
+
+    @GetMapping(params = "page")
+    public List<EmployeeDto> getEmployees(@RequestParam("page") int page,
+                                          @RequestParam(value = "size", defaultValue = "50") int size) {
+        return EmployeeDto.fromAll(employeeService.getEmployees(page, pageSize(size)));
+    }
+
+    //fields=id,email reads and returns only those columns; same method names share configured limits and deadlines.
+    //a projected list is built in memory, so it comes in pages only; the full table is what the export streams
+    @GetMapping(params = "fields")
+    public List<PartialEmployeeDto> getAllEmployees(@RequestParam("fields") String fields) {
+        EmployeeField.parse(fields);
+        throw new InvalidFieldSelectionException("fields needs a page, e.g. ?page=0&size=50&fields=" + fields);
+    }
+
+    @GetMapping(params = {"page", "fields"})
+    public List<PartialEmployeeDto> getEmployees(@RequestParam("page") int page,
+                                                 @RequestParam(value = "size", defaultValue = "50") int size,
+                                                 @RequestParam("fields") String fields) {
+        return employeeService.getEmployees(page, pageSize(size), EmployeeField.parse(fields));
     }
 
-    @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    @GetMapping("stats")
+    public EmployeeStatsDto getEmployeeStats() {
+        return employeeStatsAggregator.getStats();
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId) {
+    public ResponseEntity<EmployeeDto> getEmployeeById(@PathVariable("id") long employeeId) {
         return employeeService.getEmployeeById(employeeId)
+                .map(EmployeeDto::from)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PutMapping("{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId,
+    public ResponseEntity<EmployeeDto> updateEmployee(@PathVariable("id") long employeeId,
                                                    @RequestBody Employee employee) {
+        //the body's version, when sent, is the one the client edited; a newer one answers 409
+        employee.setId(employeeId);
         return employeeService.getEmployeeById(employeeId)
                 .map(savedEmployee -> {
-                    savedEmployee.setFirstName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
-
-                    Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-                    return new ResponseEntity<Employee>(updatedEmployee, HttpStatus.OK);
+                    Employee updatedEmployee = employeeService.updateEmployee(employee);
+                    return new ResponseEntity<EmployeeDto>(EmployeeDto.from(updatedEmployee), HttpStatus.OK);
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -0,0 +1,29 @@
+package br.com.brothertec.springboot.controller;
+
+import br.com.brothertec.springboot.bulkimport.CsvImportResult;
+import br.com.brothertec.springboot.bulkimport.EmployeeCsvImporter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+
+@RestController
+@RequestMapping("/api/employees")
+public class EmployeeImportController {
+    private EmployeeCsvImporter employeeCsvImporter;
+
+    public EmployeeImportController(EmployeeCsvImporter employeeCsvImporter) {
+        this.employeeCsvImporter = employeeCsvImporter;
+    }
+
+    //the raw body is streamed, never buffered whole; resend with the same importId to resume after a failure
+    @PostMapping(value = "import", consumes = {"text/csv", "application/octet-stream"})
+    public CsvImportResult importEmployees(HttpServletRequest request,
+                                           @RequestParam(value = "importId", required = false) String importId)
+            throws IOException {
+        //the content length is part of the file's fingerprint, -1 for a chunked upload
+        return employeeCsvImporter.importCsv(Channels.newChannel(request.getInputStream()), importId,
+                request.getContentLengthLong());
+    }
+}
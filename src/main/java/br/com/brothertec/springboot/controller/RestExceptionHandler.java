@@ -0,0 +1,39 @@
+package br.com.brothertec.springboot.controller;
+
+import br.com.brothertec.springboot.deadline.RequestDeadline;
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.exception.EmployeeConflictException;
+import br.com.brothertec.springboot.resilience.DatabaseFailures;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    //the current state lets the client redo its edit on top of it without another GET
+    @ExceptionHandler(EmployeeConflictException.class)
+    public ResponseEntity<EmployeeDto> handleEmployeeConflictException(EmployeeConflictException e) {
+        return new ResponseEntity<EmployeeDto>(EmployeeDto.from(e.getCurrent()), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(DataAccessException.class)
+    public ResponseEntity<String> handleDataAccessException(DataAccessException e) {
+        //a cancelled statement surfaces differently per driver, so the expired deadline is what decides
+        if (e instanceof QueryTimeoutException || RequestDeadline.isExpired()) {
+            return new ResponseEntity<String>("Request deadline exceeded", HttpStatus.GATEWAY_TIMEOUT);
+        }
+        if (e instanceof OptimisticLockingFailureException) {
+            return new ResponseEntity<String>("Employee was modified concurrently", HttpStatus.CONFLICT);
+        }
+        //still failing after the retries; worth trying again later, unlike a 500
+        if (DatabaseFailures.isRetryable(e) || DatabaseFailures.isUnavailable(e)) {
+            return new ResponseEntity<String>("Database temporarily unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return new ResponseEntity<String>("Database error", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
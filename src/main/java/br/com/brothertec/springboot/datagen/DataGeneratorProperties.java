@@ -0,0 +1,21 @@
+package br.com.brothertec.springboot.datagen;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.datagen")
+public class DataGeneratorProperties {
+    private long rows = 1_000_000;
+    //rows per multi-row insert statement
+    private int batchSize = 1_000;
+    private int threads = 4;
+    //zipf exponents: 0 spreads names evenly, ~1 gives a few very common (duplicate) names
+    private double nameSkew = 1.0;
+    private double domainSkew = 1.2;
+    private long seed = 42;
+    //1 loads everything into the default tenant, more spreads rows evenly over tenant-0..tenant-(n-1)
+    private int tenants = 1;
+}
@@ -0,0 +1,40 @@
+package br.com.brothertec.springboot.datagen;
+
+import br.com.brothertec.springboot.stats.EmployeeStatsAggregator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+//java -jar app.jar --spring.profiles.active=datagen --employees.datagen.rows=5000000
+@Component
+@Profile("datagen")
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+public class DataGeneratorRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(DataGeneratorRunner.class);
+
+    private EmployeeDataGenerator generator;
+    private DataGeneratorProperties properties;
+    private EmployeeStatsAggregator statsAggregator;
+
+    public DataGeneratorRunner(EmployeeDataGenerator generator, DataGeneratorProperties properties,
+                               EmployeeStatsAggregator statsAggregator) {
+        this.generator = generator;
+        this.properties = properties;
+        this.statsAggregator = statsAggregator;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startedAt = System.nanoTime();
+        long inserted = generator.generate(properties);
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        log.info("Generated {} employees in {} s ({} rows/s)", inserted, String.format("%.1f", seconds),
+                Math.round(inserted / seconds));
+        //the multi-row inserts bypass the entity events the stats are maintained from
+        statsAggregator.rebuild();
+    }
+}
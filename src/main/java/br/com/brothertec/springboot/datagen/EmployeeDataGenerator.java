@@ -0,0 +1,115 @@
+package br.com.brothertec.springboot.datagen;
+
+import br.com.brothertec.springboot.id.SnowflakeIdGenerator;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//bulk loads synthetic employees with multi-row inserts; every row gets a unique email
+@Component
+public class EmployeeDataGenerator {
+    static final String[] FIRST_NAMES = {"Maria", "Jose", "Ana", "Joao", "Antonio", "Francisco", "Carlos", "Paulo",
+            "Pedro", "Lucas", "Luiz", "Marcos", "Luis", "Gabriel", "Rafael", "Daniel", "Marcelo", "Bruno", "Eduardo",
+            "Felipe", "Raimundo", "Rodrigo", "Manoel", "Mateus", "Andre", "Fernando", "Fabio", "Leonardo", "Gustavo",
+            "Guilherme", "Romulo", "Nayra", "Everson", "Juliana", "Adriana", "Marcia", "Fernanda", "Patricia", "Aline",
+            "Sandra", "Camila", "Amanda", "Bruna", "Jessica", "Leticia", "Julia", "Luciana", "Vanessa", "Mariana"};
+    static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves",
+            "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares",
+            "Fernandes", "Vieira", "Barbosa", "Rocha", "Dias", "Nascimento", "Andrade", "Moreira", "Nunes", "Marques",
+            "Machado", "Mendes", "Freitas", "Cardoso", "Ramos", "Goncalves", "Santana", "Teixeira", "Cruz", "Stark"};
+    static final String[] DOMAINS = {"teste.com", "gmail.com", "outlook.com", "yahoo.com", "brothertec.com.br",
+            "empresa.com.br", "uol.com.br", "hotmail.com"};
+
+    private static final int COLUMNS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SnowflakeIdGenerator idGenerator;
+
+    public EmployeeDataGenerator(DataSource dataSource, SnowflakeIdGenerator idGenerator) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.idGenerator = idGenerator;
+    }
+
+    public long generate(DataGeneratorProperties properties) {
+        int threads = Math.max(1, properties.getThreads());
+        long rowsPerThread = (properties.getRows() + threads - 1) / threads;
+        if (threads == 1) {
+            return generateSlice(properties, 0, properties.getRows());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> slices = new ArrayList<>(threads);
+            for (int slice = 0; slice < threads; slice++) {
+                long from = slice * rowsPerThread;
+                long to = Math.min(properties.getRows(), from + rowsPerThread);
+                slices.add(executor.submit(() -> generateSlice(properties, from, to)));
+            }
+            long inserted = 0;
+            for (Future<Long> slice : slices) {
+                inserted += slice.get();
+            }
+            return inserted;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Data generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Data generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long generateSlice(DataGeneratorProperties properties, long from, long to) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() + from);
+        ZipfSampler firstNames = new ZipfSampler(FIRST_NAMES.length, properties.getNameSkew());
+        ZipfSampler lastNames = new ZipfSampler(LAST_NAMES.length, properties.getNameSkew());
+        ZipfSampler domains = new ZipfSampler(DOMAINS.length, properties.getDomainSkew());
+
+        int batchSize = properties.getBatchSize();
+        String fullBatchSql = insertSql(batchSize);
+        Object[] args = new Object[batchSize * COLUMNS];
+        long inserted = 0;
+        for (long sequence = from; sequence < to; sequence += batchSize) {
+            int rows = (int) Math.min(batchSize, to - sequence);
+            for (int row = 0; row < rows; row++) {
+                String firstName = FIRST_NAMES[firstNames.sample(random)];
+                String lastName = LAST_NAMES[lastNames.sample(random)];
+                args[row * COLUMNS] = idGenerator.nextId();
+                args[row * COLUMNS + 1] = firstName;
+                args[row * COLUMNS + 2] = lastName;
+                args[row * COLUMNS + 3] = (firstName + "." + lastName + "." + (sequence + row)).toLowerCase()
+                        + "@" + DOMAINS[domains.sample(random)];
+                args[row * COLUMNS + 4] = properties.getTenants() <= 1
+                        ? TenantContext.DEFAULT_TENANT
+                        : "tenant-" + random.nextInt(properties.getTenants());
+            }
+            if (rows == batchSize) {
+                jdbcTemplate.update(fullBatchSql, args);
+            } else {
+                Object[] tail = new Object[rows * COLUMNS];
+                System.arraycopy(args, 0, tail, 0, tail.length);
+                jdbcTemplate.update(insertSql(rows), tail);
+            }
+            inserted += rows;
+        }
+        return inserted;
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder("insert into employees (id, first_name, last_name, email, tenant_id) values ");
+        for (int row = 0; row < rows; row++) {
+            sql.append(row == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+        }
+        return sql.toString();
+    }
+}
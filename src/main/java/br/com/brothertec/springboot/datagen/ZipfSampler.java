@@ -0,0 +1,26 @@
+package br.com.brothertec.springboot.datagen;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+//picks index k with probability proportional to 1/(k+1)^exponent; exponent 0 is uniform
+public class ZipfSampler {
+    private final double[] cumulative;
+
+    public ZipfSampler(int size, double exponent) {
+        cumulative = new double[size];
+        double total = 0;
+        for (int k = 0; k < size; k++) {
+            total += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < size; k++) {
+            cumulative[k] /= total;
+        }
+    }
+
+    public int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.brothertec.springboot.deadline;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+//bounds every statement by the request deadline: JDBC query timeout plus a precise Statement.cancel()
+public class DeadlineAwareDataSource extends DelegatingDataSource {
+    private static final ScheduledThreadPoolExecutor CANCELLER;
+
+    static {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("statement-canceller-");
+        threadFactory.setDaemon(true);
+        CANCELLER = new ScheduledThreadPoolExecutor(1, threadFactory);
+        CANCELLER.setRemoveOnCancelPolicy(true);
+    }
+
+    public DeadlineAwareDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection proxy(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        Object result = invoke(connection, method, args);
+                        yield result instanceof Statement statement ? guard(statement, method.getReturnType()) : result;
+                    }
+                });
+    }
+
+    private Object guard(Statement statement, Class<?> statementType) throws SQLException {
+        if (!RequestDeadline.isSet()) {
+            return statement;
+        }
+        long remainingNanos = RequestDeadline.remainingNanos();
+        if (remainingNanos <= 0) {
+            statement.close();
+            throw new SQLTimeoutException("Request deadline exceeded before the statement was executed");
+        }
+        statement.setQueryTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos + 999_999_999L)));
+        ScheduledFuture<?> cancellation = CANCELLER.schedule(() -> cancel(statement), remainingNanos, TimeUnit.NANOSECONDS);
+
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{statementType},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        cancellation.cancel(false);
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static void cancel(Statement statement) {
+        try {
+            if (!statement.isClosed()) {
+                statement.cancel();
+            }
+        } catch (SQLException e) {
+            //the statement completed concurrently, nothing left to cancel
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.brothertec.springboot.deadline;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+public class DeadlineDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof DeadlineAwareDataSource)) {
+            return new DeadlineAwareDataSource(dataSource);
+        }
+        return bean;
+    }
+}
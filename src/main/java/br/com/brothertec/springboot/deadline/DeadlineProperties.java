@@ -0,0 +1,26 @@
+package br.com.brothertec.springboot.deadline;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.deadline")
+public class DeadlineProperties {
+    //remaining budget of the caller in milliseconds; it can only shorten the endpoint default
+    private String header = "X-Request-Timeout";
+    private Duration defaultTimeout = Duration.ofSeconds(30);
+    //keyed like the rate limits: endpoints[EmployeeController.getAllEmployees]=10s, or endpoints[getAllEmployees]=10s
+    private Map<String, Duration> endpoints = new HashMap<>();
+
+    public Duration timeoutFor(Method method) {
+        Duration timeout = endpoints.get(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+        return timeout != null ? timeout : endpoints.getOrDefault(method.getName(), defaultTimeout);
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.brothertec.springboot.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+//per-thread absolute deadline (System.nanoTime based) of the request being served
+public final class RequestDeadline {
+    private static final long NONE = Long.MIN_VALUE;
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void startingNow(long budgetMillis) {
+        DEADLINE.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    public static boolean isSet() {
+        return DEADLINE.get() != null;
+    }
+
+    public static boolean isExpired() {
+        return isSet() && remainingNanos() <= 0;
+    }
+
+    public static long remainingNanos() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    //captures the caller's deadline so work handed to another thread keeps it
+    public static Runnable propagate(Runnable task) {
+        Long deadline = DEADLINE.get();
+        long captured = deadline == null ? NONE : deadline;
+        return () -> {
+            Long previous = DEADLINE.get();
+            if (captured == NONE) {
+                DEADLINE.remove();
+            } else {
+                DEADLINE.set(captured);
+            }
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    DEADLINE.remove();
+                } else {
+                    DEADLINE.set(previous);
+                }
+            }
+        };
+    }
+}
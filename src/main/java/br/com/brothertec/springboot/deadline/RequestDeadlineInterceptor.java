@@ -0,0 +1,43 @@
+package br.com.brothertec.springboot.deadline;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+public class RequestDeadlineInterceptor implements AsyncHandlerInterceptor {
+    private final DeadlineProperties properties;
+
+    public RequestDeadlineInterceptor(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        long budgetMillis = properties.timeoutFor(handlerMethod.getMethod()).toMillis();
+        String requested = request.getHeader(properties.getHeader());
+        if (requested != null) {
+            try {
+                budgetMillis = Math.min(budgetMillis, Long.parseLong(requested.trim()));
+            } catch (NumberFormatException e) {
+                //ignore a malformed header and keep the endpoint default
+            }
+        }
+        RequestDeadline.startingNow(budgetMillis);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestDeadline.clear();
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.brothertec.springboot.dto;
+
+import br.com.brothertec.springboot.model.Employee;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@JsonSerialize(using = EmployeeDtoSerializer.class)
+public record EmployeeDto(Long id, String firstName, String lastName, String email, Long version) {
+
+    public static EmployeeDto from(Employee employee) {
+        return new EmployeeDto(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getVersion());
+    }
+
+    public static List<EmployeeDto> fromAll(List<Employee> employees) {
+        List<EmployeeDto> dtos = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            dtos.add(from(employee));
+        }
+        return dtos;
+    }
+}
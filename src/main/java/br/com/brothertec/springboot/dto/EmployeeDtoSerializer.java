@@ -0,0 +1,45 @@
+package br.com.brothertec.springboot.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+//hand-written serializer with pre-encoded field names, no bean introspection per call
+public class EmployeeDtoSerializer extends StdSerializer<EmployeeDto> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString VERSION = new SerializedString("version");
+
+    public EmployeeDtoSerializer() {
+        super(EmployeeDto.class);
+    }
+
+    @Override
+    public void serialize(EmployeeDto employee, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(employee);
+        gen.writeFieldName(ID);
+        if (employee.id() == null) {
+            gen.writeNull();
+        } else {
+            EmployeeIdSerializer.write(employee.id(), gen, provider);
+        }
+        gen.writeFieldName(FIRST_NAME);
+        gen.writeString(employee.firstName());
+        gen.writeFieldName(LAST_NAME);
+        gen.writeString(employee.lastName());
+        gen.writeFieldName(EMAIL);
+        gen.writeString(employee.email());
+        //clients send it back with an update so a concurrent change is detected
+        if (employee.version() != null) {
+            gen.writeFieldName(VERSION);
+            gen.writeNumber(employee.version());
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.brothertec.springboot.dto;
+
+import br.com.brothertec.springboot.exception.InvalidFieldSelectionException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+//fields a caller can select with fields=, with the entity property and column each one is read from
+public enum EmployeeField {
+    ID("id", "id"),
+    FIRST_NAME("firstName", "first_name"),
+    LAST_NAME("lastName", "last_name"),
+    EMAIL("email", "email");
+
+    private final String property;
+    private final String column;
+
+    EmployeeField(String property, String column) {
+        this.property = property;
+        this.column = column;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    //"id,email" -> {ID, EMAIL}; names are the JSON property names
+    public static Set<EmployeeField> parse(String fields) {
+        Set<EmployeeField> selected = EnumSet.noneOf(EmployeeField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(byProperty(trimmed));
+        }
+        if (selected.isEmpty()) {
+            throw new InvalidFieldSelectionException("fields must name at least one of " + EnumSet.allOf(EmployeeField.class));
+        }
+        return selected;
+    }
+
+    private static EmployeeField byProperty(String property) {
+        for (EmployeeField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new InvalidFieldSelectionException("Unknown employee field: " + property);
+    }
+
+    @Override
+    public String toString() {
+        return property;
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.brothertec.springboot.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+//ids are numbers unless the WRITE_AS_STRING attribute is set (employees.id.write-as-string), then json gets a string:
+//snowflake ids pass 2^53, where javascript numbers start rounding. smile and cbor carry them exactly and stay numeric
+public class EmployeeIdSerializer extends StdSerializer<Long> {
+    public static final String WRITE_AS_STRING = EmployeeIdSerializer.class.getName() + ".writeAsString";
+
+    public EmployeeIdSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long id, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        write(id, gen, provider);
+    }
+
+    static void write(long id, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (!gen.canWriteBinaryNatively() && Boolean.TRUE.equals(provider.getAttribute(WRITE_AS_STRING))) {
+            gen.writeString(Long.toString(id));
+        } else {
+            gen.writeNumber(id);
+        }
+    }
+}
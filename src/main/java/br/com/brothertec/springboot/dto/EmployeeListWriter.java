@@ -0,0 +1,103 @@
+package br.com.brothertec.springboot.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+//writes the employee array one row at a time, so neither the list nor its encoding is ever held whole.
+//the response is flushed every FLUSH_EVERY rows, which makes the container switch to chunked transfer
+public class EmployeeListWriter {
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final String CBOR_VALUE = "application/cbor";
+
+    static final int FLUSH_EVERY = 256;
+
+    //in preference order; the first one is the default when the client accepts anything
+    private Map<MediaType, ObjectWriter> writers = new LinkedHashMap<>();
+
+    public EmployeeListWriter(ObjectMapper objectMapper) {
+        writers.put(MediaType.APPLICATION_JSON, writer(objectMapper));
+        writers.put(MediaType.valueOf(SMILE_VALUE), writer(objectMapper.copyWith(new SmileFactory())));
+        writers.put(MediaType.valueOf(CBOR_VALUE), writer(objectMapper.copyWith(new CBORFactory())));
+    }
+
+    private static ObjectWriter writer(ObjectMapper objectMapper) {
+        //flushing is done per chunk below, not per row
+        return objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    //the first supported type by quality, or json when nothing is asked for; null when nothing acceptable is supported.
+    //q=0 marks a type as not acceptable, so it is never picked, not even through a wildcard
+    public MediaType negotiate(List<MediaType> accept) {
+        if (accept == null || accept.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> sorted = new ArrayList<>();
+        List<MediaType> refused = new ArrayList<>();
+        for (MediaType mediaType : accept) {
+            (mediaType.getQualityValue() == 0 ? refused : sorted).add(mediaType);
+        }
+        //media types order by quality first when sorted by specificity
+        MimeTypeUtils.sortBySpecificity(sorted);
+        for (MediaType acceptable : sorted) {
+            for (MediaType supported : writers.keySet()) {
+                if (acceptable.isCompatibleWith(supported)
+                        && refused.stream().noneMatch(mediaType -> mediaType.includes(supported))) {
+                    return supported;
+                }
+            }
+        }
+        return null;
+    }
+
+    public void write(OutputStream out, MediaType mediaType, Consumer<Consumer<EmployeeDto>> source) throws IOException {
+        ObjectWriter writer = writers.get(mediaType);
+        if (writer == null) {
+            throw new IllegalArgumentException("Unsupported media type: " + mediaType);
+        }
+        JsonGenerator generator = writer.createGenerator(out);
+        //the container owns the response stream, and a failed scan must not be closed into a valid but short array
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        //nothing is written before the first row, so a scan that fails up front leaves the response uncommitted
+        //and the error status can still be sent; on failure the generator is dropped, never flushed or closed
+        int[] rows = {0};
+        try {
+            source.accept(employee -> {
+                try {
+                    if (rows[0] == 0) {
+                        generator.writeStartArray();
+                    }
+                    writer.writeValue(generator, employee);
+                    if (++rows[0] % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (rows[0] == 0) {
+            generator.writeStartArray();
+        }
+        generator.writeEndArray();
+        //closing flushes the tail without closing the response
+        generator.close();
+    }
+}
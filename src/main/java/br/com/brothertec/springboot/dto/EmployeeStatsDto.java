@@ -0,0 +1,9 @@
+package br.com.brothertec.springboot.dto;
+
+import java.util.Map;
+
+public record EmployeeStatsDto(long total,
+                               Map<String, Long> byDomain,
+                               Map<String, Long> byFirstNameInitial,
+                               Map<String, Long> byLastNameInitial) {
+}
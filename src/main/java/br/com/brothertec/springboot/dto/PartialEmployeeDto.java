@@ -0,0 +1,20 @@
+package br.com.brothertec.springboot.dto;
+
+import br.com.brothertec.springboot.model.Employee;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.Set;
+
+//employee with only the selected fields; every column is not null, so null here means "not selected"
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PartialEmployeeDto(@JsonSerialize(using = EmployeeIdSerializer.class) Long id, String firstName, String lastName, String email) {
+
+    public static PartialEmployeeDto from(Employee employee, Set<EmployeeField> fields) {
+        return new PartialEmployeeDto(
+                fields.contains(EmployeeField.ID) ? employee.getId() : null,
+                fields.contains(EmployeeField.FIRST_NAME) ? employee.getFirstName() : null,
+                fields.contains(EmployeeField.LAST_NAME) ? employee.getLastName() : null,
+                fields.contains(EmployeeField.EMAIL) ? employee.getEmail() : null);
+    }
+}
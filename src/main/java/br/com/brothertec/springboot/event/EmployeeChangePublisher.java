@@ -0,0 +1,96 @@
+package br.com.brothertec.springboot.event;
+
+import br.com.brothertec.springboot.model.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+//turns committed hibernate writes of Employee into EmployeeChangedEvents; rolled back writes publish nothing
+@Component
+public class EmployeeChangePublisher implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private ApplicationEventPublisher publisher;
+
+    public EmployeeChangePublisher(EntityManagerFactory entityManagerFactory, ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Employee) {
+            publisher.publishEvent(EmployeeChangedEvent.inserted(
+                    snapshot(event.getId(), event.getPersister(), event.getState())));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Employee) {
+            //old state is missing when the entity was updated without being loaded first
+            Employee previous = event.getOldState() == null
+                    ? null
+                    : snapshot(event.getId(), event.getPersister(), event.getOldState());
+            publisher.publishEvent(EmployeeChangedEvent.updated(
+                    previous, snapshot(event.getId(), event.getPersister(), event.getState())));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Employee) {
+            publisher.publishEvent(EmployeeChangedEvent.deleted(
+                    snapshot(event.getId(), event.getPersister(), event.getDeletedState())));
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Employee.class;
+    }
+
+    private static Employee snapshot(Object id, EntityPersister persister, Object[] state) {
+        Employee employee = new Employee();
+        employee.setId((Long) id);
+        String[] properties = persister.getPropertyNames();
+        for (int i = 0; i < properties.length; i++) {
+            switch (properties[i]) {
+                case "firstName" -> employee.setFirstName((String) state[i]);
+                case "lastName" -> employee.setLastName((String) state[i]);
+                case "email" -> employee.setEmail((String) state[i]);
+                case "tenantId" -> employee.setTenantId((String) state[i]);
+                case "version" -> employee.setVersion((Long) state[i]);
+                default -> {
+                }
+            }
+        }
+        return employee;
+    }
+}
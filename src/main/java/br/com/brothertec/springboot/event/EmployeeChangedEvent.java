@@ -0,0 +1,23 @@
+package br.com.brothertec.springboot.event;
+
+import br.com.brothertec.springboot.model.Employee;
+
+//published after a committed change; previous and current are detached snapshots (null where they do not apply)
+public record EmployeeChangedEvent(Type type, Employee previous, Employee current) {
+
+    public enum Type {
+        INSERTED, UPDATED, DELETED
+    }
+
+    public static EmployeeChangedEvent inserted(Employee current) {
+        return new EmployeeChangedEvent(Type.INSERTED, null, current);
+    }
+
+    public static EmployeeChangedEvent updated(Employee previous, Employee current) {
+        return new EmployeeChangedEvent(Type.UPDATED, previous, current);
+    }
+
+    public static EmployeeChangedEvent deleted(Employee previous) {
+        return new EmployeeChangedEvent(Type.DELETED, previous, null);
+    }
+}
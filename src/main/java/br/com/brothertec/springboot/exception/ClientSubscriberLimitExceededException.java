@@ -0,0 +1,12 @@
+package br.com.brothertec.springboot.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class ClientSubscriberLimitExceededException extends RuntimeException {
+
+    public ClientSubscriberLimitExceededException(String message){
+        super(message);
+    }
+}
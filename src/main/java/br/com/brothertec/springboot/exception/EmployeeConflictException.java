@@ -0,0 +1,20 @@
+package br.com.brothertec.springboot.exception;
+
+import br.com.brothertec.springboot.model.Employee;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+//an update lost against a concurrent one; carries the employee as it is now so the client can redo its edit
+@ResponseStatus(HttpStatus.CONFLICT)
+public class EmployeeConflictException extends RuntimeException {
+    private final transient Employee current;
+
+    public EmployeeConflictException(String message, Employee current){
+        super(message);
+        this.current = current;
+    }
+
+    public Employee getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.brothertec.springboot.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCsvException extends RuntimeException {
+
+    public InvalidCsvException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.brothertec.springboot.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFieldSelectionException extends RuntimeException {
+
+    public InvalidFieldSelectionException(String message){
+        super(message);
+    }
+}
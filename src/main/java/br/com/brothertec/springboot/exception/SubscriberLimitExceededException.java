@@ -0,0 +1,12 @@
+package br.com.brothertec.springboot.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SubscriberLimitExceededException extends RuntimeException {
+
+    public SubscriberLimitExceededException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.brothertec.springboot.id;
+
+import br.com.brothertec.springboot.dto.EmployeeIdSerializer;
+import com.fasterxml.jackson.databind.cfg.ContextAttributes;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IdGeneratorProperties.class)
+public class IdGeneratorConfig {
+
+    @Bean
+    public SnowflakeIdGenerator employeeIdGenerator(IdGeneratorProperties properties) {
+        return SnowflakeIdGenerator.forNode(properties.getNodeId());
+    }
+
+    //the export writer copies this mapper for smile and cbor; EmployeeIdSerializer keeps their ids numeric
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer idJsonShapeCustomizer(IdGeneratorProperties properties) {
+        return builder -> builder.postConfigurer(objectMapper -> objectMapper.setDefaultAttributes(ContextAttributes
+                .getEmpty().withSharedAttribute(EmployeeIdSerializer.WRITE_AS_STRING, properties.isWriteAsString())));
+    }
+
+    //hibernate creates its own generator instance; hand it the same node id
+    @Bean
+    public HibernatePropertiesCustomizer idGeneratorHibernateProperties(IdGeneratorProperties properties) {
+        return hibernateProperties -> hibernateProperties.put(SnowflakeIdentifierGenerator.NODE_ID_SETTING, properties.getNodeId());
+    }
+}
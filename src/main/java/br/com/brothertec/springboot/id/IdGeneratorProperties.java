@@ -0,0 +1,15 @@
+package br.com.brothertec.springboot.id;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.id")
+public class IdGeneratorProperties {
+    //must be unique per running instance, 0..1023
+    private int nodeId = 0;
+    //opt-in: json clients that parse numbers as doubles (javascript) round ids past 2^53, so they get strings instead
+    private boolean writeAsString = false;
+}
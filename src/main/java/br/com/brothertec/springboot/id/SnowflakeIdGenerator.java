@@ -0,0 +1,78 @@
+package br.com.brothertec.springboot.id;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+//64-bit ids laid out as 41 bits of milliseconds since EPOCH_MILLIS, 10 bits of node and 12 bits of sequence
+public class SnowflakeIdGenerator {
+    public static final long EPOCH_MILLIS = 1672531200000L; //2023-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    //one generator per node and JVM, so every caller on a node shares the same monotonic sequence
+    private static final ConcurrentMap<Integer, SnowflakeIdGenerator> NODES = new ConcurrentHashMap<>();
+
+    private final long node;
+    private final LongSupplier clock;
+    //(millis since epoch << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.node = nodeId;
+        this.clock = clock;
+    }
+
+    public static SnowflakeIdGenerator forNode(int nodeId) {
+        return NODES.computeIfAbsent(nodeId, SnowflakeIdGenerator::new);
+    }
+
+    //never blocks: an exhausted sequence or a clock that went backwards borrows the next millisecond
+    public long nextId() {
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = state.get();
+            next = now > previous ? now : previous + 1;
+        } while (!state.compareAndSet(previous, next));
+        long millis = next >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+
+    //an id whose lowest tagBits of sequence hold tag, e.g. the shard owning the row. each call takes a whole block of
+    //2^tagBits sequence values, so tagged and plain ids from one node never collide; a millisecond holds fewer of them
+    public long nextId(int tagBits, int tag) {
+        long block = 1L << tagBits;
+        if (tagBits < 0 || tagBits > SEQUENCE_BITS || tag < 0 || tag >= block) {
+            throw new IllegalArgumentException("Tag " + tag + " does not fit in " + tagBits + " sequence bits");
+        }
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long previous;
+        long first;
+        do {
+            previous = state.get();
+            first = now > previous ? now : (previous + block) & -block;
+        } while (!state.compareAndSet(previous, first + block - 1));
+        long millis = first >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (first & SEQUENCE_MASK) | tag;
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+}
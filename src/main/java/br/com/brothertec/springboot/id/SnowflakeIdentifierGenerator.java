@@ -0,0 +1,29 @@
+package br.com.brothertec.springboot.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+//hibernate entry point for SnowflakeIdGenerator; ids are allocated in memory so inserts can be batched
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+    public static final String NODE_ID_SETTING = "employees.id.node-id";
+
+    private SnowflakeIdGenerator generator = SnowflakeIdGenerator.forNode(0);
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        int nodeId = ConfigurationHelper.getInt(NODE_ID_SETTING,
+                serviceRegistry.getService(ConfigurationService.class).getSettings(), 0);
+        generator = SnowflakeIdGenerator.forNode(nodeId);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return generator.nextId();
+    }
+}
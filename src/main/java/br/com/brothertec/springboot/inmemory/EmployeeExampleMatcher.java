@@ -0,0 +1,78 @@
+package br.com.brothertec.springboot.inmemory;
+
+import br.com.brothertec.springboot.model.Employee;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.support.ExampleMatcherAccessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+//query by example as a predicate over records, following the matcher like the JPA repository does for this flat
+//entity: null probe properties are skipped unless nulls are included, strings use the matcher's mode and case.
+//the tenant is never matched from the probe, it is always the current one
+final class EmployeeExampleMatcher {
+    private static final List<Property> PROPERTIES = List.of(
+            new Property("id", Employee::getId, EmployeeRecord::id),
+            new Property("firstName", Employee::getFirstName, EmployeeRecord::firstName),
+            new Property("lastName", Employee::getLastName, EmployeeRecord::lastName),
+            new Property("email", Employee::getEmail, EmployeeRecord::email),
+            new Property("version", Employee::getVersion, EmployeeRecord::version));
+
+    private EmployeeExampleMatcher() {
+    }
+
+    static Predicate<EmployeeRecord> predicate(Example<? extends Employee> example) {
+        ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(example.getMatcher());
+        List<Predicate<EmployeeRecord>> conditions = new ArrayList<>();
+        for (Property property : PROPERTIES) {
+            if (accessor.isIgnoredPath(property.path())) {
+                continue;
+            }
+            Object probe = accessor.getValueTransformerForPath(property.path())
+                    .apply(Optional.ofNullable(property.probe().apply(example.getProbe())))
+                    .orElse(null);
+            if (probe != null) {
+                conditions.add(record -> matches(accessor, property.path(), probe, property.stored().apply(record)));
+            } else if (accessor.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE) {
+                conditions.add(record -> property.stored().apply(record) == null);
+            }
+        }
+        if (conditions.isEmpty()) {
+            return record -> true;
+        }
+        return example.getMatcher().isAllMatching()
+                ? record -> conditions.stream().allMatch(condition -> condition.test(record))
+                : record -> conditions.stream().anyMatch(condition -> condition.test(record));
+    }
+
+    private static boolean matches(ExampleMatcherAccessor accessor, String path, Object probe, Object stored) {
+        if (!(probe instanceof String text) || !(stored instanceof String value)) {
+            return Objects.equals(probe, stored);
+        }
+        boolean ignoreCase = accessor.isIgnoreCaseForPath(path);
+        if (accessor.getStringMatcherForPath(path) == ExampleMatcher.StringMatcher.REGEX) {
+            return Pattern.compile(text, ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0)
+                    .matcher(value).matches();
+        }
+        if (ignoreCase) {
+            text = text.toLowerCase(Locale.ROOT);
+            value = value.toLowerCase(Locale.ROOT);
+        }
+        return switch (accessor.getStringMatcherForPath(path)) {
+            case STARTING -> value.startsWith(text);
+            case ENDING -> value.endsWith(text);
+            case CONTAINING -> value.contains(text);
+            default -> value.equals(text);
+        };
+    }
+
+    private record Property(String path, Function<Employee, Object> probe, Function<EmployeeRecord, Object> stored) {
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.brothertec.springboot.inmemory;
+
+import br.com.brothertec.springboot.model.Employee;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+//fluent query over employees already matched by an example; results are whole employees, so projections to
+//other types are refused and property lists, a fetch hint only, are ignored
+final class EmployeeFluentQuery<T> implements FluentQuery.FetchableFluentQuery<T> {
+    private final List<? extends Employee> matched;
+    private final Sort sort;
+
+    EmployeeFluentQuery(List<? extends Employee> matched, Sort sort) {
+        this.matched = matched;
+        this.sort = sort;
+    }
+
+    @Override
+    public FluentQuery.FetchableFluentQuery<T> sortBy(Sort sort) {
+        return new EmployeeFluentQuery<>(matched, this.sort.and(sort));
+    }
+
+    @Override
+    public <R> FluentQuery.FetchableFluentQuery<R> as(Class<R> resultType) {
+        if (!resultType.isAssignableFrom(Employee.class)) {
+            throw new UnsupportedOperationException(
+                    "The in-memory repository cannot project employees to " + resultType.getName());
+        }
+        return new EmployeeFluentQuery<>(matched, sort);
+    }
+
+    @Override
+    public FluentQuery.FetchableFluentQuery<T> project(Collection<String> properties) {
+        return this;
+    }
+
+    @Override
+    public T oneValue() {
+        List<T> all = all();
+        if (all.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, all.size());
+        }
+        return all.isEmpty() ? null : all.get(0);
+    }
+
+    @Override
+    public T firstValue() {
+        List<T> all = all();
+        return all.isEmpty() ? null : all.get(0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> all() {
+        List<T> all = new ArrayList<>((List<T>) matched);
+        if (sort.isSorted()) {
+            all.sort((Comparator<? super T>) InMemoryEmployeeRepository.comparator(sort));
+        }
+        return all;
+    }
+
+    @Override
+    public Page<T> page(Pageable pageable) {
+        return InMemoryEmployeeRepository.page(new EmployeeFluentQuery<T>(matched, sort.and(pageable.getSort())).all(),
+                pageable);
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return all().stream();
+    }
+
+    @Override
+    public long count() {
+        return matched.size();
+    }
+
+    @Override
+    public boolean exists() {
+        return !matched.isEmpty();
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.brothertec.springboot.inmemory;
+
+import br.com.brothertec.springboot.model.Employee;
+
+//immutable state of an employee as last saved; what the in-memory table, its indexes and snapshots hold
+record EmployeeRecord(long id, String tenantId, String firstName, String lastName, String email, long version) {
+
+    static EmployeeRecord of(Employee employee) {
+        return new EmployeeRecord(employee.getId(), employee.getTenantId(), employee.getFirstName(),
+                employee.getLastName(), employee.getEmail(), employee.getVersion());
+    }
+
+    Employee toEmployee() {
+        return Employee.builder()
+                .id(id)
+                .tenantId(tenantId)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.brothertec.springboot.inmemory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+//binary snapshot written through a memory-mapped file: magic, version, count, then per employee
+//the id and row version followed by tenant, first name, last name and email as length-prefixed UTF-8.
+//version 1 files, written before rows were versioned, are still read; their rows start at version 0
+class EmployeeSnapshotFile {
+    private static final int MAGIC = 0x454D5053; //"EMPS"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+
+    private EmployeeSnapshotFile() {
+    }
+
+    //written next to the target and moved over it, so a crash never leaves a half written snapshot
+    static void write(Path file, List<EmployeeRecord> records) throws IOException {
+        List<byte[][]> encoded = new ArrayList<>(records.size());
+        long size = HEADER_BYTES;
+        for (EmployeeRecord record : records) {
+            byte[][] fields = {utf8(record.tenantId()), utf8(record.firstName()), utf8(record.lastName()),
+                    utf8(record.email())};
+            encoded.add(fields);
+            size += Long.BYTES * 2;
+            for (byte[] field : fields) {
+                size += Integer.BYTES + field.length;
+            }
+        }
+
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + records.size() + " employees exceeds the 2 GB a single mapping can hold");
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(records.size());
+            for (int i = 0; i < records.size(); i++) {
+                buffer.putLong(records.get(i).id()).putLong(records.get(i).version());
+                for (byte[] field : encoded.get(i)) {
+                    buffer.putInt(field.length).put(field);
+                }
+            }
+            buffer.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static List<EmployeeRecord> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int version = buffer.getInt() == MAGIC ? buffer.getInt() : -1;
+            if (version < 1 || version > VERSION) {
+                throw new IOException(file + " is not an employee snapshot");
+            }
+            long count = buffer.getLong();
+            List<EmployeeRecord> records = new ArrayList<>((int) count);
+            for (long i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                long rowVersion = version >= 2 ? buffer.getLong() : 0;
+                records.add(new EmployeeRecord(id, string(buffer), string(buffer), string(buffer), string(buffer),
+                        rowVersion));
+            }
+            return records;
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.brothertec.springboot.inmemory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+//writes the in-memory employees to the snapshot file periodically and once more on shutdown
+public class EmployeeSnapshotter implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSnapshotter.class);
+
+    private InMemoryEmployeeRepository repository;
+    private Path file;
+
+    public EmployeeSnapshotter(InMemoryEmployeeRepository repository, Path file) {
+        this.repository = repository;
+        this.file = file;
+    }
+
+    @Scheduled(fixedDelayString = "${employees.in-memory.snapshot-interval:PT1M}")
+    public void snapshot() {
+        if (file == null) {
+            return;
+        }
+        try {
+            repository.snapshotTo(file);
+        } catch (IOException e) {
+            //the previous snapshot is left in place, so a failed write loses at most one interval
+            log.error("Could not write employee snapshot to {}", file, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        snapshot();
+    }
+}
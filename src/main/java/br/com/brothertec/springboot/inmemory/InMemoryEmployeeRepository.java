@@ -0,0 +1,504 @@
+package br.com.brothertec.springboot.inmemory;
+
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.dto.EmployeeField;
+import br.com.brothertec.springboot.dto.PartialEmployeeDto;
+import br.com.brothertec.springboot.event.EmployeeChangedEvent;
+import br.com.brothertec.springboot.id.SnowflakeIdGenerator;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.repository.EmployeeRepository;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+//EmployeeRepository without a database: a long-keyed open-addressing table of employees plus hash indexes
+//on email and on (first name, last name), all scoped by tenant and guarded by one read-write lock.
+//the table holds immutable records and every read hands out a fresh copy, so callers never share state with the
+//table or each other; save writes the entity into a new record and sets its id, tenant and version
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+    private static final char SEPARATOR = '\u0000';
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongObjectHashMap<EmployeeRecord> employees;
+    private final Map<String, List<Long>> byEmail = new HashMap<>();
+    private final Map<String, List<Long>> byName = new HashMap<>();
+    private final Map<String, Long> countByTenant = new HashMap<>();
+    private SnowflakeIdGenerator idGenerator;
+    private ApplicationEventPublisher publisher;
+
+    public InMemoryEmployeeRepository(SnowflakeIdGenerator idGenerator, ApplicationEventPublisher publisher,
+                                      int initialCapacity) {
+        this.idGenerator = idGenerator;
+        this.publisher = publisher;
+        this.employees = new LongObjectHashMap<>(initialCapacity);
+    }
+
+    @Override
+    public <S extends Employee> S save(S entity) {
+        String tenantId = TenantContext.getTenantId();
+        EmployeeChangedEvent event = null;
+        lock.writeLock().lock();
+        try {
+            EmployeeRecord existing = entity.getId() == null ? null : employees.get(entity.getId());
+            if (existing == null) {
+                if (entity.getId() == null) {
+                    entity.setId(idGenerator.nextId());
+                }
+                entity.setTenantId(tenantId);
+                entity.setVersion(0L);
+                EmployeeRecord record = EmployeeRecord.of(entity);
+                employees.put(record.id(), record);
+                index(record);
+                event = EmployeeChangedEvent.inserted(record.toEmployee());
+            } else {
+                if (!existing.tenantId().equals(tenantId)) {
+                    throw new DataIntegrityViolationException("Employee id " + entity.getId() + " is already taken");
+                }
+                //a copy read at an older version loses, as it would against the version column
+                if (entity.getVersion() != null && entity.getVersion() != existing.version()) {
+                    throw new ObjectOptimisticLockingFailureException(Employee.class, entity.getId());
+                }
+                EmployeeRecord record = new EmployeeRecord(existing.id(), existing.tenantId(), entity.getFirstName(),
+                        entity.getLastName(), entity.getEmail(), existing.version());
+                if (!record.equals(existing)) {
+                    record = new EmployeeRecord(record.id(), record.tenantId(), record.firstName(), record.lastName(),
+                            record.email(), existing.version() + 1);
+                    unindex(existing);
+                    index(record);
+                    employees.put(record.id(), record);
+                    event = EmployeeChangedEvent.updated(existing.toEmployee(), record.toEmployee());
+                }
+                entity.setTenantId(record.tenantId());
+                entity.setVersion(record.version());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (event != null) {
+            publisher.publishEvent(event);
+        }
+        return entity;
+    }
+
+    @Override
+    public <S extends Employee> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Employee> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(visible(employees.get(id))).map(EmployeeRecord::toEmployee);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        return findAll(Sort.by("id"));
+    }
+
+    @Override
+    public List<Employee> findAllById(Iterable<Long> ids) {
+        List<Employee> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : ids) {
+                EmployeeRecord record = visible(employees.get(id));
+                if (record != null) {
+                    found.add(record.toEmployee());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    @Override
+    public List<Employee> findAll(Sort sort) {
+        return matching(record -> true, sort);
+    }
+
+    @Override
+    public Page<Employee> findAll(Pageable pageable) {
+        return page(findAll(pageable.getSort()), pageable);
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return countByTenant.getOrDefault(TenantContext.getTenantId(), 0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //same contract as SimpleJpaRepository in this Spring Data version: a missing id is an error
+    @Override
+    public void deleteById(Long id) {
+        if (!remove(id)) {
+            throw new EmptyResultDataAccessException(
+                    String.format("No %s entity with id %s exists", Employee.class, id), 1);
+        }
+    }
+
+    @Override
+    public void delete(Employee entity) {
+        if (entity.getId() != null) {
+            remove(entity.getId());
+        }
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        for (Long id : ids) {
+            deleteById(id);
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Employee> entities) {
+        for (Employee entity : entities) {
+            delete(entity);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        deleteAll(findAll());
+    }
+
+    @Override
+    public Optional<Employee> findByEmail(String email) {
+        return single(byEmail, emailKey(TenantContext.getTenantId(), email));
+    }
+
+    @Override
+    public List<String> findExistingEmails(Collection<String> emails) {
+        String tenantId = TenantContext.getTenantId();
+        Set<String> existing = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (String email : emails) {
+                if (byEmail.containsKey(emailKey(tenantId, email))) {
+                    existing.add(email);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ArrayList<>(existing);
+    }
+
+    @Override
+    public List<PartialEmployeeDto> findAllProjected(Set<EmployeeField> fields, Pageable pageable) {
+        List<PartialEmployeeDto> employees = new ArrayList<>();
+        for (Employee employee : findAll(pageable)) {
+            employees.add(PartialEmployeeDto.from(employee, fields));
+        }
+        return employees;
+    }
+
+    //the consumer may be slow (it writes to a client), so it runs on a copy rather than under the read lock
+    @Override
+    public void streamAll(Consumer<EmployeeDto> consumer) {
+        for (Employee employee : findAll()) {
+            consumer.accept(EmployeeDto.from(employee));
+        }
+    }
+
+    @Override
+    public Employee findByJPQL(String firstName, String lastname) {
+        return findByName(firstName, lastname);
+    }
+
+    @Override
+    public Employee findByJPQLNamedParams(String firstName, String lastname) {
+        return findByName(firstName, lastname);
+    }
+
+    @Override
+    public Employee findByNativeSQL(String firstName, String lastname) {
+        return findByName(firstName, lastname);
+    }
+
+    @Override
+    public Employee findByNativeSQLNamedParams(String firstName, String lastname) {
+        return findByName(firstName, lastname);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public <S extends Employee> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends Employee> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Employee> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        for (Long id : ids) {
+            remove(id);
+        }
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public Employee getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Employee getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public Employee getReferenceById(Long id) {
+        return findById(id).orElseThrow(() ->
+                new EntityNotFoundException("Unable to find " + Employee.class.getName() + " with id " + id));
+    }
+
+    @Override
+    public <S extends Employee> Optional<S> findOne(Example<S> example) {
+        List<S> found = findAll(example);
+        if (found.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, found.size());
+        }
+        return found.stream().findFirst();
+    }
+
+    @Override
+    public <S extends Employee> List<S> findAll(Example<S> example) {
+        return findAll(example, Sort.unsorted());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends Employee> List<S> findAll(Example<S> example, Sort sort) {
+        return (List<S>) matching(EmployeeExampleMatcher.predicate(example), sort);
+    }
+
+    @Override
+    public <S extends Employee> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return page(findAll(example, pageable.getSort()), pageable);
+    }
+
+    @Override
+    public <S extends Employee> long count(Example<S> example) {
+        return findAll(example).size();
+    }
+
+    @Override
+    public <S extends Employee> boolean exists(Example<S> example) {
+        return !findAll(example).isEmpty();
+    }
+
+    @Override
+    public <S extends Employee, R> R findBy(Example<S> example,
+                                            Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        return queryFunction.apply(new EmployeeFluentQuery<>(findAll(example), Sort.unsorted()));
+    }
+
+    public void snapshotTo(Path file) throws IOException {
+        List<EmployeeRecord> records = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            employees.forEachValue(records::add);
+        } finally {
+            lock.readLock().unlock();
+        }
+        EmployeeSnapshotFile.write(file, records);
+    }
+
+    //replaces everything held, across tenants, with the snapshot's content
+    public void restoreFrom(Path file) throws IOException {
+        List<EmployeeRecord> records = EmployeeSnapshotFile.read(file);
+        lock.writeLock().lock();
+        try {
+            employees.clear();
+            byEmail.clear();
+            byName.clear();
+            countByTenant.clear();
+            for (EmployeeRecord record : records) {
+                employees.put(record.id(), record);
+                index(record);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean remove(long id) {
+        EmployeeRecord removed;
+        lock.writeLock().lock();
+        try {
+            removed = visible(employees.get(id));
+            if (removed == null) {
+                return false;
+            }
+            employees.remove(id);
+            unindex(removed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        publisher.publishEvent(EmployeeChangedEvent.deleted(removed.toEmployee()));
+        return true;
+    }
+
+    //copies of the current tenant's employees matching predicate, in sort order or else by id
+    private List<Employee> matching(Predicate<EmployeeRecord> predicate, Sort sort) {
+        String tenantId = TenantContext.getTenantId();
+        List<Employee> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            employees.forEachValue(record -> {
+                if (record.tenantId().equals(tenantId) && predicate.test(record)) {
+                    found.add(record.toEmployee());
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        found.sort(comparator(sort.isSorted() ? sort : Sort.by("id")));
+        return found;
+    }
+
+    private Employee findByName(String firstName, String lastName) {
+        return single(byName, nameKey(TenantContext.getTenantId(), firstName, lastName)).orElse(null);
+    }
+
+    //a unique-result query over an index, failing like JPA when more than one row matches
+    private Optional<Employee> single(Map<String, List<Long>> index, String key) {
+        lock.readLock().lock();
+        try {
+            List<Long> ids = index.get(key);
+            if (ids == null) {
+                return Optional.empty();
+            }
+            if (ids.size() > 1) {
+                throw new IncorrectResultSizeDataAccessException(1, ids.size());
+            }
+            return Optional.of(employees.get(ids.get(0)).toEmployee());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private EmployeeRecord visible(EmployeeRecord record) {
+        return record != null && record.tenantId().equals(TenantContext.getTenantId()) ? record : null;
+    }
+
+    private void index(EmployeeRecord record) {
+        byEmail.computeIfAbsent(emailKey(record.tenantId(), record.email()), key -> new ArrayList<>(1)).add(record.id());
+        byName.computeIfAbsent(nameKey(record.tenantId(), record.firstName(), record.lastName()),
+                key -> new ArrayList<>(1)).add(record.id());
+        countByTenant.merge(record.tenantId(), 1L, Long::sum);
+    }
+
+    private void unindex(EmployeeRecord record) {
+        unindex(byEmail, emailKey(record.tenantId(), record.email()), record.id());
+        unindex(byName, nameKey(record.tenantId(), record.firstName(), record.lastName()), record.id());
+        countByTenant.merge(record.tenantId(), -1L, Long::sum);
+    }
+
+    private static void unindex(Map<String, List<Long>> index, String key, long id) {
+        List<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(Long.valueOf(id));
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static String emailKey(String tenantId, String email) {
+        return tenantId + SEPARATOR + email;
+    }
+
+    private static String nameKey(String tenantId, String firstName, String lastName) {
+        return tenantId + SEPARATOR + firstName + SEPARATOR + lastName;
+    }
+
+    static <T> Page<T> page(List<T> all, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(all.size(), pageable.getOffset());
+        int to = Math.min(all.size(), from + pageable.getPageSize());
+        return new PageImpl<>(new ArrayList<>(all.subList(from, to)), pageable, all.size());
+    }
+
+    static Comparator<Employee> comparator(Sort sort) {
+        Comparator<Employee> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Employee> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(Employee::getId);
+                case "firstName" -> Comparator.comparing(Employee::getFirstName);
+                case "lastName" -> Comparator.comparing(Employee::getLastName);
+                case "email" -> Comparator.comparing(Employee::getEmail);
+                default -> throw new IllegalArgumentException("Cannot sort employees by " + order.getProperty());
+            };
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.brothertec.springboot.inmemory;
+
+import br.com.brothertec.springboot.id.SnowflakeIdGenerator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+//with the in-memory profile employees live in the heap; the datasource is still there for the other tables
+@Configuration
+@Profile("in-memory")
+@EnableConfigurationProperties(InMemoryStorageProperties.class)
+public class InMemoryStorageConfig {
+
+    @Bean
+    @Primary
+    public InMemoryEmployeeRepository inMemoryEmployeeRepository(InMemoryStorageProperties properties,
+                                                                 SnowflakeIdGenerator employeeIdGenerator,
+                                                                 ApplicationEventPublisher publisher) throws IOException {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository(employeeIdGenerator, publisher,
+                properties.getInitialCapacity());
+        if (properties.getSnapshotFile() != null && Files.exists(Path.of(properties.getSnapshotFile()))) {
+            repository.restoreFrom(Path.of(properties.getSnapshotFile()));
+        }
+        return repository;
+    }
+
+    @Bean
+    public EmployeeSnapshotter employeeSnapshotter(InMemoryStorageProperties properties,
+                                                   InMemoryEmployeeRepository inMemoryEmployeeRepository) {
+        return new EmployeeSnapshotter(inMemoryEmployeeRepository,
+                properties.getSnapshotFile() != null ? Path.of(properties.getSnapshotFile()) : null);
+    }
+}
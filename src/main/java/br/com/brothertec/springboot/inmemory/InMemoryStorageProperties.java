@@ -0,0 +1,17 @@
+package br.com.brothertec.springboot.inmemory;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.in-memory")
+public class InMemoryStorageProperties {
+    private int initialCapacity = 1_024;
+    //loaded on startup and rewritten every snapshot-interval and on shutdown; without it nothing survives a restart
+    private String snapshotFile;
+    private Duration snapshotInterval = Duration.ofMinutes(1);
+}
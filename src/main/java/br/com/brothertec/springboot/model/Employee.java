@@ -1,7 +1,11 @@
 package br.com.brothertec.springboot.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.TenantId;
 
 @Setter
 @Getter
@@ -9,11 +13,15 @@ import lombok.*;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_tenant_email", columnList = "tenant_id, email"),
+        @Index(name = "idx_employees_tenant_name", columnList = "tenant_id, first_name, last_name")
+})
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "snowflake")
+    @GenericGenerator(name = "snowflake", strategy = "br.com.brothertec.springboot.id.SnowflakeIdentifierGenerator")
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -24,4 +32,17 @@ public class Employee {
 
     @Column(nullable = false)
     private String email;
+
+    //assigned and filtered by Hibernate from the current tenant, never taken from the client
+    @TenantId
+    @JsonIgnore
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
+
+    //bumped by every update; saving a copy read at an older version fails instead of overwriting newer changes.
+    //the default fills the column for rows inserted with plain sql, e.g. by the data generator
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
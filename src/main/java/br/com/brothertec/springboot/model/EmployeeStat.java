@@ -0,0 +1,20 @@
+package br.com.brothertec.springboot.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+//one pre-aggregated counter, e.g. (tenant, "domain", "gmail.com") -> 1234
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "employee_stats")
+public class EmployeeStat {
+
+    @EmbeddedId
+    private EmployeeStatKey key;
+
+    @Column(nullable = false)
+    private long amount;
+}
@@ -0,0 +1,25 @@
+package br.com.brothertec.springboot.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+@Embeddable
+public class EmployeeStatKey implements Serializable {
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(nullable = false, length = 32)
+    private String dimension;
+
+    @Column(nullable = false)
+    private String bucket;
+}
@@ -0,0 +1,45 @@
+package br.com.brothertec.springboot.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+//progress of a restartable CSV import, committed in the same transaction as each chunk of rows
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "employee_import_checkpoints")
+public class ImportCheckpoint {
+
+    @Id
+    @Column(name = "import_id", length = 128)
+    private String importId;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    //size, length of the hashed prefix and its sha-256; a resumed import must present the same file
+    @Column(length = 96)
+    private String fingerprint;
+
+    //first byte of the file not yet processed
+    @Column(name = "byte_offset", nullable = false)
+    private long byteOffset;
+
+    @Column(name = "rows_read", nullable = false)
+    private long rowsRead;
+
+    @Column(nullable = false)
+    private long imported;
+
+    @Column(nullable = false)
+    private long duplicates;
+
+    @Column(nullable = false)
+    private long rejected;
+
+    @Column(nullable = false)
+    private boolean completed;
+}
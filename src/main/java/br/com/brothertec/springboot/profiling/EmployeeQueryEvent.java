@@ -0,0 +1,29 @@
+package br.com.brothertec.springboot.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("br.com.brothertec.employees.Query")
+@Label("Employee Query")
+@Description("One JDBC statement, from execution until its result set is closed")
+@Category({"Employees"})
+@StackTrace(false)
+@Threshold("10 ms")
+public class EmployeeQueryEvent extends Event {
+
+    @Label("SQL Id")
+    @Description("Hash of the statement text, stable across restarts")
+    public String sqlId;
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Rows")
+    @Description("Rows read or affected; -1 when unknown or the statement failed")
+    public long rows;
+}
@@ -0,0 +1,30 @@
+package br.com.brothertec.springboot.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("br.com.brothertec.employees.Request")
+@Label("Employee Request")
+@Description("An /api/employees request, from the handler being picked to the response being complete")
+@Category({"Employees"})
+@StackTrace(false)
+@Threshold("10 ms")
+public class EmployeeRequestEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("HTTP Method")
+    public String httpMethod;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Tenant")
+    public String tenant;
+}
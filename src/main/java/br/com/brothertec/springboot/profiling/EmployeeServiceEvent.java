@@ -0,0 +1,31 @@
+package br.com.brothertec.springboot.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("br.com.brothertec.employees.ServiceCall")
+@Label("Employee Service Call")
+@Description("One EmployeeService call, including time spent waiting on a bulkhead")
+@Category({"Employees"})
+@StackTrace(false)
+@Threshold("10 ms")
+public class EmployeeServiceEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Rows")
+    @Description("Employees returned; -1 when the call failed")
+    public long rows;
+
+    @Label("Tenant")
+    public String tenant;
+
+    @Label("Failure")
+    public String failure;
+}
@@ -0,0 +1,116 @@
+package br.com.brothertec.springboot.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//start begins a bounded recording, stop ends it, download dumps it. exposed over jmx only by default; exposing it
+//on the web means POST /actuator/jfr, DELETE /actuator/jfr and GET /actuator/jfr/recording.jfr behind a secured
+//management.server.port
+@Component
+@Endpoint(id = "jfr")
+@EnableConfigurationProperties(ProfilingProperties.class)
+public class JfrRecordingEndpoint implements DisposableBean {
+    private static final String FILE_NAME = "recording.jfr";
+    private static final int STATUS_CONFLICT = 409;
+
+    private ProfilingProperties properties;
+    private Recording recording;
+    private Path lastDump;
+
+    public JfrRecordingEndpoint(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState());
+        status.put("startTime", recording.getStartTime());
+        status.put("stopTime", recording.getStopTime());
+        status.put("duration", recording.getDuration());
+        status.put("sizeBytes", recording.getSize());
+        return status;
+    }
+
+    //the requested duration is capped at employees.profiling.max-duration; the recording stops by itself
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Duration duration)
+            throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), STATUS_CONFLICT);
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        Duration maxDuration = properties.getMaxDuration();
+        recording = new Recording(Configuration.getConfiguration(properties.getSettings()));
+        recording.setName("employees-on-demand");
+        recording.setToDisk(true);
+        recording.setMaxSize(properties.getMaxSizeBytes());
+        recording.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        recording.enable(EmployeeRequestEvent.class).withThreshold(properties.getRequestThreshold());
+        recording.enable(EmployeeServiceEvent.class).withThreshold(properties.getServiceThreshold());
+        recording.enable(EmployeeQueryEvent.class).withThreshold(properties.getQueryThreshold());
+        recording.start();
+        return new WebEndpointResponse<>(status());
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return status();
+    }
+
+    //a running recording is dumped as far as it got; a stopped one stays downloadable until the next start
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector String file) throws IOException {
+        if (!FILE_NAME.equals(file) || recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path dump = Files.createTempFile("employees-", ".jfr");
+        recording.dump(dump);
+        //the previous download has long been streamed by the time another one is asked for
+        if (lastDump != null) {
+            Files.deleteIfExists(lastDump);
+        }
+        lastDump = dump;
+        return new WebEndpointResponse<>(new FileSystemResource(dump));
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (recording != null) {
+            recording.close();
+        }
+        if (lastDump != null) {
+            Files.deleteIfExists(lastDump);
+        }
+    }
+}
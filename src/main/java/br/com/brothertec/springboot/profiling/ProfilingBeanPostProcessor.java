@@ -0,0 +1,84 @@
+package br.com.brothertec.springboot.profiling;
+
+import br.com.brothertec.springboot.service.EmployeeService;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Optional;
+
+//wraps every DataSource and EmployeeService so their work shows up as JFR events
+@Component
+@ConditionalOnProperty(prefix = "employees.profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProfilingBeanPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)) {
+            return new ProfilingDataSource(dataSource);
+        }
+        if (bean instanceof EmployeeService employeeService) {
+            return profile(employeeService);
+        }
+        return bean;
+    }
+
+    static EmployeeService profile(EmployeeService employeeService) {
+        return (EmployeeService) Proxy.newProxyInstance(EmployeeService.class.getClassLoader(),
+                new Class<?>[]{EmployeeService.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Profiled " + employeeService;
+                        default:
+                            break;
+                    }
+                    EmployeeServiceEvent event = new EmployeeServiceEvent();
+                    if (!event.isEnabled()) {
+                        return invoke(employeeService, method, args);
+                    }
+                    event.operation = method.getName();
+                    event.tenant = TenantContext.getTenantId();
+                    event.begin();
+                    try {
+                        Object result = invoke(employeeService, method, args);
+                        event.rows = rows(result);
+                        return result;
+                    } catch (Throwable e) {
+                        event.rows = -1;
+                        event.failure = e.getClass().getName();
+                        throw e;
+                    } finally {
+                        event.commit();
+                    }
+                });
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result == null ? 0 : 1;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.brothertec.springboot.profiling;
+
+import jdk.jfr.EventType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+//emits an EmployeeQueryEvent per statement; while no recording enables the event, statements are not wrapped at all
+public class ProfilingDataSource extends DelegatingDataSource {
+    private static final EventType QUERY_EVENT = EventType.getEventType(EmployeeQueryEvent.class);
+
+    public ProfilingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    //short, restart-stable name for a statement text, shared with the tracing spans
+    public static String sqlId(String sql) {
+        return sql == null ? null : String.format("%08x", sql.hashCode());
+    }
+
+    private Connection proxy(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof Statement statement && QUERY_EVENT.isEnabled()) {
+                            //prepareStatement/prepareCall carry the sql up front, plain statements get it on execute
+                            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                            yield profile(statement, method.getReturnType(), sql);
+                        }
+                        yield result;
+                    }
+                });
+    }
+
+    private Object profile(Statement statement, Class<?> statementType, String preparedSql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{statementType},
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                    EmployeeQueryEvent event = new EmployeeQueryEvent();
+                    event.sql = sql;
+                    event.sqlId = sqlId(sql);
+                    event.rows = -1;
+                    event.begin();
+                    Object result;
+                    try {
+                        result = invoke(statement, method, args);
+                    } catch (Throwable e) {
+                        event.commit();
+                        throw e;
+                    }
+                    if (result instanceof ResultSet resultSet) {
+                        return countRows(resultSet, event);
+                    }
+                    if (result instanceof Integer count) {
+                        event.rows = count;
+                    } else if (result instanceof Long count) {
+                        event.rows = count;
+                    } else if (result instanceof int[] counts) {
+                        event.rows = sum(counts);
+                    } else if (result instanceof long[] counts) {
+                        event.rows = sum(counts);
+                    }
+                    event.commit();
+                    return result;
+                });
+    }
+
+    //the query is only over once its rows are read, so the event is committed when the result set closes
+    private ResultSet countRows(ResultSet resultSet, EmployeeQueryEvent event) {
+        event.rows = 0;
+        boolean[] committed = {false};
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    switch (method.getName()) {
+                        case "next" -> {
+                            if ((Boolean) result) {
+                                event.rows++;
+                            }
+                        }
+                        case "close" -> {
+                            if (!committed[0]) {
+                                committed[0] = true;
+                                event.commit();
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    private static long sum(int[] counts) {
+        long sum = 0;
+        for (int count : counts) {
+            sum += Math.max(0, count);
+        }
+        return sum;
+    }
+
+    private static long sum(long[] counts) {
+        long sum = 0;
+        for (long count : counts) {
+            sum += Math.max(0, count);
+        }
+        return sum;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.brothertec.springboot.profiling;
+
+import br.com.brothertec.springboot.tenant.TenantContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+//one EmployeeRequestEvent per request; async requests are committed when the async dispatch completes
+public class ProfilingInterceptor implements AsyncHandlerInterceptor {
+    private static final String EVENT_ATTRIBUTE = ProfilingInterceptor.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        EmployeeRequestEvent event = new EmployeeRequestEvent();
+        if (event.isEnabled()) {
+            event.endpoint = handlerMethod.getMethod().getName();
+            event.httpMethod = request.getMethod();
+            event.tenant = TenantContext.getTenantId();
+            event.begin();
+            request.setAttribute(EVENT_ATTRIBUTE, event);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(EVENT_ATTRIBUTE) instanceof EmployeeRequestEvent event) {
+            request.removeAttribute(EVENT_ATTRIBUTE);
+            event.status = response.getStatus();
+            event.commit();
+        }
+    }
+}
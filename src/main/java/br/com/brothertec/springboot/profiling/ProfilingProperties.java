@@ -0,0 +1,24 @@
+package br.com.brothertec.springboot.profiling;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.profiling")
+public class ProfilingProperties {
+    //instruments requests, EmployeeService calls and JDBC statements with JFR events; they cost next to nothing
+    //while no recording has them enabled
+    private boolean enabled = true;
+    //JDK settings the on-demand recording starts from ("default" or "profile")
+    private String settings = "profile";
+    private Duration maxDuration = Duration.ofMinutes(5);
+    private long maxSizeBytes = 100L * 1024 * 1024;
+    //thresholds of the on-demand recording; continuous recordings use the 10 ms the events declare
+    private Duration requestThreshold = Duration.ZERO;
+    private Duration serviceThreshold = Duration.ZERO;
+    private Duration queryThreshold = Duration.ZERO;
+}
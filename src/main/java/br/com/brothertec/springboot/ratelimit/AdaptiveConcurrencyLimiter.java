@@ -0,0 +1,54 @@
+package br.com.brothertec.springboot.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+//AIMD limit on in-flight requests: grows by one while request latency is healthy, backs off when it crosses the threshold
+public class AdaptiveConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimiter(int minLimit, int maxLimit, long latencyThresholdNanos) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("expected 1 <= minLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = maxLimit;
+    }
+
+    public boolean tryAcquire() {
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        int currentLimit = limit;
+        if (latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, (int) (currentLimit * BACKOFF_RATIO));
+        } else if (currentLimit < maxLimit && current * 2 >= currentLimit) {
+            limit = currentLimit + 1;
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
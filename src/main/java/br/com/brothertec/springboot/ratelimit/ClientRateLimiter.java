@@ -0,0 +1,81 @@
+package br.com.brothertec.springboot.ratelimit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+//one token bucket per client of a single endpoint; when full, the least recently seen clients are forgotten
+public class ClientRateLimiter {
+    private final RateLimitProperties.Limit limit;
+    private final int maxClients;
+    private final int trimTo;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, Client> clients = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public ClientRateLimiter(RateLimitProperties.Limit limit, int maxClients) {
+        this(limit, maxClients, System::nanoTime);
+    }
+
+    public ClientRateLimiter(RateLimitProperties.Limit limit, int maxClients, LongSupplier nanoClock) {
+        this.limit = limit;
+        this.maxClients = maxClients;
+        //evict a tenth at a time so the scan is paid once per many new clients, not on every one
+        this.trimTo = maxClients - maxClients / 10;
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean tryAcquire(String clientId) {
+        long now = nanoClock.getAsLong();
+        Client client = clients.get(clientId);
+        if (client == null) {
+            client = clients.computeIfAbsent(clientId,
+                    key -> new Client(new TokenBucket(limit.getPermitsPerSecond(), limit.getBurst(), nanoClock), now));
+            if (clients.size() > maxClients) {
+                evictLeastRecentlySeen();
+            }
+        }
+        //a plain volatile write per request, no lock shared between clients
+        client.lastSeen = now;
+        return client.bucket.tryAcquire();
+    }
+
+    int size() {
+        return clients.size();
+    }
+
+    //approximate LRU: lastSeen is racy and one thread trims while the others keep admitting
+    private void evictLeastRecentlySeen() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<Map.Entry<String, Client>> entries = new ArrayList<>(clients.entrySet());
+            int excess = entries.size() - trimTo;
+            if (excess <= 0) {
+                return;
+            }
+            entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastSeen));
+            for (int i = 0; i < excess; i++) {
+                clients.remove(entries.get(i).getKey(), entries.get(i).getValue());
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static final class Client {
+        private final TokenBucket bucket;
+        private volatile long lastSeen;
+
+        //seen on creation, so the client that overflows the table is never the one evicted
+        private Client(TokenBucket bucket, long lastSeen) {
+            this.bucket = bucket;
+            this.lastSeen = lastSeen;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.brothertec.springboot.ratelimit;
+
+import br.com.brothertec.springboot.warmup.WarmupTraffic;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.security.Principal;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String LIMITER_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".limiter";
+    private static final String STARTED_AT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".startedAt";
+
+    private final RateLimitProperties properties;
+    //keyed by the java method, so overloads and same-named methods on other controllers are limited separately
+    private final ConcurrentHashMap<Method, ClientRateLimiter> clientRateLimiters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Method, AdaptiveConcurrencyLimiter> concurrencyLimiters = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        //async re-dispatches were already admitted by the initial dispatch, and the warm-up runs before any traffic
+        if (request.getDispatcherType() == DispatcherType.ASYNC || WarmupTraffic.isWarmup(request)
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Method endpoint = handlerMethod.getMethod();
+
+        if (!clientRateLimiter(endpoint).tryAcquire(clientId(request))) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded");
+            return false;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiter(endpoint);
+        if (!limiter.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is shedding load");
+            return false;
+        }
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(STARTED_AT_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(LIMITER_ATTRIBUTE) instanceof AdaptiveConcurrencyLimiter limiter) {
+            request.removeAttribute(LIMITER_ATTRIBUTE);
+            //the whole request, so slow response writing backs the limit off as much as a slow query
+            long startedAt = (Long) request.getAttribute(STARTED_AT_ATTRIBUTE);
+            limiter.release(System.nanoTime() - startedAt);
+        }
+    }
+
+    //never a header the caller picks: the authenticated user, else the connection's address. behind a proxy,
+    //server.forward-headers-strategy=native has the container take it from X-Forwarded-For of trusted proxies only
+    public static String clientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : request.getRemoteAddr();
+    }
+
+    private ClientRateLimiter clientRateLimiter(Method endpoint) {
+        ClientRateLimiter limiter = clientRateLimiters.get(endpoint);
+        if (limiter == null) {
+            limiter = clientRateLimiters.computeIfAbsent(endpoint,
+                    key -> new ClientRateLimiter(properties.limitFor(key), properties.getMaxClientsPerEndpoint()));
+        }
+        return limiter;
+    }
+
+    private AdaptiveConcurrencyLimiter concurrencyLimiter(Method endpoint) {
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiters.get(endpoint);
+        if (limiter == null) {
+            RateLimitProperties.Limit limit = properties.limitFor(endpoint);
+            limiter = concurrencyLimiters.computeIfAbsent(endpoint, key -> new AdaptiveConcurrencyLimiter(
+                    limit.getMinConcurrency(), limit.getMaxConcurrency(), limit.getRequestLatencyThreshold().toNanos()));
+        }
+        return limiter;
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.brothertec.springboot.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int maxClientsPerEndpoint = 10_000;
+    private Limit defaults = new Limit();
+    //keyed by controller and method, e.g. endpoints[EmployeeController.getAllEmployees].permits-per-second, or by
+    //method name alone for every controller; each java method still gets limiters of its own
+    private Map<String, Limit> endpoints = new HashMap<>();
+
+    public Limit limitFor(Method method) {
+        Limit limit = endpoints.get(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+        return limit != null ? limit : endpoints.getOrDefault(method.getName(), defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private double permitsPerSecond = 100;
+        private int burst = 200;
+        private int minConcurrency = 4;
+        private int maxConcurrency = 64;
+        //whole-request latency, handler plus response writing, not database time alone
+        private Duration requestLatencyThreshold = Duration.ofMillis(500);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.brothertec.springboot.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+//lock-free token bucket (GCRA): one CAS on the theoretical arrival time per permit, no allocation
+public class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    public TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be > 0 and burst >= 1");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        for (;;) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now);
+            if (next - now > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+}
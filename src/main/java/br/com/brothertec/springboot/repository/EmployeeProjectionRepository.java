@@ -0,0 +1,19 @@
+package br.com.brothertec.springboot.repository;
+
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.dto.EmployeeField;
+import br.com.brothertec.springboot.dto.PartialEmployeeDto;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface EmployeeProjectionRepository {
+
+    //selects only the given columns; unsorted pages come back in id order
+    List<PartialEmployeeDto> findAllProjected(Set<EmployeeField> fields, Pageable pageable);
+
+    //every employee in id order, handed to the consumer row by row while the result set is scrolled
+    void streamAll(Consumer<EmployeeDto> consumer);
+}
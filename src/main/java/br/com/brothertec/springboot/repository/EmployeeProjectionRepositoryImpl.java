@@ -0,0 +1,80 @@
+package br.com.brothertec.springboot.repository;
+
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.dto.EmployeeField;
+import br.com.brothertec.springboot.dto.PartialEmployeeDto;
+import br.com.brothertec.springboot.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+//tuple query over just the selected attributes; the tenant filter applies as to any other HQL
+public class EmployeeProjectionRepositoryImpl implements EmployeeProjectionRepository {
+    //rows per round trip; mysql only honours it with useCursorFetch=true, otherwise it buffers the whole result
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private EntityManager entityManager;
+
+    public EmployeeProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<PartialEmployeeDto> findAllProjected(Set<EmployeeField> fields, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (EmployeeField field : fields) {
+            selections.add(root.get(field.property()).alias(field.property()));
+        }
+        query.multiselect(selections);
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Tuple> rows = typedQuery.getResultList();
+        List<PartialEmployeeDto> employees = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            employees.add(new PartialEmployeeDto(
+                    fields.contains(EmployeeField.ID) ? row.get(EmployeeField.ID.property(), Long.class) : null,
+                    fields.contains(EmployeeField.FIRST_NAME) ? row.get(EmployeeField.FIRST_NAME.property(), String.class) : null,
+                    fields.contains(EmployeeField.LAST_NAME) ? row.get(EmployeeField.LAST_NAME.property(), String.class) : null,
+                    fields.contains(EmployeeField.EMAIL) ? row.get(EmployeeField.EMAIL.property(), String.class) : null));
+        }
+        return employees;
+    }
+
+    //a constructor projection keeps rows out of the persistence context, so memory does not grow with the result.
+    //the transaction keeps the entity manager, and with it the cursor, open until the last row
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<EmployeeDto> consumer) {
+        try (Stream<EmployeeDto> rows = entityManager.createQuery(
+                        "select new br.com.brothertec.springboot.dto.EmployeeDto(e.id, e.firstName, e.lastName, e.email, e.version)"
+                                + " from Employee e order by e.id", EmployeeDto.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream()) {
+            rows.forEach(consumer);
+        }
+    }
+}
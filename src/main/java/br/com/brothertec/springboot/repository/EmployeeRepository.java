@@ -5,12 +5,18 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface EmployeeRepository extends JpaRepository<Employee,Long> {
+public interface EmployeeRepository extends JpaRepository<Employee,Long>, EmployeeProjectionRepository {
 
     Optional<Employee> findByEmail(String email);
 
+    //which of the given emails are already taken, checked for a whole batch in one query
+    @Query("select e.email from Employee e where e.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     //define custom query using JPQL with index params
     @Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2")
     Employee findByJPQL(String firstName, String lastname);
@@ -19,10 +25,10 @@ public interface EmployeeRepository extends JpaRepository<Employee,Long> {
     @Query("select e from Employee e where e.firstName =:firstName and e.lastName =:lastName")
     Employee findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastname);
 
-    //define custom query using native query
-    @Query(value = "select * from employees e where e.first_name = ?1 and e.last_name = ?2", nativeQuery = true)
+    //define custom query using native query (native SQL bypasses the tenant filter, so it is spelled out)
+    @Query(value = "select * from employees e where e.tenant_id = ?#{T(br.com.brothertec.springboot.tenant.TenantContext).getTenantId()} and e.first_name = ?1 and e.last_name = ?2", nativeQuery = true)
     Employee findByNativeSQL(String firstName, String lastname);
 
-    @Query(value = "select * from employees e where e.first_name =:firstName and e.last_name = :lastName", nativeQuery = true)
+    @Query(value = "select * from employees e where e.tenant_id = :#{T(br.com.brothertec.springboot.tenant.TenantContext).getTenantId()} and e.first_name =:firstName and e.last_name = :lastName", nativeQuery = true)
     Employee findByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName")String lastname);
 }
@@ -0,0 +1,34 @@
+package br.com.brothertec.springboot.repository;
+
+import br.com.brothertec.springboot.model.EmployeeStat;
+import br.com.brothertec.springboot.model.EmployeeStatKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface EmployeeStatRepository extends JpaRepository<EmployeeStat, EmployeeStatKey> {
+
+    List<EmployeeStat> findByKeyTenantId(String tenantId);
+
+    @Modifying
+    @Query("update EmployeeStat s set s.amount = s.amount + :delta " +
+            "where s.key.tenantId = :tenantId and s.key.dimension = :dimension and s.key.bucket = :bucket")
+    int increment(@Param("tenantId") String tenantId, @Param("dimension") String dimension,
+                  @Param("bucket") String bucket, @Param("delta") long delta);
+
+    //full scans used once to seed an empty stats table; native so they cover every tenant
+    @Query(value = "select tenant_id, lower(substring(email, locate('@', email) + 1)), count(*) from employees " +
+            "group by tenant_id, lower(substring(email, locate('@', email) + 1))", nativeQuery = true)
+    List<Object[]> countEmployeesByDomain();
+
+    @Query(value = "select tenant_id, upper(substring(first_name, 1, 1)), count(*) from employees " +
+            "group by tenant_id, upper(substring(first_name, 1, 1))", nativeQuery = true)
+    List<Object[]> countEmployeesByFirstNameInitial();
+
+    @Query(value = "select tenant_id, upper(substring(last_name, 1, 1)), count(*) from employees " +
+            "group by tenant_id, upper(substring(last_name, 1, 1))", nativeQuery = true)
+    List<Object[]> countEmployeesByLastNameInitial();
+}
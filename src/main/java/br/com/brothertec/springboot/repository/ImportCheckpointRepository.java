@@ -0,0 +1,7 @@
+package br.com.brothertec.springboot.repository;
+
+import br.com.brothertec.springboot.model.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
@@ -0,0 +1,140 @@
+package br.com.brothertec.springboot.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+//count based breaker: opens when the failure rate over the last calls crosses the threshold,
+//rejects everything for openDuration and then lets a few trial calls decide whether to close again
+public class CircuitBreaker implements MeterBinder {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+    private final LongAdder rejected = new LongAdder();
+
+    private State state = State.CLOSED;
+    private int windowNext;
+    private int windowCalls;
+    private int windowFailures;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(String name, int slidingWindowSize, int minimumCalls, double failureRateThreshold,
+                          Duration openDuration, int halfOpenCalls, LongSupplier nanoClock) {
+        this.name = name;
+        this.window = new boolean[slidingWindowSize];
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(halfOpenCalls, 1);
+        this.nanoClock = nanoClock;
+    }
+
+    //every permitted call has to be followed by exactly one of onSuccess, onFailure or onIgnored
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < openNanos) {
+                rejected.increment();
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                rejected.increment();
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCalls >= minimumCalls && windowFailures >= failureRateThreshold * windowCalls) {
+                open();
+            }
+        }
+    }
+
+    //the call never reached the database, e.g. it was rejected by a bulkhead
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employees.circuit-breaker.state", this, breaker -> breaker.getState().ordinal())
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder("employees.circuit-breaker.rejected", rejected, LongAdder::sum)
+                .tag("name", name)
+                .register(registry);
+    }
+
+    private void record(boolean failure) {
+        if (windowCalls == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowNext] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowNext = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.brothertec.springboot.resilience;
+
+import br.com.brothertec.springboot.exception.CircuitBreakerOpenException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransactionRollbackException;
+import java.sql.SQLTransientConnectionException;
+
+//classifies repository failures by walking the cause chain, since the translated exception type
+//depends on whether the call went through JPA or JdbcTemplate and on the driver's error codes
+public final class DatabaseFailures {
+    //ER_LOCK_DEADLOCK and ER_LOCK_WAIT_TIMEOUT
+    private static final int MYSQL_DEADLOCK = 1213;
+    private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+
+    private DatabaseFailures() {
+    }
+
+    //deadlocks, lock timeouts and dropped connections: the same call may well succeed when repeated
+    public static boolean isRetryable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            //a stale version stays stale, and a timed out query has used up its deadline
+            if (cause instanceof OptimisticLockingFailureException || cause instanceof QueryTimeoutException
+                    || cause instanceof SQLTimeoutException) {
+                return false;
+            }
+            if (cause instanceof PessimisticLockingFailureException
+                    || cause instanceof TransientDataAccessResourceException
+                    || cause instanceof RecoverableDataAccessException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && isRetryable(sqlException)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //the database could not be reached or did not answer in time; what the circuit breaker counts
+    public static boolean isUnavailable(Throwable failure) {
+        if (failure instanceof CircuitBreakerOpenException) {
+            return true;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessResourceException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof QueryTimeoutException) {
+                return true;
+            }
+            if (cause instanceof SQLTimeoutException
+                    || cause instanceof SQLException sqlException && isConnectionFailure(sqlException)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRetryable(SQLException e) {
+        if (e instanceof SQLTransactionRollbackException || isConnectionFailure(e)) {
+            return true;
+        }
+        String sqlState = e.getSQLState();
+        //40001 serialization failure/deadlock, 40P01 deadlock on postgres
+        return sqlState != null && sqlState.startsWith("40")
+                || e.getErrorCode() == MYSQL_DEADLOCK || e.getErrorCode() == MYSQL_LOCK_WAIT_TIMEOUT;
+    }
+
+    private static boolean isConnectionFailure(SQLException e) {
+        if (e instanceof SQLTransientConnectionException || e instanceof SQLNonTransientConnectionException
+                || e instanceof SQLRecoverableException) {
+            return true;
+        }
+        String sqlState = e.getSQLState();
+        return sqlState != null && sqlState.startsWith("08");
+    }
+}
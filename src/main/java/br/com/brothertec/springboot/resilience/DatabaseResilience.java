@@ -0,0 +1,117 @@
+package br.com.brothertec.springboot.resilience;
+
+import br.com.brothertec.springboot.deadline.RequestDeadline;
+import br.com.brothertec.springboot.exception.BulkheadFullException;
+import br.com.brothertec.springboot.exception.CircuitBreakerOpenException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+//runs repository work behind the database circuit breaker, retrying retryable failures with jittered backoff
+@Component
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class DatabaseResilience implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseResilience.class);
+
+    private final CircuitBreaker circuitBreaker;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final LongAdder retries = new LongAdder();
+
+    @Autowired
+    public DatabaseResilience(ResilienceProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    DatabaseResilience(ResilienceProperties properties, LongSupplier nanoClock) {
+        ResilienceProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        this.circuitBreaker = new CircuitBreaker("database", breaker.getSlidingWindowSize(), breaker.getMinimumCalls(),
+                breaker.getFailureRateThreshold(), breaker.getOpenDuration(), breaker.getHalfOpenCalls(), nanoClock);
+        this.maxAttempts = Math.max(properties.getRetry().getMaxAttempts(), 1);
+        this.initialBackoffNanos = properties.getRetry().getInitialBackoff().toNanos();
+        this.maxBackoffNanos = properties.getRetry().getMaxBackoff().toNanos();
+    }
+
+    public <T> T call(Supplier<T> task) {
+        return call(task, () -> true);
+    }
+
+    //repeatable says whether a failed attempt can still be run again, e.g. not once it has handed out results
+    public <T> T call(Supplier<T> task, BooleanSupplier repeatable) {
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                throw new CircuitBreakerOpenException("Database circuit breaker is open");
+            }
+            try {
+                T result = task.get();
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (RuntimeException e) {
+                record(e);
+                long backoffNanos = backoffNanos(attempt);
+                if (!repeatable.getAsBoolean() || !shouldRetry(e, attempt, backoffNanos)) {
+                    throw e;
+                }
+                log.debug("Retrying database call after attempt {} failed: {}", attempt, e.toString());
+                retries.increment();
+                try {
+                    TimeUnit.NANOSECONDS.sleep(backoffNanos);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        circuitBreaker.bindTo(registry);
+        FunctionCounter.builder("employees.database.retries", retries, LongAdder::sum).register(registry);
+    }
+
+    private void record(RuntimeException e) {
+        //neither a saturated bulkhead nor our own expired deadline says anything about the database
+        if (e instanceof BulkheadFullException || RequestDeadline.isExpired()) {
+            circuitBreaker.onIgnored();
+        } else if (DatabaseFailures.isUnavailable(e)) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    private boolean shouldRetry(RuntimeException e, int attempt, long backoffNanos) {
+        //a failed statement has already doomed the caller's transaction, so only the caller can start over.
+        //once this failure opened the breaker, the caller gets it rather than a rejection of its own retry
+        return attempt < maxAttempts
+                && circuitBreaker.getState() != CircuitBreaker.State.OPEN
+                && DatabaseFailures.isRetryable(e)
+                && !TransactionSynchronizationManager.isActualTransactionActive()
+                && RequestDeadline.remainingNanos() > backoffNanos;
+    }
+
+    //"full jitter": spreads out callers that failed together, e.g. both sides of a deadlock
+    private long backoffNanos(int attempt) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 30));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.brothertec.springboot.resilience;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.resilience")
+public class ResilienceProperties {
+    private Retry retry = new Retry();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Getter
+    @Setter
+    public static class Retry {
+        //including the first one
+        private int maxAttempts = 3;
+        //backoff before attempt n is a random value up to min(maxBackoff, initialBackoff * 2^(n - 2))
+        private Duration initialBackoff = Duration.ofMillis(20);
+        private Duration maxBackoff = Duration.ofMillis(500);
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        //the last slidingWindowSize calls decide; no decision before minimumCalls of them
+        private int slidingWindowSize = 50;
+        private int minimumCalls = 20;
+        private double failureRateThreshold = 0.5;
+        private Duration openDuration = Duration.ofSeconds(10);
+        //trial calls let through once open; all of them have to succeed to close again
+        private int halfOpenCalls = 3;
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.brothertec.springboot.service;
+
+import br.com.brothertec.springboot.model.Employee;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncEmployeeService {
+    CompletableFuture<Employee> saveEmployee(Employee employee);
+
+    CompletableFuture<List<Employee>> getAllEmployees();
+
+    CompletableFuture<List<Employee>> getEmployees(int page, int size);
+
+    CompletableFuture<Optional<Employee>> getEmployeeById(Long id);
+
+    //looks every id up concurrently; missing ids are left out
+    CompletableFuture<List<Employee>> getEmployeesByIds(Collection<Long> ids);
+
+    CompletableFuture<Employee> updateEmployee(Employee updatedEmployee);
+
+    CompletableFuture<Void> deleteEmployee(Long id);
+}
@@ -1,15 +1,26 @@
 package br.com.brothertec.springboot.service;
 
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.dto.EmployeeField;
+import br.com.brothertec.springboot.dto.PartialEmployeeDto;
 import br.com.brothertec.springboot.model.Employee;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
 
     List<Employee> getAllEmployees();
 
+    void streamAllEmployees(Consumer<EmployeeDto> consumer);
+
+    List<Employee> getEmployees(int page, int size);
+
+    List<PartialEmployeeDto> getEmployees(int page, int size, Set<EmployeeField> fields);
+
     Optional<Employee> getEmployeeById(Long id);
 
     Employee updateEmployee(Employee updatedEmployee);
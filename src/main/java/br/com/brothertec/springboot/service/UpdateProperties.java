@@ -0,0 +1,13 @@
+package br.com.brothertec.springboot.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.update")
+public class UpdateProperties {
+    //times an unversioned update that raced another one is merged and retried; 0 answers every race with a conflict
+    private int mergeAttempts = 3;
+}
@@ -0,0 +1,78 @@
+package br.com.brothertec.springboot.service.impl;
+
+import br.com.brothertec.springboot.bulkhead.Bulkhead;
+import br.com.brothertec.springboot.bulkhead.EmployeeBulkheads;
+import br.com.brothertec.springboot.exception.TooManyIdsException;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.service.AsyncEmployeeService;
+import br.com.brothertec.springboot.service.EmployeeService;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+//runs whichever EmployeeService is in charge (jpa or sharded) on the async bulkhead, carrying tenant and deadline
+@Service
+public class AsyncEmployeeServiceImpl implements AsyncEmployeeService {
+    //each id is a task on the shared async bulkhead, so one request may not fill its queue
+    public static final int MAX_IDS = 100;
+
+    private EmployeeService employeeService;
+    private Bulkhead bulkhead;
+
+    public AsyncEmployeeServiceImpl(EmployeeService employeeService, EmployeeBulkheads bulkheads) {
+        this.employeeService = employeeService;
+        this.bulkhead = bulkheads.async();
+    }
+
+    @Override
+    public CompletableFuture<Employee> saveEmployee(Employee employee) {
+        return bulkhead.submit(() -> employeeService.saveEmployee(employee));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return bulkhead.submit(() -> employeeService.getAllEmployees());
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getEmployees(int page, int size) {
+        return bulkhead.submit(() -> employeeService.getEmployees(page, size));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Employee>> getEmployeeById(Long id) {
+        return bulkhead.submit(() -> employeeService.getEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getEmployeesByIds(Collection<Long> ids) {
+        if (ids.size() > MAX_IDS) {
+            throw new TooManyIdsException("At most " + MAX_IDS + " ids per request, got " + ids.size());
+        }
+        List<CompletableFuture<Optional<Employee>>> lookups = ids.stream()
+                .distinct()
+                .map(this::getEmployeeById)
+                .toList();
+        return CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new))
+                .thenApply(done -> lookups.stream()
+                        .map(CompletableFuture::join)
+                        .flatMap(Optional::stream)
+                        .toList());
+    }
+
+    @Override
+    public CompletableFuture<Employee> updateEmployee(Employee updatedEmployee) {
+        return bulkhead.submit(() -> employeeService.updateEmployee(updatedEmployee));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployee(Long id) {
+        return bulkhead.submit(() -> {
+            employeeService.deleteEmployee(id);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.brothertec.springboot.service.impl;
+
+import br.com.brothertec.springboot.model.Employee;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+//field by field three-way merge of the editable properties of an employee
+final class EmployeeMerge {
+    private static final List<Field> FIELDS = List.of(
+            new Field(Employee::getFirstName, Employee::setFirstName),
+            new Field(Employee::getLastName, Employee::setLastName),
+            new Field(Employee::getEmail, Employee::setEmail));
+
+    private EmployeeMerge() {
+    }
+
+    //copy of base (identity, tenant and version) carrying the editable fields of changes
+    static Employee apply(Employee base, Employee changes) {
+        Employee employee = Employee.builder()
+                .id(base.getId())
+                .tenantId(base.getTenantId())
+                .version(base.getVersion())
+                .build();
+        for (Field field : FIELDS) {
+            field.setter().accept(employee, field.getter().apply(changes));
+        }
+        return employee;
+    }
+
+    //mine and theirs were both derived from base; null when both changed the same field to different values
+    static Employee merge(Employee base, Employee mine, Employee theirs) {
+        Employee merged = apply(theirs, theirs);
+        for (Field field : FIELDS) {
+            String baseValue = field.getter().apply(base);
+            String myValue = field.getter().apply(mine);
+            String theirValue = field.getter().apply(theirs);
+            if (Objects.equals(myValue, baseValue) || Objects.equals(myValue, theirValue)) {
+                continue;
+            }
+            if (!Objects.equals(theirValue, baseValue)) {
+                return null;
+            }
+            field.setter().accept(merged, myValue);
+        }
+        return merged;
+    }
+
+    private record Field(Function<Employee, String> getter, BiConsumer<Employee, String> setter) {
+    }
+}
@@ -1,52 +1,139 @@
 package br.com.brothertec.springboot.service.impl;
 
+import br.com.brothertec.springboot.bulkhead.EmployeeBulkheads;
+import br.com.brothertec.springboot.cache.EmployeeNearCache;
+import br.com.brothertec.springboot.deadline.RequestDeadline;
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.dto.EmployeeField;
+import br.com.brothertec.springboot.dto.PartialEmployeeDto;
 import br.com.brothertec.springboot.exception.ResourceNotFoundException;
 import br.com.brothertec.springboot.model.Employee;
 import br.com.brothertec.springboot.repository.EmployeeRepository;
+import br.com.brothertec.springboot.resilience.DatabaseFailures;
+import br.com.brothertec.springboot.resilience.DatabaseResilience;
 import br.com.brothertec.springboot.service.EmployeeService;
+import br.com.brothertec.springboot.service.UpdateProperties;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import br.com.brothertec.springboot.warmup.EmployeeAccessLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
+@EnableConfigurationProperties(UpdateProperties.class)
 public class EmployeeServiceImpl implements EmployeeService {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeServiceImpl.class);
+
     private EmployeeRepository employeeRepository;
+    private EmployeeBulkheads bulkheads;
+    private EmployeeNearCache nearCache;
+    private EmployeeAccessLog accessLog;
+    private DatabaseResilience resilience;
+    private UpdateProperties updateProperties;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EmployeeBulkheads bulkheads,
+                               EmployeeNearCache nearCache, EmployeeAccessLog accessLog,
+                               DatabaseResilience resilience, UpdateProperties updateProperties) {
         this.employeeRepository = employeeRepository;
+        this.bulkheads = bulkheads;
+        this.nearCache = nearCache;
+        this.accessLog = accessLog;
+        this.resilience = resilience;
+        this.updateProperties = updateProperties;
     }
 
     @Override
     public Employee saveEmployee(Employee employee) {
+        return resilience.call(() -> bulkheads.point().call(() -> {
+            Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
 
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-
-        if(savedEmployee.isPresent()){
-            throw new ResourceNotFoundException("Employee already exist with de given email: " + employee.getEmail());
-        }
+            if(savedEmployee.isPresent()){
+                throw new ResourceNotFoundException("Employee already exist with de given email: " + employee.getEmail());
+            }
 
-        return employeeRepository.save(employee);
+            return employeeRepository.save(employee);
+        }));
     }
 
     @Override
     public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+        return resilience.call(() -> bulkheads.scan().call(() -> employeeRepository.findAll()));
+    }
+
+    //retried like any read until the first row is out; after that a new attempt would send rows twice.
+    //the consumer writes to the client, so a slow reader holds an export thread, never a scan one
+    @Override
+    public void streamAllEmployees(Consumer<EmployeeDto> consumer) {
+        boolean[] started = {false};
+        resilience.call(() -> bulkheads.export().call(() -> {
+            employeeRepository.streamAll(employee -> {
+                //a driver that buffered or sorted the whole result no longer notices its statement being cancelled
+                if (RequestDeadline.isExpired()) {
+                    throw new QueryTimeoutException("Request deadline exceeded while streaming employees");
+                }
+                started[0] = true;
+                consumer.accept(employee);
+            });
+            return null;
+        }), () -> !started[0]);
+    }
+
+    @Override
+    public List<Employee> getEmployees(int page, int size) {
+        return resilience.call(() -> bulkheads.scan().call(
+                () -> employeeRepository.findAll(PageRequest.of(page, size, Sort.by("id"))).getContent()));
+    }
+
+    @Override
+    public List<PartialEmployeeDto> getEmployees(int page, int size, Set<EmployeeField> fields) {
+        return resilience.call(() -> bulkheads.scan().call(
+                () -> employeeRepository.findAllProjected(fields, PageRequest.of(page, size, Sort.by("id")))));
     }
 
     @Override
     public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id);
+        String tenantId = TenantContext.getTenantId();
+        accessLog.record(tenantId, id);
+        try {
+            return nearCache.get(tenantId, id,
+                    () -> resilience.call(() -> bulkheads.point().call(() -> employeeRepository.findById(id))));
+        } catch (RuntimeException e) {
+            //a possibly outdated employee beats an error while the database is down
+            Optional<Employee> stale = DatabaseFailures.isUnavailable(e) ? nearCache.getStale(tenantId, id) : Optional.empty();
+            if (stale.isEmpty()) {
+                throw e;
+            }
+            log.warn("Serving cached employee {} while the database is unavailable: {}", id, e.toString());
+            return stale;
+        }
     }
 
     @Override
     public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+        Employee savedEmployee = EmployeeUpdate.apply(updatedEmployee, updateProperties.getMergeAttempts(),
+                //straight from the repository, since the version to write against must not come from the near cache
+                id -> resilience.call(() -> bulkheads.point().call(() -> employeeRepository.findById(id))),
+                candidate -> resilience.call(() -> bulkheads.point().call(() -> employeeRepository.save(candidate))));
+        nearCache.invalidate(TenantContext.getTenantId(), savedEmployee.getId());
+        return savedEmployee;
     }
 
     @Override
     public void deleteEmployee(Long id) {
-        employeeRepository.deleteById(id);
+        resilience.call(() -> bulkheads.point().call(() -> {
+            employeeRepository.deleteById(id);
+            return null;
+        }));
+        nearCache.invalidate(TenantContext.getTenantId(), id);
     }
 }
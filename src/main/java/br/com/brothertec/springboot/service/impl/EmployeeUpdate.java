@@ -0,0 +1,59 @@
+package br.com.brothertec.springboot.service.impl;
+
+import br.com.brothertec.springboot.exception.EmployeeConflictException;
+import br.com.brothertec.springboot.exception.ResourceNotFoundException;
+import br.com.brothertec.springboot.model.Employee;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.Optional;
+import java.util.function.LongFunction;
+import java.util.function.UnaryOperator;
+
+//the update every EmployeeService runs over its own store. updatedEmployee carries the new field values and,
+//optionally, the version they were edited from. with a version, anything written since answers a conflict;
+//without one, an update that races another one is merged onto it when the two changed different fields
+public final class EmployeeUpdate {
+
+    private EmployeeUpdate() {
+    }
+
+    //load must read the stored state, never a cache; save must fail with OptimisticLockingFailureException when
+    //the version it writes against is outdated
+    public static Employee apply(Employee updatedEmployee, int mergeAttempts,
+                                 LongFunction<Optional<Employee>> load, UnaryOperator<Employee> save) {
+        Long id = updatedEmployee.getId();
+        if (id == null) {
+            throw new IllegalArgumentException("Cannot update an employee without id");
+        }
+        boolean versioned = updatedEmployee.getVersion() != null;
+        Employee base = current(id, load);
+        if (versioned && !updatedEmployee.getVersion().equals(base.getVersion())) {
+            throw new EmployeeConflictException("Employee " + id + " was modified after version "
+                    + updatedEmployee.getVersion(), base);
+        }
+
+        Employee changes = updatedEmployee;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return save.apply(EmployeeMerge.apply(base, changes));
+            } catch (OptimisticLockingFailureException e) {
+                Employee latest = current(id, load);
+                //the values a versioned client sent may depend on the state it read, e.g. a counter it incremented,
+                //so even a change that looks compatible has to be redone by the client
+                Employee merged = !versioned && attempt < mergeAttempts
+                        ? EmployeeMerge.merge(base, changes, latest)
+                        : null;
+                if (merged == null) {
+                    throw new EmployeeConflictException("Employee " + id + " was modified concurrently", latest);
+                }
+                base = latest;
+                changes = merged;
+            }
+        }
+    }
+
+    private static Employee current(long id, LongFunction<Optional<Employee>> load) {
+        return load.apply(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.brothertec.springboot.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+//consistent hash ring with virtual nodes, kept as sorted primitive arrays for allocation-free lookups
+public class ConsistentHashRing<T> {
+    private final long[] points;
+    private final Object[] nodes;
+
+    public ConsistentHashRing(List<T> members, int virtualNodes, Function<T, String> nameOf) {
+        if (members.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A ring needs at least one member and one virtual node");
+        }
+        int size = members.size() * virtualNodes;
+        long[][] entries = new long[size][2];
+        int i = 0;
+        for (int member = 0; member < members.size(); member++) {
+            String name = nameOf.apply(members.get(member));
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                entries[i][0] = hash(name + "#" + replica);
+                entries[i][1] = member;
+                i++;
+            }
+        }
+        Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+        points = new long[size];
+        nodes = new Object[size];
+        for (i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            nodes[i] = members.get((int) entries[i][1]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T nodeFor(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return (T) nodes[index == points.length ? 0 : index];
+    }
+
+    //FNV-1a followed by a murmur3 finalizer to spread nearby keys around the ring
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
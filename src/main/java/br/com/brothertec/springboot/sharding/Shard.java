@@ -0,0 +1,50 @@
+package br.com.brothertec.springboot.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+//one datasource of the sharded store; ids of its rows carry its index in the low bits
+public class Shard {
+    static final int SHARD_BITS = 8;
+    static final long SHARD_MASK = (1L << SHARD_BITS) - 1;
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private final int index;
+    private final String name;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public Shard(int index, String name, DataSource dataSource) {
+        if (index < 0 || index >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard index must be between 0 and " + (MAX_SHARDS - 1));
+        }
+        this.index = index;
+        this.name = name;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    static int indexOf(long id) {
+        return (int) (id & SHARD_MASK);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    //local to this shard; a write never spans shards
+    public TransactionTemplate getTransactionTemplate() {
+        return transactionTemplate;
+    }
+}
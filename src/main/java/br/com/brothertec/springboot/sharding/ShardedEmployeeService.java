@@ -0,0 +1,84 @@
+package br.com.brothertec.springboot.sharding;
+
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.dto.EmployeeField;
+import br.com.brothertec.springboot.dto.PartialEmployeeDto;
+import br.com.brothertec.springboot.exception.ResourceNotFoundException;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.resilience.DatabaseResilience;
+import br.com.brothertec.springboot.service.EmployeeService;
+import br.com.brothertec.springboot.service.UpdateProperties;
+import br.com.brothertec.springboot.service.impl.EmployeeUpdate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+//same retries, breaker and conflict answers as the single database; the store publishes the committed changes
+public class ShardedEmployeeService implements EmployeeService {
+    private ShardedEmployeeStore store;
+    private DatabaseResilience resilience;
+    private UpdateProperties updateProperties;
+
+    public ShardedEmployeeService(ShardedEmployeeStore store, DatabaseResilience resilience,
+                                  UpdateProperties updateProperties) {
+        this.store = store;
+        this.resilience = resilience;
+        this.updateProperties = updateProperties;
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        return resilience.call(() -> {
+            if (store.findByEmail(employee.getEmail()).isPresent()) {
+                throw new ResourceNotFoundException("Employee already exist with de given email: " + employee.getEmail());
+            }
+            return store.save(employee);
+        });
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return resilience.call(() -> store.findAll());
+    }
+
+    //the shards' results are merged in memory first, so unlike the single database this is not bounded
+    @Override
+    public void streamAllEmployees(Consumer<EmployeeDto> consumer) {
+        for (Employee employee : getAllEmployees()) {
+            consumer.accept(EmployeeDto.from(employee));
+        }
+    }
+
+    @Override
+    public List<Employee> getEmployees(int page, int size) {
+        return resilience.call(() -> store.findPage(page, size));
+    }
+
+    @Override
+    public List<PartialEmployeeDto> getEmployees(int page, int size, Set<EmployeeField> fields) {
+        return project(resilience.call(() -> store.findPage(page, size, fields)), fields);
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeById(Long id) {
+        return resilience.call(() -> store.findById(id));
+    }
+
+    @Override
+    public Employee updateEmployee(Employee updatedEmployee) {
+        return EmployeeUpdate.apply(updatedEmployee, updateProperties.getMergeAttempts(),
+                id -> resilience.call(() -> store.findById(id)),
+                candidate -> resilience.call(() -> store.save(candidate)));
+    }
+
+    @Override
+    public void deleteEmployee(Long id) {
+        resilience.call(() -> store.deleteById(id));
+    }
+
+    private static List<PartialEmployeeDto> project(List<Employee> employees, Set<EmployeeField> fields) {
+        return employees.stream().map(employee -> PartialEmployeeDto.from(employee, fields)).toList();
+    }
+}
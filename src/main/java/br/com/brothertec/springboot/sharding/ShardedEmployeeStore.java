@@ -0,0 +1,258 @@
+package br.com.brothertec.springboot.sharding;
+
+import br.com.brothertec.springboot.deadline.RequestDeadline;
+import br.com.brothertec.springboot.dto.EmployeeField;
+import br.com.brothertec.springboot.event.EmployeeChangedEvent;
+import br.com.brothertec.springboot.id.SnowflakeIdGenerator;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+//routes point operations to the one owning shard and fans scans out to all shards in parallel
+public class ShardedEmployeeStore {
+    private static final String COLUMNS = "id, first_name, last_name, email, tenant_id, version";
+    private static final RowMapper<Employee> ROW_MAPPER = (rs, rowNum) -> Employee.builder()
+            .id(rs.getLong("id"))
+            .firstName(rs.getString("first_name"))
+            .lastName(rs.getString("last_name"))
+            .email(rs.getString("email"))
+            .tenantId(rs.getString("tenant_id"))
+            .version(rs.getLong("version"))
+            .build();
+
+    private final List<Shard> shards;
+    private final Shard[] shardsByIndex = new Shard[Shard.MAX_SHARDS];
+    private final ConsistentHashRing<Shard> ring;
+    private final SnowflakeIdGenerator idGenerator;
+    private final ApplicationEventPublisher publisher;
+    private final ExecutorService fanOutPool;
+    private final Executor fanOutExecutor;
+
+    public ShardedEmployeeStore(List<Shard> shards, int virtualNodes, SnowflakeIdGenerator idGenerator,
+                                ApplicationEventPublisher publisher, ExecutorService fanOutExecutor) {
+        this.shards = List.copyOf(shards);
+        for (Shard shard : shards) {
+            shardsByIndex[shard.getIndex()] = shard;
+        }
+        this.ring = new ConsistentHashRing<>(this.shards, virtualNodes, Shard::getName);
+        this.idGenerator = idGenerator;
+        this.publisher = publisher;
+        this.fanOutPool = fanOutExecutor;
+        //scans run on other threads but stay bound by the caller's deadline
+        this.fanOutExecutor = task -> fanOutExecutor.execute(RequestDeadline.propagate(task));
+    }
+
+    //new employees are placed by email hash; the shard index travels in the low bits of the generated id from then on.
+    //ids come from the node's snowflake generator, so instances writing to the same shards never collide.
+    //an update carrying a version only applies to that version, like the @Version check of the JPA store, and a row
+    //gone since it was read fails the same way. the change is published once the shard committed it
+    public Employee save(Employee employee) {
+        String tenantId = TenantContext.getTenantId();
+        EmployeeChangedEvent event;
+        if (employee.getId() == null) {
+            Shard shard = ring.nodeFor(employee.getEmail());
+            long id = idGenerator.nextId(Shard.SHARD_BITS, shard.getIndex());
+            shard.getJdbcTemplate().update(
+                    "insert into employees (" + COLUMNS + ") values (?, ?, ?, ?, ?, 0)",
+                    id, employee.getFirstName(), employee.getLastName(), employee.getEmail(), tenantId);
+            employee.setId(id);
+            employee.setVersion(0L);
+            employee.setTenantId(tenantId);
+            event = EmployeeChangedEvent.inserted(copy(employee));
+        } else {
+            Shard shard = shardOf(employee.getId());
+            Employee previous = shard == null ? null : shard.getTransactionTemplate().execute(status -> {
+                Optional<Employee> current = first(shard.getJdbcTemplate().query(
+                        "select " + COLUMNS + " from employees where id = ? and tenant_id = ? for update",
+                        ROW_MAPPER, employee.getId(), tenantId));
+                if (current.isEmpty()
+                        || (employee.getVersion() != null && !employee.getVersion().equals(current.get().getVersion()))) {
+                    return null;
+                }
+                shard.getJdbcTemplate().update(
+                        "update employees set first_name = ?, last_name = ?, email = ?, version = version + 1"
+                                + " where id = ? and tenant_id = ?",
+                        employee.getFirstName(), employee.getLastName(), employee.getEmail(), employee.getId(), tenantId);
+                return current.get();
+            });
+            if (previous == null) {
+                throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getId());
+            }
+            employee.setVersion(previous.getVersion() + 1);
+            employee.setTenantId(tenantId);
+            event = EmployeeChangedEvent.updated(previous, copy(employee));
+        }
+        publisher.publishEvent(event);
+        return employee;
+    }
+
+    public Optional<Employee> findById(long id) {
+        Shard shard = shardOf(id);
+        if (shard == null) {
+            return Optional.empty();
+        }
+        return first(shard.getJdbcTemplate().query(
+                "select " + COLUMNS + " from employees where id = ? and tenant_id = ?",
+                ROW_MAPPER, id, TenantContext.getTenantId()));
+    }
+
+    //the email's home shard answers unless the email changed after placement, then every shard is asked
+    public Optional<Employee> findByEmail(String email) {
+        String tenantId = TenantContext.getTenantId();
+        String sql = "select " + COLUMNS + " from employees where tenant_id = ? and email = ?";
+        Shard home = ring.nodeFor(email);
+        Optional<Employee> found = first(home.getJdbcTemplate().query(sql, ROW_MAPPER, tenantId, email));
+        if (found.isPresent()) {
+            return found;
+        }
+        return fanOut(shard -> shard == home
+                ? List.<Employee>of()
+                : shard.getJdbcTemplate().query(sql, ROW_MAPPER, tenantId, email))
+                .stream().findFirst();
+    }
+
+    public boolean deleteById(long id) {
+        Shard shard = shardOf(id);
+        if (shard == null) {
+            return false;
+        }
+        String tenantId = TenantContext.getTenantId();
+        Optional<Employee> deleted = shard.getTransactionTemplate().execute(status -> {
+            Optional<Employee> current = first(shard.getJdbcTemplate().query(
+                    "select " + COLUMNS + " from employees where id = ? and tenant_id = ? for update",
+                    ROW_MAPPER, id, tenantId));
+            current.ifPresent(employee -> shard.getJdbcTemplate().update(
+                    "delete from employees where id = ? and tenant_id = ?", id, tenantId));
+            return current;
+        });
+        deleted.ifPresent(employee -> publisher.publishEvent(EmployeeChangedEvent.deleted(employee)));
+        return deleted.isPresent();
+    }
+
+    public List<Employee> findAll() {
+        return findAll(COLUMNS, ROW_MAPPER);
+    }
+
+    //reads only the selected columns (plus id, which the merge orders by); the other properties stay null
+    public List<Employee> findPage(int page, int size) {
+        return findPage(page, size, COLUMNS, ROW_MAPPER);
+    }
+
+    public List<Employee> findPage(int page, int size, Set<EmployeeField> fields) {
+        return findPage(page, size, columns(fields), projectedRowMapper(fields));
+    }
+
+    private List<Employee> findAll(String columns, RowMapper<Employee> rowMapper) {
+        String tenantId = TenantContext.getTenantId();
+        return fanOut(shard -> shard.getJdbcTemplate().query(
+                "select " + columns + " from employees where tenant_id = ? order by id", rowMapper, tenantId));
+    }
+
+    //every shard returns its first offset+size rows by id; the merged prefix is the requested page
+    private List<Employee> findPage(int page, int size, String columns, RowMapper<Employee> rowMapper) {
+        String tenantId = TenantContext.getTenantId();
+        long offset = (long) page * size;
+        List<Employee> merged = fanOut(shard -> shard.getJdbcTemplate().query(
+                "select " + columns + " from employees where tenant_id = ? order by id limit ?",
+                rowMapper, tenantId, offset + size));
+        if (offset >= merged.size()) {
+            return List.of();
+        }
+        return merged.subList((int) offset, (int) Math.min(merged.size(), offset + size));
+    }
+
+    public List<Employee> findByName(String firstName, String lastName) {
+        String tenantId = TenantContext.getTenantId();
+        return fanOut(shard -> shard.getJdbcTemplate().query(
+                "select " + COLUMNS + " from employees where tenant_id = ? and first_name = ? and last_name = ? order by id",
+                ROW_MAPPER, tenantId, firstName, lastName));
+    }
+
+    public long count() {
+        String tenantId = TenantContext.getTenantId();
+        List<CompletableFuture<Long>> counts = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> shard.getJdbcTemplate().queryForObject(
+                        "select count(*) from employees where tenant_id = ?", Long.class, tenantId), fanOutExecutor))
+                .toList();
+        return join(counts).stream().mapToLong(Long::longValue).sum();
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public void shutdown() {
+        fanOutPool.shutdown();
+    }
+
+    Shard shardOf(long id) {
+        return shardsByIndex[Shard.indexOf(id)];
+    }
+
+    private List<Employee> fanOut(Function<Shard, List<Employee>> query) {
+        List<CompletableFuture<List<Employee>>> results = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), fanOutExecutor))
+                .toList();
+        List<Employee> merged = new ArrayList<>();
+        for (List<Employee> result : join(results)) {
+            merged.addAll(result);
+        }
+        merged.sort(Comparator.comparing(Employee::getId));
+        return merged;
+    }
+
+    private static <T> List<T> join(List<CompletableFuture<T>> futures) {
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String columns(Set<EmployeeField> fields) {
+        StringJoiner columns = new StringJoiner(", ", "id, ", "").setEmptyValue("id");
+        for (EmployeeField field : fields) {
+            if (field != EmployeeField.ID) {
+                columns.add(field.column());
+            }
+        }
+        return columns.toString();
+    }
+
+    private static RowMapper<Employee> projectedRowMapper(Set<EmployeeField> fields) {
+        return (rs, rowNum) -> Employee.builder()
+                .id(rs.getLong("id"))
+                .firstName(fields.contains(EmployeeField.FIRST_NAME) ? rs.getString("first_name") : null)
+                .lastName(fields.contains(EmployeeField.LAST_NAME) ? rs.getString("last_name") : null)
+                .email(fields.contains(EmployeeField.EMAIL) ? rs.getString("email") : null)
+                .build();
+    }
+
+    //events outlive the request, so they never share the caller's instance
+    private static Employee copy(Employee employee) {
+        return Employee.builder()
+                .id(employee.getId())
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .tenantId(employee.getTenantId())
+                .version(employee.getVersion())
+                .build();
+    }
+
+    private static Optional<Employee> first(List<Employee> employees) {
+        return employees.isEmpty() ? Optional.empty() : Optional.of(employees.get(0));
+    }
+}
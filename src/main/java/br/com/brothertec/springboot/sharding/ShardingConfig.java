@@ -0,0 +1,65 @@
+package br.com.brothertec.springboot.sharding;
+
+import br.com.brothertec.springboot.deadline.DeadlineAwareDataSource;
+import br.com.brothertec.springboot.id.SnowflakeIdGenerator;
+import br.com.brothertec.springboot.profiling.ProfilingDataSource;
+import br.com.brothertec.springboot.profiling.ProfilingProperties;
+import br.com.brothertec.springboot.resilience.DatabaseResilience;
+import br.com.brothertec.springboot.service.EmployeeService;
+import br.com.brothertec.springboot.service.UpdateProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(prefix = "employees.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({ShardingProperties.class, ProfilingProperties.class, UpdateProperties.class})
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ShardedEmployeeStore shardedEmployeeStore(ShardingProperties properties, ProfilingProperties profilingProperties,
+                                                     SnowflakeIdGenerator employeeIdGenerator,
+                                                     ApplicationEventPublisher publisher) {
+        List<Shard> shards = new ArrayList<>();
+        for (int index = 0; index < properties.getShards().size(); index++) {
+            ShardingProperties.ShardDataSource shard = properties.getShards().get(index);
+            DataSource dataSource = new DeadlineAwareDataSource(DataSourceBuilder.create()
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build());
+            //shard datasources are not beans, so the post-processors never see them
+            if (profilingProperties.isEnabled()) {
+                dataSource = new ProfilingDataSource(dataSource);
+            }
+            if (properties.isInitializeSchema()) {
+                ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                        new ClassPathResource("db/sharded-employees-schema.sql"));
+                populator.setContinueOnError(true);
+                populator.execute(dataSource);
+            }
+            shards.add(new Shard(index, shard.getName() != null ? shard.getName() : "shard-" + index, dataSource));
+        }
+        return new ShardedEmployeeStore(shards, properties.getVirtualNodes(), employeeIdGenerator, publisher,
+                Executors.newFixedThreadPool(properties.getFanOutThreads(), new CustomizableThreadFactory("employees-shard-")));
+    }
+
+    @Bean
+    @Primary
+    public EmployeeService shardedEmployeeService(ShardedEmployeeStore shardedEmployeeStore,
+                                                  DatabaseResilience resilience, UpdateProperties updateProperties) {
+        return new ShardedEmployeeService(shardedEmployeeStore, resilience, updateProperties);
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.brothertec.springboot.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.sharding")
+public class ShardingProperties {
+    private boolean enabled = false;
+    private int virtualNodes = 128;
+    private int fanOutThreads = 8;
+    //runs db/sharded-employees-schema.sql on every shard at startup
+    private boolean initializeSchema = false;
+    //order matters: a shard's position is encoded in the ids it generates
+    private List<ShardDataSource> shards = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class ShardDataSource {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,190 @@
+package br.com.brothertec.springboot.stats;
+
+import br.com.brothertec.springboot.dto.EmployeeStatsDto;
+import br.com.brothertec.springboot.event.EmployeeChangedEvent;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.model.EmployeeStat;
+import br.com.brothertec.springboot.model.EmployeeStatKey;
+import br.com.brothertec.springboot.repository.EmployeeStatRepository;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+//keeps employee_stats up to date from committed changes; writes are buffered in LongAdders and flushed periodically
+@Component
+public class EmployeeStatsAggregator {
+    static final String TOTAL = "total";
+    static final String DOMAIN = "domain";
+    static final String FIRST_NAME_INITIAL = "first-name-initial";
+    static final String LAST_NAME_INITIAL = "last-name-initial";
+    private static final String ALL = "*";
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeStatsAggregator.class);
+
+    //deltas not yet written to employee_stats
+    private final ConcurrentMap<EmployeeStatKey, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private EmployeeStatRepository employeeStatRepository;
+    private TransactionTemplate transactionTemplate;
+
+    public EmployeeStatsAggregator(EmployeeStatRepository employeeStatRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.employeeStatRepository = employeeStatRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        switch (event.type()) {
+            case INSERTED -> record(event.current(), 1);
+            case DELETED -> record(event.previous(), -1);
+            case UPDATED -> {
+                if (event.previous() != null) {
+                    record(event.previous(), -1);
+                    record(event.current(), 1);
+                }
+            }
+        }
+    }
+
+    //stored counters plus whatever this node has not flushed yet; cost depends on the number of buckets, not employees
+    public EmployeeStatsDto getStats() {
+        String tenantId = TenantContext.getTenantId();
+        Map<EmployeeStatKey, Long> amounts = new HashMap<>();
+        for (EmployeeStat stat : employeeStatRepository.findByKeyTenantId(tenantId)) {
+            amounts.merge(stat.getKey(), stat.getAmount(), Long::sum);
+        }
+        pending.forEach((key, delta) -> {
+            if (key.getTenantId().equals(tenantId)) {
+                amounts.merge(key, delta.sum(), Long::sum);
+            }
+        });
+
+        long total = 0;
+        Map<String, Long> byDomain = new TreeMap<>();
+        Map<String, Long> byFirstNameInitial = new TreeMap<>();
+        Map<String, Long> byLastNameInitial = new TreeMap<>();
+        for (Map.Entry<EmployeeStatKey, Long> amount : amounts.entrySet()) {
+            if (amount.getValue() == 0) {
+                continue;
+            }
+            String bucket = amount.getKey().getBucket();
+            switch (amount.getKey().getDimension()) {
+                case TOTAL -> total = amount.getValue();
+                case DOMAIN -> byDomain.put(bucket, amount.getValue());
+                case FIRST_NAME_INITIAL -> byFirstNameInitial.put(bucket, amount.getValue());
+                case LAST_NAME_INITIAL -> byLastNameInitial.put(bucket, amount.getValue());
+                default -> {
+                }
+            }
+        }
+        return new EmployeeStatsDto(total, byDomain, byFirstNameInitial, byLastNameInitial);
+    }
+
+    @Scheduled(fixedDelayString = "${employees.stats.flush-interval:PT5S}")
+    public void flush() {
+        Map<EmployeeStatKey, Long> deltas = new HashMap<>();
+        pending.forEach((key, delta) -> {
+            long amount = delta.sumThenReset();
+            if (amount != 0) {
+                deltas.put(key, amount);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> deltas.forEach(this::apply));
+        } catch (DataAccessException e) {
+            //another node may have created the same counter row first; keep the deltas for the next flush
+            log.warn("Flushing {} employee stats failed, retrying on next flush", deltas.size(), e);
+            deltas.forEach(this::add);
+        }
+    }
+
+    //seeds an empty stats table from the employees table; counters are maintained incrementally afterwards
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (employeeStatRepository.count() > 0) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> seed());
+    }
+
+    //recounts everything after rows were written without entity events, e.g. by the bulk data generator.
+    //deltas buffered before the recount are already part of it; changes committed while it runs may be missed
+    public void rebuild() {
+        pending.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeStatRepository.deleteAllInBatch();
+            seed();
+        });
+    }
+
+    private void seed() {
+        List<EmployeeStat> stats = new ArrayList<>();
+        Map<String, Long> totals = new HashMap<>();
+        for (Object[] row : employeeStatRepository.countEmployeesByDomain()) {
+            stats.add(stat(row, DOMAIN));
+            totals.merge((String) row[0], ((Number) row[2]).longValue(), Long::sum);
+        }
+        for (Object[] row : employeeStatRepository.countEmployeesByFirstNameInitial()) {
+            stats.add(stat(row, FIRST_NAME_INITIAL));
+        }
+        for (Object[] row : employeeStatRepository.countEmployeesByLastNameInitial()) {
+            stats.add(stat(row, LAST_NAME_INITIAL));
+        }
+        totals.forEach((tenantId, total) ->
+                stats.add(new EmployeeStat(new EmployeeStatKey(tenantId, TOTAL, ALL), total)));
+        employeeStatRepository.saveAll(stats);
+    }
+
+    private void record(Employee employee, long delta) {
+        String tenantId = employee.getTenantId();
+        add(new EmployeeStatKey(tenantId, TOTAL, ALL), delta);
+        add(new EmployeeStatKey(tenantId, DOMAIN, domainOf(employee.getEmail())), delta);
+        add(new EmployeeStatKey(tenantId, FIRST_NAME_INITIAL, initialOf(employee.getFirstName())), delta);
+        add(new EmployeeStatKey(tenantId, LAST_NAME_INITIAL, initialOf(employee.getLastName())), delta);
+    }
+
+    private void add(EmployeeStatKey key, long delta) {
+        pending.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+
+    private void apply(EmployeeStatKey key, long delta) {
+        if (employeeStatRepository.increment(key.getTenantId(), key.getDimension(), key.getBucket(), delta) == 0) {
+            employeeStatRepository.save(new EmployeeStat(key, delta));
+        }
+    }
+
+    private static EmployeeStat stat(Object[] row, String dimension) {
+        return new EmployeeStat(new EmployeeStatKey((String) row[0], dimension, (String) row[1]),
+                ((Number) row[2]).longValue());
+    }
+
+    //must match the expressions of the seeding queries in EmployeeStatRepository
+    static String domainOf(String email) {
+        return email.substring(email.indexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    static String initialOf(String name) {
+        return name.isEmpty() ? "" : name.substring(0, 1).toUpperCase(Locale.ROOT);
+    }
+}
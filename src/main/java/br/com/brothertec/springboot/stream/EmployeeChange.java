@@ -0,0 +1,8 @@
+package br.com.brothertec.springboot.stream;
+
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.event.EmployeeChangedEvent;
+
+//one committed change as sent to subscribers; eventId is the SSE id clients resume from
+public record EmployeeChange(long eventId, String tenantId, EmployeeChangedEvent.Type type, EmployeeDto employee) {
+}
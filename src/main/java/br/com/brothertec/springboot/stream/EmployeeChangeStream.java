@@ -0,0 +1,156 @@
+package br.com.brothertec.springboot.stream;
+
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.event.EmployeeChangedEvent;
+import br.com.brothertec.springboot.exception.ClientSubscriberLimitExceededException;
+import br.com.brothertec.springboot.exception.SubscriberLimitExceededException;
+import br.com.brothertec.springboot.model.Employee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+//fans committed employee changes out to SSE subscribers of the same tenant, keeping a replay buffer for resumption
+@Component
+@EnableConfigurationProperties(EmployeeStreamProperties.class)
+public class EmployeeChangeStream implements MeterBinder, DisposableBean {
+    private final EmployeeStreamProperties properties;
+    private final ExecutorService sender;
+    private final Set<EmployeeStreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, Integer> subscribersPerClient = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    //guarded by itself; publishing and subscribing both hold it so a resumed stream has no gap and no duplicate
+    private final ArrayDeque<EmployeeChange> replay = new ArrayDeque<>();
+    //seeded from the clock so ids handed out before a restart are recognised as too old to resume from
+    private long lastEventId = System.currentTimeMillis() * 1_000;
+
+    public EmployeeChangeStream(EmployeeStreamProperties properties) {
+        this.properties = properties;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employees-stream-");
+        threadFactory.setDaemon(true);
+        this.sender = Executors.newFixedThreadPool(properties.getSenderThreads(), threadFactory);
+    }
+
+    public SseEmitter subscribe(String tenantId, String clientId, Long resumeFrom) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new SubscriberLimitExceededException("Too many employee change subscribers");
+        }
+        subscribersPerClient.compute(clientId, (key, count) -> {
+            if (count != null && count >= properties.getMaxSubscribersPerClient()) {
+                throw new ClientSubscriberLimitExceededException("Too many employee change subscriptions from this client");
+            }
+            return count == null ? 1 : count + 1;
+        });
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        EmployeeStreamSubscriber subscriber = new EmployeeStreamSubscriber(tenantId, emitter,
+                properties.getBufferSize(), properties.getOverflowPolicy(), sender);
+        //completion follows a timeout or an error, so only the first removal gives the client's slot back
+        Runnable unsubscribe = () -> {
+            if (subscribers.remove(subscriber)) {
+                subscribersPerClient.computeIfPresent(clientId, (key, count) -> count > 1 ? count - 1 : null);
+            }
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        synchronized (replay) {
+            if (resumeFrom != null) {
+                if (canResumeFrom(resumeFrom)) {
+                    subscriber.replay(changesAfter(tenantId, resumeFrom));
+                } else {
+                    //too old (or from another process): the client has to reload before applying changes again
+                    subscriber.send(SseEmitter.event().id(Long.toString(lastEventId)).name("reset").data(lastEventId));
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.heartbeat();
+        return emitter;
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        Employee employee = event.current() != null ? event.current() : event.previous();
+        if (employee == null) {
+            return;
+        }
+        synchronized (replay) {
+            EmployeeChange change = new EmployeeChange(++lastEventId, employee.getTenantId(), event.type(),
+                    EmployeeDto.from(employee));
+            if (replay.size() >= properties.getReplaySize()) {
+                replay.pollFirst();
+            }
+            replay.addLast(change);
+            for (EmployeeStreamSubscriber subscriber : subscribers) {
+                if (subscriber.tenantId().equals(change.tenantId())) {
+                    dropped.add(subscriber.offer(change));
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employees.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        //keeps idle connections from being cut by proxies and notices clients that went away
+        for (EmployeeStreamSubscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public int getSubscriberCount(String clientId) {
+        return subscribersPerClient.getOrDefault(clientId, 0);
+    }
+
+    private boolean canResumeFrom(long eventId) {
+        long oldestResumable = replay.isEmpty() ? lastEventId : replay.peekFirst().eventId() - 1;
+        return eventId >= oldestResumable && eventId <= lastEventId;
+    }
+
+    private List<EmployeeChange> changesAfter(String tenantId, long eventId) {
+        List<EmployeeChange> changes = new ArrayList<>();
+        for (EmployeeChange change : replay) {
+            if (change.eventId() > eventId && change.tenantId().equals(tenantId)) {
+                changes.add(change);
+            }
+        }
+        return changes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employees.stream.subscribers", subscribers, Set::size)
+                .register(registry);
+        FunctionCounter.builder("employees.stream.dropped", dropped, LongAdder::sum)
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        for (EmployeeStreamSubscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.emitter().complete();
+        }
+        sender.shutdown();
+    }
+}
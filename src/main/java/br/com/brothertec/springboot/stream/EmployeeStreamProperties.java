@@ -0,0 +1,24 @@
+package br.com.brothertec.springboot.stream;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.stream")
+public class EmployeeStreamProperties {
+    private int maxSubscribers = 1_000;
+    //so a single client cannot take every slot; keyed like the rate limiter, by user or remote address
+    private int maxSubscribersPerClient = 10;
+    //changes buffered per subscriber before the overflow policy kicks in
+    private int bufferSize = 256;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.COALESCE;
+    //recent changes kept (across tenants) so a reconnecting client can resume from its Last-Event-ID
+    private int replaySize = 4_096;
+    private int senderThreads = 4;
+    private Duration timeout = Duration.ofMinutes(30);
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+}
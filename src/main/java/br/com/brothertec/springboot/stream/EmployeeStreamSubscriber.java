@@ -0,0 +1,159 @@
+package br.com.brothertec.springboot.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+//bounded buffer in front of one SseEmitter; at most one sender thread drains it at a time, so sends stay ordered
+class EmployeeStreamSubscriber {
+    private final String tenantId;
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Executor sender;
+    //keyed by event id, or by employee id when coalescing
+    private final LinkedHashMap<Long, EmployeeChange> pending = new LinkedHashMap<>();
+    private long dropped;
+    private boolean heartbeatDue;
+    private boolean draining;
+    private boolean closed;
+
+    EmployeeStreamSubscriber(String tenantId, SseEmitter emitter, int capacity, OverflowPolicy overflowPolicy,
+                             Executor sender) {
+        this.tenantId = tenantId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.sender = sender;
+    }
+
+    String tenantId() {
+        return tenantId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    //returns how many buffered changes were dropped to make room; a disconnect drops nothing, the client resumes
+    long offer(EmployeeChange change) {
+        long droppedNow = 0;
+        synchronized (this) {
+            if (closed) {
+                return 0;
+            }
+            long key = overflowPolicy == OverflowPolicy.COALESCE ? change.employee().id() : change.eventId();
+            //re-inserting moves a coalesced change to the back, keeping the buffer in event id order
+            pending.remove(key);
+            if (pending.size() >= capacity) {
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    pending.clear();
+                    closed = true;
+                    return scheduleDrain(0);
+                }
+                Iterator<EmployeeChange> eldest = pending.values().iterator();
+                eldest.next();
+                eldest.remove();
+                dropped++;
+                droppedNow = 1;
+            }
+            pending.put(key, change);
+        }
+        return scheduleDrain(droppedNow);
+    }
+
+    //changes replayed on resume go in regardless of capacity; nothing has been sent yet
+    synchronized void replay(List<EmployeeChange> changes) {
+        for (EmployeeChange change : changes) {
+            long key = overflowPolicy == OverflowPolicy.COALESCE ? change.employee().id() : change.eventId();
+            pending.remove(key);
+            pending.put(key, change);
+        }
+    }
+
+    void heartbeat() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            heartbeatDue = true;
+        }
+        scheduleDrain(0);
+    }
+
+    void send(SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            close();
+        }
+    }
+
+    void close() {
+        synchronized (this) {
+            closed = true;
+            pending.clear();
+        }
+    }
+
+    private long scheduleDrain(long droppedNow) {
+        synchronized (this) {
+            if (draining) {
+                return droppedNow;
+            }
+            draining = true;
+        }
+        sender.execute(this::drain);
+        return droppedNow;
+    }
+
+    private void drain() {
+        for (;;) {
+            List<EmployeeChange> batch;
+            long droppedBefore;
+            boolean heartbeat;
+            boolean complete;
+            synchronized (this) {
+                if (pending.isEmpty() && dropped == 0 && !heartbeatDue && !closed) {
+                    draining = false;
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+                droppedBefore = dropped;
+                dropped = 0;
+                heartbeat = heartbeatDue && batch.isEmpty();
+                heartbeatDue = false;
+                complete = closed;
+            }
+            try {
+                if (complete) {
+                    emitter.complete();
+                    return;
+                }
+                if (droppedBefore > 0) {
+                    emitter.send(SseEmitter.event().name("overflow").data(droppedBefore));
+                }
+                for (EmployeeChange change : batch) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(change.eventId()))
+                            .name(change.type().name().toLowerCase(Locale.ROOT))
+                            .data(change.employee()));
+                }
+                if (heartbeat) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                //the client went away; the emitter's completion callback unregisters this subscriber
+                close();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.brothertec.springboot.stream;
+
+//what happens when a subscriber falls bufferSize changes behind
+public enum OverflowPolicy {
+    //drop the oldest buffered change; the subscriber is told how many it missed with an overflow event
+    DROP_OLDEST,
+    //keep only the latest change per employee, dropping the oldest once even that does not fit
+    COALESCE,
+    //close the stream; the client reconnects with Last-Event-ID and catches up from the replay buffer
+    DISCONNECT
+}
@@ -0,0 +1,37 @@
+package br.com.brothertec.springboot.tenant;
+
+//tenant of the request being served; work handed to other threads must be wrapped with propagate()
+public final class TenantContext {
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String getTenantId() {
+        String tenantId = TENANT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static void setTenantId(String tenantId) {
+        TENANT.set(tenantId);
+    }
+
+    public static void clear() {
+        TENANT.remove();
+    }
+
+    public static Runnable propagate(Runnable task) {
+        String captured = TENANT.get();
+        return () -> {
+            String previous = TENANT.get();
+            TENANT.set(captured);
+            try {
+                task.run();
+            } finally {
+                TENANT.set(previous);
+            }
+        };
+    }
+}
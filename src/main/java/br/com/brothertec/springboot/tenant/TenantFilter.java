@@ -0,0 +1,33 @@
+package br.com.brothertec.springboot.tenant;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+//a filter rather than an interceptor: the tenant must be known before open-in-view opens the session.
+//the header is trusted as sent; deployments must let only a gateway that authenticates the caller set it
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TenantFilter extends OncePerRequestFilter {
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String tenantId = request.getHeader(TENANT_HEADER);
+        TenantContext.setTenantId(StringUtils.hasText(tenantId) ? tenantId.trim() : TenantContext.DEFAULT_TENANT);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.brothertec.springboot.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+//instantiated by Hibernate from hibernate.tenant_identifier_resolver; the tenant is fixed when a session opens
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.getTenantId();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+}
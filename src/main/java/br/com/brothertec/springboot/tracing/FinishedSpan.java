@@ -0,0 +1,15 @@
+package br.com.brothertec.springboot.tracing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+public record FinishedSpan(String traceId,
+                           String spanId,
+                           String parentSpanId,
+                           String name,
+                           Instant start,
+                           Duration duration,
+                           Map<String, String> tags,
+                           String error) {
+}
@@ -0,0 +1,31 @@
+package br.com.brothertec.springboot.tracing;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+//keeps the most recent spans, for tests and local inspection
+public class InMemorySpanExporter implements SpanExporter {
+    private final int capacity;
+    private final ArrayDeque<FinishedSpan> spans;
+
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public synchronized void export(FinishedSpan span) {
+        if (spans.size() >= capacity) {
+            spans.pollFirst();
+        }
+        spans.addLast(span);
+    }
+
+    public synchronized List<FinishedSpan> getSpans() {
+        return List.copyOf(spans);
+    }
+
+    public synchronized void clear() {
+        spans.clear();
+    }
+}
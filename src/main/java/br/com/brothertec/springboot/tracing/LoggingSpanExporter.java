@@ -0,0 +1,17 @@
+package br.com.brothertec.springboot.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class LoggingSpanExporter implements SpanExporter {
+    private static final Logger log = LoggerFactory.getLogger(LoggingSpanExporter.class);
+
+    @Override
+    public void export(FinishedSpan span) {
+        if (log.isInfoEnabled()) {
+            log.info("span trace={} span={} parent={} name=\"{}\" duration={}us tags={}{}", span.traceId(), span.spanId(),
+                    span.parentSpanId(), span.name(), span.duration().toNanos() / 1_000, span.tags(),
+                    span.error() != null ? " error=" + span.error() : "");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.brothertec.springboot.tracing;
+
+public interface SpanExporter {
+
+    //called on the thread that finished the span; implementations must not block
+    void export(FinishedSpan span);
+}
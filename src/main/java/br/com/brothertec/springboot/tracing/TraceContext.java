@@ -0,0 +1,63 @@
+package br.com.brothertec.springboot.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+//ids of one span as carried by a W3C traceparent header: 00-<32 hex trace id>-<16 hex span id>-<flags>
+public record TraceContext(String traceId, String spanId, boolean sampled) {
+    private static final String VERSION = "00";
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_SPAN_ID = "0".repeat(16);
+
+    public static TraceContext newRoot(boolean sampled) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new TraceContext(hex(random.nextLong()) + hex(random.nextLong()), newSpanId(), sampled);
+    }
+
+    public TraceContext newChild() {
+        return new TraceContext(traceId, newSpanId(), sampled);
+    }
+
+    //null when absent or malformed, in which case a new trace is started
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null) {
+            return null;
+        }
+        String[] parts = traceparent.trim().split("-");
+        if (parts.length < 4 || !VERSION.equals(parts[0]) || !isHex(parts[1], 32) || !isHex(parts[2], 16)
+                || !isHex(parts[3], 2) || INVALID_TRACE_ID.equals(parts[1]) || INVALID_SPAN_ID.equals(parts[2])) {
+            return null;
+        }
+        boolean sampled = (Integer.parseInt(parts[3], 16) & 1) == 1;
+        return new TraceContext(parts[1], parts[2], sampled);
+    }
+
+    public String toTraceparent() {
+        return VERSION + "-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    private static String newSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return hex(id);
+    }
+
+    private static String hex(long value) {
+        String hex = Long.toHexString(value);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+
+    private static boolean isHex(String value, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.brothertec.springboot.tracing;
+
+import br.com.brothertec.springboot.service.EmployeeService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+//observes every EmployeeService call and JDBC statement; the registry is looked up lazily since
+//post-processors are created before the beans they would otherwise depend on
+@Component
+@ConditionalOnProperty(prefix = "employees.tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TracingBeanPostProcessor implements BeanPostProcessor {
+    private ObjectProvider<ObservationRegistry> observationRegistry;
+
+    public TracingBeanPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)) {
+            return new TracingDataSource(dataSource, this::registry);
+        }
+        if (bean instanceof EmployeeService employeeService) {
+            return observe(employeeService, this::registry);
+        }
+        return bean;
+    }
+
+    static EmployeeService observe(EmployeeService employeeService, Supplier<ObservationRegistry> registry) {
+        return (EmployeeService) Proxy.newProxyInstance(EmployeeService.class.getClassLoader(),
+                new Class<?>[]{EmployeeService.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Observed " + employeeService;
+                        default:
+                            break;
+                    }
+                    ObservationRegistry observationRegistry = registry.get();
+                    Observation observation = Observation.createNotStarted("employees.service", observationRegistry)
+                            .parentObservation(observationRegistry.getCurrentObservation())
+                            .contextualName("EmployeeService." + method.getName())
+                            .lowCardinalityKeyValue("method", method.getName())
+                            .start();
+                    try (Observation.Scope scope = observation.openScope()) {
+                        return invoke(employeeService, method, args);
+                    } catch (Throwable e) {
+                        observation.error(e);
+                        throw e;
+                    } finally {
+                        observation.stop();
+                    }
+                });
+    }
+
+    private ObservationRegistry registry() {
+        return observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.brothertec.springboot.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+//the handler is picked up by Boot's ObservationRegistry, which already observes every MVC request
+@Configuration
+@ConditionalOnProperty(prefix = "employees.tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    public SpanExporter spanExporter(TracingProperties properties) {
+        return switch (properties.getExporter()) {
+            case LOGGING -> new LoggingSpanExporter();
+            case IN_MEMORY -> new InMemorySpanExporter(properties.getInMemoryCapacity());
+            case NONE -> span -> {
+            };
+        };
+    }
+
+    @Bean
+    public TracingObservationHandler tracingObservationHandler(ObjectProvider<ObservationRegistry> observationRegistry,
+                                                               TracingProperties properties, SpanExporter spanExporter) {
+        return new TracingObservationHandler(observationRegistry::getObject, properties.getSamplingProbability(),
+                spanExporter);
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.brothertec.springboot.tracing;
+
+import br.com.brothertec.springboot.profiling.ProfilingDataSource;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+//one employees.jdbc observation per statement, only under an observation already in progress (a request or
+//service call), so background queries do not each start a trace of their own
+public class TracingDataSource extends DelegatingDataSource {
+    private final Supplier<ObservationRegistry> registry;
+
+    public TracingDataSource(DataSource targetDataSource, Supplier<ObservationRegistry> registry) {
+        super(targetDataSource);
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection proxy(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        Object result = invoke(connection, method, args);
+                        //statements prepared outside any observation are handed out unwrapped
+                        if (result instanceof Statement statement && registry.get().getCurrentObservation() != null) {
+                            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                            yield trace(statement, method.getReturnType(), sql);
+                        }
+                        yield result;
+                    }
+                });
+    }
+
+    private Object trace(Statement statement, Class<?> statementType, String preparedSql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{statementType},
+                (proxy, method, args) -> {
+                    ObservationRegistry observationRegistry = registry.get();
+                    Observation parent = observationRegistry.getCurrentObservation();
+                    if (!method.getName().startsWith("execute") || parent == null) {
+                        return invoke(statement, method, args);
+                    }
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                    Observation observation = Observation.createNotStarted("employees.jdbc", observationRegistry)
+                            .parentObservation(parent)
+                            .contextualName("jdbc " + verb(sql))
+                            .lowCardinalityKeyValue("sql.id", String.valueOf(ProfilingDataSource.sqlId(sql)))
+                            .highCardinalityKeyValue("sql", String.valueOf(sql))
+                            .start();
+                    Object result;
+                    try {
+                        result = invoke(statement, method, args);
+                    } catch (Throwable e) {
+                        observation.error(e);
+                        observation.stop();
+                        throw e;
+                    }
+                    if (result instanceof ResultSet resultSet) {
+                        return stopOnClose(resultSet, observation);
+                    }
+                    observation.stop();
+                    return result;
+                });
+    }
+
+    //the statement is only done once its rows are read
+    private ResultSet stopOnClose(ResultSet resultSet, Observation observation) {
+        boolean[] stopped = {false};
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if ("close".equals(method.getName()) && !stopped[0]) {
+                        stopped[0] = true;
+                        observation.stop();
+                    }
+                    return result;
+                });
+    }
+
+    private static String verb(String sql) {
+        if (sql == null) {
+            return "statement";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "statement" : trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
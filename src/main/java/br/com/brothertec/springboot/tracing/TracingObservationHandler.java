@@ -0,0 +1,96 @@
+package br.com.brothertec.springboot.tracing;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.ObservationView;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+//turns every observation into a span: child of the parent observation, of an incoming traceparent, or a new root
+public class TracingObservationHandler implements ObservationHandler<Observation.Context> {
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    //supplied lazily: the registry is built with its handlers, this one included
+    private final Supplier<ObservationRegistry> registry;
+    private final double samplingProbability;
+    private final SpanExporter exporter;
+
+    public TracingObservationHandler(Supplier<ObservationRegistry> registry, double samplingProbability,
+                                     SpanExporter exporter) {
+        this.registry = registry;
+        this.samplingProbability = samplingProbability;
+        this.exporter = exporter;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        TraceContext parent = parentOf(context);
+        TraceContext trace = parent != null
+                ? parent.newChild()
+                : TraceContext.newRoot(ThreadLocalRandom.current().nextDouble() < samplingProbability);
+        context.put(SpanState.class, new SpanState(trace, parent != null ? parent.spanId() : null,
+                Instant.now(), System.nanoTime()));
+        //lets the caller find its trace (and this span as the parent of its next calls)
+        if (context instanceof ServerRequestObservationContext server && server.getResponse() != null) {
+            server.getResponse().setHeader(TRACEPARENT_HEADER, trace.toTraceparent());
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        SpanState state = context.get(SpanState.class);
+        if (state == null || !state.trace().sampled()) {
+            return;
+        }
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (KeyValue keyValue : context.getLowCardinalityKeyValues()) {
+            tags.put(keyValue.getKey(), keyValue.getValue());
+        }
+        for (KeyValue keyValue : context.getHighCardinalityKeyValues()) {
+            tags.put(keyValue.getKey(), keyValue.getValue());
+        }
+        Throwable error = context.getError();
+        exporter.export(new FinishedSpan(state.trace().traceId(), state.trace().spanId(), state.parentSpanId(),
+                context.getContextualName() != null ? context.getContextualName() : context.getName(),
+                state.start(), Duration.ofNanos(System.nanoTime() - state.startNanos()), tags,
+                error != null ? error.toString() : null));
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return true;
+    }
+
+    public static TraceContext traceOf(Observation.ContextView context) {
+        SpanState state = context.get(SpanState.class);
+        return state != null ? state.trace() : null;
+    }
+
+    private TraceContext parentOf(Observation.Context context) {
+        //only an explicit parentObservation(..) sets the parent; otherwise it is whatever has a scope open here
+        ObservationView parent = context.getParentObservation() != null
+                ? context.getParentObservation()
+                : registry.get().getCurrentObservation();
+        if (parent != null) {
+            TraceContext trace = traceOf(parent.getContextView());
+            if (trace != null) {
+                return trace;
+            }
+        }
+        if (context instanceof ServerRequestObservationContext server && server.getCarrier() != null) {
+            return TraceContext.parse(server.getCarrier().getHeader(TRACEPARENT_HEADER));
+        }
+        return null;
+    }
+
+    private record SpanState(TraceContext trace, String parentSpanId, Instant start, long startNanos) {
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.brothertec.springboot.tracing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.tracing")
+public class TracingProperties {
+    private boolean enabled = true;
+    //share of new traces that are exported; a sampled flag arriving in traceparent always wins
+    private double samplingProbability = 0.1;
+    private Exporter exporter = Exporter.LOGGING;
+    //spans kept by the in-memory exporter
+    private int inMemoryCapacity = 1_000;
+
+    public enum Exporter {
+        LOGGING,
+        IN_MEMORY,
+        NONE
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.brothertec.springboot.warmup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+//ring buffer of the most recent employee reads; the most frequent keys in it are the hot set
+@Component
+@EnableConfigurationProperties(WarmupProperties.class)
+public class EmployeeAccessLog implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeAccessLog.class);
+
+    private final AtomicReferenceArray<HotKey> slots;
+    private final AtomicLong cursor = new AtomicLong();
+    private final WarmupProperties properties;
+
+    public EmployeeAccessLog(WarmupProperties properties) {
+        this.properties = properties;
+        this.slots = new AtomicReferenceArray<>(Math.max(1, properties.getAccessLogCapacity()));
+    }
+
+    public void record(String tenantId, long id) {
+        //the warm-up replays the hot set; counting it would only make the next hot set echo this one
+        if (WarmupTraffic.isCurrent()) {
+            return;
+        }
+        slots.lazySet((int) (cursor.getAndIncrement() % slots.length()), new HotKey(tenantId, id));
+    }
+
+    public List<HotKey> hottest(int limit) {
+        Map<HotKey, Integer> counts = new HashMap<>();
+        for (int i = 0; i < slots.length(); i++) {
+            HotKey key = slots.get(i);
+            if (key != null) {
+                counts.merge(key, 1, Integer::sum);
+            }
+        }
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<HotKey, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    //hot set saved by the previous run, one "tenant<TAB>id" per line
+    public List<HotKey> loadHotSet() {
+        if (properties.getHotSetFile() == null || !Files.isReadable(Path.of(properties.getHotSetFile()))) {
+            return List.of();
+        }
+        try {
+            List<HotKey> hotSet = new ArrayList<>();
+            for (String line : Files.readAllLines(Path.of(properties.getHotSetFile()))) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    hotSet.add(new HotKey(line.substring(0, tab), Long.parseLong(line.substring(tab + 1).trim())));
+                }
+            }
+            return hotSet.size() > properties.getHotSetSize() ? hotSet.subList(0, properties.getHotSetSize()) : hotSet;
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Ignoring unreadable hot set file {}", properties.getHotSetFile(), e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (properties.getHotSetFile() == null) {
+            return;
+        }
+        List<HotKey> hotSet = hottest(properties.getHotSetSize());
+        if (hotSet.isEmpty()) {
+            return;
+        }
+        try {
+            Files.write(Path.of(properties.getHotSetFile()),
+                    hotSet.stream().map(key -> key.tenantId() + "\t" + key.id()).toList());
+        } catch (IOException e) {
+            log.warn("Could not save hot set to {}", properties.getHotSetFile(), e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.brothertec.springboot.warmup;
+
+import br.com.brothertec.springboot.cache.EmployeeNearCache;
+import br.com.brothertec.springboot.deadline.RequestDeadline;
+import br.com.brothertec.springboot.repository.EmployeeRepository;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import br.com.brothertec.springboot.tenant.TenantFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+//preloads the hot employees into the near cache and drives requests through the local server before the
+//application reports ready; application runners finish before readiness flips to ACCEPTING_TRAFFIC
+@Component
+@Profile("!datagen & !import")
+@ConditionalOnProperty(prefix = "employees.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeWarmup implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWarmup.class);
+
+    private WarmupProperties properties;
+    private EmployeeAccessLog accessLog;
+    private EmployeeRepository employeeRepository;
+    private EmployeeNearCache nearCache;
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationContext applicationContext;
+
+    public EmployeeWarmup(WarmupProperties properties, EmployeeAccessLog accessLog,
+                          EmployeeRepository employeeRepository, EmployeeNearCache nearCache,
+                          DataSource dataSource, ApplicationContext applicationContext) {
+        this.properties = properties;
+        this.accessLog = accessLog;
+        this.employeeRepository = employeeRepository;
+        this.nearCache = nearCache;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + properties.getTimeout().toNanos();
+        List<HotKey> hotSet = hotSet();
+        if (hotSet.isEmpty()) {
+            log.info("No hot employees to warm up");
+            return;
+        }
+        int preloaded = preload(hotSet, deadline);
+        int requests = exerciseEndpoints(hotSet, deadline);
+        log.info("Warm-up preloaded {} of {} hot employees and sent {} requests in {} ms", preloaded, hotSet.size(),
+                requests, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    List<HotKey> hotSet() {
+        List<HotKey> hotSet = accessLog.loadHotSet();
+        if (!hotSet.isEmpty()) {
+            return hotSet;
+        }
+        //ids are time ordered, so the newest rows stand in for the hot ones
+        return jdbcTemplate.query("select tenant_id, id from employees order by id desc limit ?",
+                (rs, rowNum) -> new HotKey(rs.getString(1), rs.getLong(2)), properties.getHotSetSize());
+    }
+
+    int preload(List<HotKey> hotSet, long deadline) {
+        Map<String, List<Long>> idsByTenant = new LinkedHashMap<>();
+        for (HotKey key : hotSet) {
+            idsByTenant.computeIfAbsent(key.tenantId(), tenant -> new ArrayList<>()).add(key.id());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()),
+                new CustomizableThreadFactory("employees-warmup-"));
+        int preloaded = 0;
+        try {
+            List<Future<Integer>> batches = new ArrayList<>();
+            idsByTenant.forEach((tenantId, ids) -> {
+                for (int from = 0; from < ids.size(); from += properties.getBatchSize()) {
+                    List<Long> batch = ids.subList(from, Math.min(ids.size(), from + properties.getBatchSize()));
+                    batches.add(executor.submit(() -> preloadBatch(tenantId, batch, deadline)));
+                }
+            });
+            for (Future<Integer> batch : batches) {
+                preloaded += batch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            return preloaded;
+        } catch (TimeoutException e) {
+            log.warn("Warm-up preload ran out of time after {}", properties.getTimeout());
+            return preloaded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return preloaded;
+        } catch (Exception e) {
+            log.warn("Warm-up preload failed", e);
+            return preloaded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int preloadBatch(String tenantId, List<Long> ids, long deadline) {
+        TenantContext.setTenantId(tenantId);
+        //queries are cancelled by the deadline-aware data source once the warm-up time box is over
+        RequestDeadline.startingNow(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+        try {
+            int[] loaded = new int[1];
+            nearCache.preload(tenantId, () -> {
+                var employees = employeeRepository.findAllById(ids);
+                loaded[0] = employees.size();
+                return employees;
+            });
+            return loaded[0];
+        } finally {
+            RequestDeadline.clear();
+            TenantContext.clear();
+        }
+    }
+
+    int exerciseEndpoints(List<HotKey> hotSet, long deadline) {
+        if (!(applicationContext instanceof WebServerApplicationContext webContext) || webContext.getWebServer() == null) {
+            return 0;
+        }
+        String baseUrl = "http://localhost:" + webContext.getWebServer().getPort()
+                + applicationContext.getEnvironment().getProperty("server.servlet.context-path", "")
+                + "/api/employees";
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        int sent = 0;
+        while (sent < properties.getRequests() && System.nanoTime() - deadline < 0) {
+            HotKey key = hotSet.get(sent % hotSet.size());
+            //mostly point reads in both encodings, with an occasional page
+            String url = sent % 10 == 9 ? baseUrl + "?page=0&size=50" : baseUrl + "/" + key.id();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .header(TenantFilter.TENANT_HEADER, key.tenantId())
+                    //skips the rate limiter, which would throttle the burst, and the access log it would skew
+                    .header(WarmupTraffic.TOKEN_HEADER, WarmupTraffic.TOKEN)
+                    .header("Accept", sent % 2 == 0 ? "application/json" : "application/x-jackson-smile")
+                    .timeout(Duration.ofNanos(Math.max(1, deadline - System.nanoTime())))
+                    .build();
+            try {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            } catch (IOException e) {
+                log.warn("Warm-up request to {} failed, skipping the rest", url, e);
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            sent++;
+        }
+        return sent;
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.brothertec.springboot.warmup;
+
+public record HotKey(String tenantId, long id) {
+}
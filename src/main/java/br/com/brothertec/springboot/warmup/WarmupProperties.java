@@ -0,0 +1,25 @@
+package br.com.brothertec.springboot.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.warmup")
+public class WarmupProperties {
+    private boolean enabled = true;
+    //whole warm-up, preload and requests together; startup continues when it runs out
+    private Duration timeout = Duration.ofSeconds(30);
+    private int hotSetSize = 1_000;
+    private int batchSize = 100;
+    private int threads = 4;
+    //requests sent through the local server to get the controller paths compiled
+    private int requests = 500;
+    //recent getEmployeeById calls remembered to pick the hot set
+    private int accessLogCapacity = 16_384;
+    //hot set written here on shutdown and read on the next start; without it the newest ids are used
+    private String hotSetFile;
+}
@@ -0,0 +1,57 @@
+package br.com.brothertec.springboot.warmup;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+//recognises the warm-up's own requests, so they are neither rate limited nor counted as real reads. the token
+//is random per process and only sent to the local server, so a caller cannot claim to be the warm-up
+public class WarmupTraffic implements AsyncHandlerInterceptor {
+    public static final String TOKEN_HEADER = "X-Warmup-Token";
+    static final String TOKEN = newToken();
+
+    private static final String ATTRIBUTE = WarmupTraffic.class.getName();
+    private static final ThreadLocal<Boolean> CURRENT = new ThreadLocal<>();
+
+    public static boolean isWarmup(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(ATTRIBUTE));
+    }
+
+    //for code below the web layer, on the thread handling a warm-up request
+    public static boolean isCurrent() {
+        return CURRENT.get() != null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String token = request.getHeader(TOKEN_HEADER);
+        if (request.getDispatcherType() == DispatcherType.REQUEST && token != null
+                && MessageDigest.isEqual(token.getBytes(StandardCharsets.US_ASCII), TOKEN.getBytes(StandardCharsets.US_ASCII))) {
+            request.setAttribute(ATTRIBUTE, Boolean.TRUE);
+            CURRENT.set(Boolean.TRUE);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        CURRENT.remove();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        CURRENT.remove();
+    }
+
+    private static String newToken() {
+        byte[] token = new byte[16];
+        new SecureRandom().nextBytes(token);
+        return HexFormat.of().formatHex(token);
+    }
+}
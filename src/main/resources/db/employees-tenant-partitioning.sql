@@ -0,0 +1,12 @@
+-- One-off MySQL migration for existing databases: adds the tenant column with its
+-- tenant-leading indexes and (optionally) partitions the table by tenant.
+
+ALTER TABLE employees ADD COLUMN tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE employees ALTER COLUMN tenant_id DROP DEFAULT;
+
+CREATE INDEX idx_employees_tenant_email ON employees (tenant_id, email);
+CREATE INDEX idx_employees_tenant_name ON employees (tenant_id, first_name, last_name);
+
+-- Optional: MySQL requires the partitioning column in every unique key, primary key included.
+ALTER TABLE employees DROP PRIMARY KEY, ADD PRIMARY KEY (id, tenant_id);
+ALTER TABLE employees PARTITION BY KEY (tenant_id) PARTITIONS 16;
@@ -0,0 +1,12 @@
+-- Schema of every shard of the sharded employee store. Ids are generated by the
+-- application (they encode the owning shard), so there is no auto increment.
+create table if not exists employees (
+    id bigint not null primary key,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    email varchar(255) not null,
+    tenant_id varchar(64) not null,
+    version bigint not null default 0
+);
+create index idx_employees_tenant_email on employees (tenant_id, email);
+create index idx_employees_tenant_name on employees (tenant_id, first_name, last_name);
@@ -1,9 +1,9 @@
 package br.com.brothertec.springboot;
 
+import br.com.brothertec.springboot.integration.IntegrationTest;
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@IntegrationTest
 class SpringBootTestingApplicationTests {
 
 	@Test
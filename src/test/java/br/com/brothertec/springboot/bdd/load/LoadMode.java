@@ -0,0 +1,71 @@
+package br.com.brothertec.springboot.bdd.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//the step definitions run unchanged functionally; under load they must not clash with concurrent scenarios
+public final class LoadMode {
+    //employees created under load, by their resource url, so the run can delete them when it ends
+    private static final ConcurrentLinkedQueue<String> CREATED = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger UNDELETED = new AtomicInteger();
+
+    private LoadMode() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("load.enabled");
+    }
+
+    //-Dload.base-url=http://host:8080 targets a running app instead of the one the test context starts
+    public static boolean isRemote() {
+        return System.getProperty("load.base-url") != null;
+    }
+
+    public static String baseUrl(int localPort) {
+        String baseUrl = System.getProperty("load.base-url");
+        if (baseUrl == null) {
+            return "http://localhost:" + localPort;
+        }
+        return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public static String email(String email) {
+        if (!isEnabled()) {
+            return email;
+        }
+        int at = email.indexOf('@');
+        return email.substring(0, at) + "+" + UUID.randomUUID() + email.substring(at);
+    }
+
+    public static void created(String employeeUrl) {
+        if (isEnabled()) {
+            CREATED.add(employeeUrl);
+        }
+    }
+
+    //deletes through the api, which works for a remote target too; must run while the target is still up
+    public static void deleteCreated() throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        for (String url; (url = CREATED.poll()) != null; ) {
+            try {
+                HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(url)).DELETE().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 != 2) {
+                    UNDELETED.incrementAndGet();
+                }
+            } catch (IOException e) {
+                UNDELETED.incrementAndGet();
+            }
+        }
+    }
+
+    public static int undeleted() {
+        return UNDELETED.get();
+    }
+}
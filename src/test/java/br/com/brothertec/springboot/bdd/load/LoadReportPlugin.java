@@ -0,0 +1,64 @@
+package br.com.brothertec.springboot.bdd.load;
+
+import br.com.brothertec.springboot.ratelimit.TokenBucket;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+//paces scenario starts to the target rate and records each scenario's latency (sum of its steps) and outcome
+public class LoadReportPlugin implements ConcurrentEventListener {
+    private static final ConcurrentLinkedQueue<Long> LATENCIES = new ConcurrentLinkedQueue<>();
+    private static final LongAdder ERRORS = new LongAdder();
+    private static volatile TokenBucket pacer;
+
+    private final Map<TestCase, Long> stepNanos = new ConcurrentHashMap<>();
+
+    public static void reset(double scenariosPerSecond) {
+        LATENCIES.clear();
+        ERRORS.reset();
+        pacer = new TokenBucket(scenariosPerSecond, 1);
+    }
+
+    public static long[] latencies() {
+        long[] latencies = LATENCIES.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    public static long errors() {
+        return ERRORS.sum();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+    }
+
+    //handlers run on the scenario's own thread, so waiting here holds the scenario back
+    private void onTestCaseStarted(TestCaseStarted event) {
+        TokenBucket current = pacer;
+        while (current != null && !current.tryAcquire()) {
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        stepNanos.merge(event.getTestCase(), event.getResult().getDuration().toNanos(), Long::sum);
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        Long nanos = stepNanos.remove(event.getTestCase());
+        LATENCIES.add(nanos == null ? 0L : nanos);
+        if (event.getResult().getStatus() != Status.PASSED) {
+            ERRORS.increment();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.brothertec.springboot.bdd.load;
+
+import io.cucumber.core.cli.Main;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//mvn test -Pload [-Dload.threads=8 -Dload.rate=100 -Dload.iterations=50 -Dload.max-p95-ms=250]
+//  [-Dload.base-url=http://host:8080 to load a running app instead of the one started here]
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+public class ScenarioLoadTests {
+
+    private static final String GLUE = "br.com.brothertec.springboot.bdd.steps";
+
+    @DisplayName("Cucumber scenarios under concurrent load stay within the latency and error thresholds")
+    @Test
+    public void givenFeatureScenarios_whenRunConcurrently_thenThresholdsHold() {
+        //given - precondition or setup
+        int threads = Integer.getInteger("load.threads", 4);
+        int iterations = Integer.getInteger("load.iterations", 20);
+        double rate = Double.parseDouble(System.getProperty("load.rate", "50"));
+        long maxP95Millis = Long.getLong("load.max-p95-ms", 500);
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0"));
+        LoadReportPlugin.reset(rate);
+
+        //when - action or the behavior that we are going test
+        long startedAt = System.nanoTime();
+        int brokenRuns = 0;
+        for (int i = 0; i < iterations; i++) {
+            long errorsBefore = LoadReportPlugin.errors();
+            byte exitStatus = Main.run(new String[]{
+                    "--threads", String.valueOf(threads),
+                    "--glue", GLUE,
+                    "--plugin", LoadReportPlugin.class.getName(),
+                    "classpath:features"
+            }, Thread.currentThread().getContextClassLoader());
+            //failed scenarios are judged by the error rate; a failure none of them explains is the run itself breaking
+            if (exitStatus != 0 && LoadReportPlugin.errors() == errorsBefore) {
+                brokenRuns++;
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+        int leftovers = LoadMode.undeleted();
+
+        //then - verify the output
+        long[] latencies = LoadReportPlugin.latencies();
+        long errors = LoadReportPlugin.errors();
+        double errorRate = latencies.length == 0 ? 1 : (double) errors / latencies.length;
+        System.out.printf("%nscenarios=%d errors=%d broken-runs=%d throughput=%.1f/s p50=%dms p95=%dms p99=%dms max=%dms%n",
+                latencies.length, errors, brokenRuns, latencies.length / elapsedSeconds,
+                percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.95),
+                percentileMillis(latencies, 0.99), percentileMillis(latencies, 1.0));
+
+        assertThat(brokenRuns).isZero();
+        assertThat(leftovers).as("employees the run could not delete").isZero();
+        assertThat(latencies).isNotEmpty();
+        assertThat(errorRate).isLessThanOrEqualTo(maxErrorRate);
+        assertThat(percentileMillis(latencies, 0.95)).isLessThanOrEqualTo(maxP95Millis);
+    }
+
+    private static long percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000;
+    }
+}
@@ -1,29 +1,35 @@
 package br.com.brothertec.springboot.bdd.steps;
 
+import br.com.brothertec.springboot.bdd.load.LoadMode;
 import br.com.brothertec.springboot.model.Employee;
 import br.com.brothertec.springboot.repository.EmployeeRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
 import io.cucumber.java.pt.Dado;
 import io.cucumber.java.pt.Entao;
 import io.cucumber.java.pt.Quando;
 import org.assertj.core.api.Assertions;
-import org.hamcrest.CoreMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.test.web.servlet.ResultActions;
-import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
-import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
-import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.List;
 
+//over real http, to the app the test context started or, with load.base-url, to a running one
 public class EmployeeSteps extends CucumberSpringIntegration {
+    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
 
-    @Autowired
-    private MockMvc mockMvc;
+    @LocalServerPort
+    private int port;
 
     @Autowired
     private EmployeeRepository employeeRepository;
@@ -33,11 +39,27 @@ public class EmployeeSteps extends CucumberSpringIntegration {
 
     private Employee employee1;
     private Employee employee2;
-    private ResultActions resultActions;
+    private HttpResponse<String> response;
 
     @Before
     public void setup() {
-        employeeRepository.deleteAll();
+        if (!LoadMode.isEnabled()) {
+            employeeRepository.deleteAll();
+        }
+    }
+
+    //scenarios commit their data, leave the shared container database clean for the other suites
+    @After
+    public void tearDown() {
+        if (!LoadMode.isEnabled()) {
+            employeeRepository.deleteAll();
+        }
+    }
+
+    //after each run under load, while the app it targets is still up, so repeated runs do not grow the table
+    @AfterAll
+    public static void deleteCreatedEmployees() throws InterruptedException {
+        LoadMode.deleteCreated();
     }
 
     @Dado("um funcionario")
@@ -45,73 +67,102 @@ public class EmployeeSteps extends CucumberSpringIntegration {
         employee1 = Employee.builder()
                 .firstName("Everson")
                 .lastName("Santos")
-                .email("rhevs@teste.com")
+                .email(LoadMode.email("rhevs@teste.com"))
                 .build();
     }
 
     @Quando("enviar uma requisicao do tipo POST para o recurso {string}")
     public void enviar_uma_requisicao_do_tipo_post_para_o_recurso(String recurso) throws Exception {
-        resultActions =
-                mockMvc.perform(MockMvcRequestBuilders.post(recurso)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(employee1)));
+        response = post(recurso, employee1);
     }
 
     @Entao("deve ser retornado o stutas code {int}")
-    public void deve_ser_retornado_o_stutas_code(Integer status) throws Exception {
-        resultActions.andDo(MockMvcResultHandlers.print())
-                .andExpect(MockMvcResultMatchers.status().is(status));
+    public void deve_ser_retornado_o_stutas_code(Integer status) {
+        Assertions.assertThat(response.statusCode()).isEqualTo(status);
     }
 
     @Entao("no response deve conter o funcionario salvo")
-    public void no_response_deve_conter_o_funcionario_salvo() throws Exception {
-        resultActions
-                .andExpect(MockMvcResultMatchers.jsonPath("$.id",
-                        CoreMatchers.notNullValue()))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName",
-                        CoreMatchers.is(employee1.getFirstName())))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.lastName",
-                        CoreMatchers.is(employee1.getLastName())))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.email",
-                        CoreMatchers.is(employee1.getEmail())));
+    public void no_response_deve_conter_o_funcionario_salvo() {
+        String body = response.body();
+        Assertions.assertThat((Object) JsonPath.read(body, "$.id")).isNotNull();
+        Assertions.assertThat((String) JsonPath.read(body, "$.firstName")).isEqualTo(employee1.getFirstName());
+        Assertions.assertThat((String) JsonPath.read(body, "$.lastName")).isEqualTo(employee1.getLastName());
+        Assertions.assertThat((String) JsonPath.read(body, "$.email")).isEqualTo(employee1.getEmail());
     }
 
     @Entao("deve ser persistido na base de dados o funcionario")
-    public void deve_ser_persistido_na_base_de_dados_o_funcionario() {
+    public void deve_ser_persistido_na_base_de_dados_o_funcionario() throws Exception {
+        if (LoadMode.isRemote()) {
+            //a running app's database is out of reach, so read it back through its api
+            HttpResponse<String> found = send(HttpRequest.newBuilder(
+                    uri("/api/employees/" + JsonPath.read(response.body(), "$.id"))).GET());
+            Assertions.assertThat(found.statusCode()).isEqualTo(200);
+            Assertions.assertThat((String) JsonPath.read(found.body(), "$.email")).isEqualTo(employee1.getEmail());
+            return;
+        }
         Assertions.assertThat(
                         employeeRepository.findByEmail(employee1.getEmail()).get())
                 .isNotNull();
     }
 
     @Dado("dois funcionarios salvos")
-    public void dois_funcionarios_salvos() {
+    public void dois_funcionarios_salvos() throws Exception {
         employee1 = Employee.builder()
                 .firstName("Everson")
                 .lastName("Santos")
-                .email("rhevs@teste.com")
+                .email(LoadMode.email("rhevs@teste.com"))
                 .build();
 
         employee2 = Employee.builder()
                 .firstName("Romulo")
                 .lastName("Gomes")
-                .email("romulo@teste.com")
+                .email(LoadMode.email("romulo@teste.com"))
                 .build();
 
         List<Employee> listaEmployees = List.of(employee1, employee2);
 
+        if (LoadMode.isRemote()) {
+            for (Employee employee : listaEmployees) {
+                Assertions.assertThat(post("/api/employees", employee).statusCode()).isEqualTo(201);
+            }
+            return;
+        }
         employeeRepository.saveAll(listaEmployees);
+        listaEmployees.forEach(employee -> LoadMode.created(uri("/api/employees/" + employee.getId()).toString()));
     }
 
     @Entao("no response deve conter a lista de funcionarios")
-    public void no_response_deve_conter_a_lista_de_funcionarios() throws Exception {
-        resultActions
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()",
-                        CoreMatchers.is(2)));
+    public void no_response_deve_conter_a_lista_de_funcionarios() {
+        int size = JsonPath.read(response.body(), "$.length()");
+        //other scenarios keep adding employees while under load
+        if (LoadMode.isEnabled()) {
+            Assertions.assertThat(size).isGreaterThanOrEqualTo(2);
+        } else {
+            Assertions.assertThat(size).isEqualTo(2);
+        }
     }
 
     @Quando("enviar uma requisicao do tipo GET para o recurso {string}")
     public void enviar_uma_requisicao_do_tipo_get_para_o_recurso(String recurso) throws Exception {
-        resultActions =
-                mockMvc.perform(MockMvcRequestBuilders.get(recurso));
+        response = send(HttpRequest.newBuilder(uri(recurso)).GET());
+    }
+
+    private HttpResponse<String> post(String recurso, Employee employee) throws Exception {
+        HttpResponse<String> created = send(HttpRequest.newBuilder(uri(recurso))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(employee))));
+        if (created.statusCode() == 201) {
+            LoadMode.created(uri(recurso + "/" + JsonPath.read(created.body(), "$.id")).toString());
+        }
+        return created;
+    }
+
+    private URI uri(String path) {
+        return URI.create(LoadMode.baseUrl(port) + path);
+    }
+
+    private static HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return HTTP_CLIENT.send(request.header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE).build(),
+                HttpResponse.BodyHandlers.ofString());
     }
 }
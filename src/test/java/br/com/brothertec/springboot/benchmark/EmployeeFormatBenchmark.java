@@ -0,0 +1,87 @@
+package br.com.brothertec.springboot.benchmark;
+
+import br.com.brothertec.springboot.model.Employee;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+//compares payload bytes and serialize/deserialize cost of the employee list per wire format
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EmployeeFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private JavaType listType;
+    private List<Employee> employees;
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = switch (format) {
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            default -> new ObjectMapper();
+        };
+        listType = objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class);
+
+        employees = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            employees.add(Employee.builder()
+                    .id(i)
+                    .firstName("Romulo" + i)
+                    .lastName("Gomes" + i)
+                    .email("romulo" + i + "@teste.com")
+                    .build());
+        }
+        payload = objectMapper.writeValueAsBytes(employees);
+
+        System.out.printf("%n[%s] %d employees: %d bytes, %d bytes gzipped%n",
+                format, size, payload.length, gzippedSize(payload));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<Employee> deserialize() throws IOException {
+        return objectMapper.readValue(payload, listType);
+    }
+
+    private static int gzippedSize(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeFormatBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.brothertec.springboot.benchmark;
+
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.dto.PartialEmployeeDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//full rows vs fields=id,email for a large list: read from an H2 table, then serialized to JSON
+//setup prints the payload size of each so the bytes saved show up next to the latencies
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EmployeeProjectionBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private Connection connection;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setup() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:projection-" + rows + ";DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists employees (id bigint primary key, first_name varchar(255) not null, "
+                    + "last_name varchar(255) not null, email varchar(255) not null)");
+            statement.execute("delete from employees");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("insert into employees values (?, ?, ?, ?)")) {
+            for (long i = 1; i <= rows; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, "Romulo" + i);
+                insert.setString(3, "Gomes" + i);
+                insert.setString(4, "romulo" + i + "@teste.com");
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        writer = new ObjectMapper().writer();
+        System.out.printf("%n%d rows: full rows %d bytes, id+email %d bytes%n", rows, fullRows().length, idAndEmail().length);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public byte[] fullRows() throws SQLException, JsonProcessingException {
+        List<EmployeeDto> employees = new ArrayList<>(rows);
+        try (PreparedStatement select = connection.prepareStatement(
+                "select id, first_name, last_name, email from employees order by id");
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                employees.add(new EmployeeDto(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), null));
+            }
+        }
+        return writer.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] idAndEmail() throws SQLException, JsonProcessingException {
+        List<PartialEmployeeDto> employees = new ArrayList<>(rows);
+        try (PreparedStatement select = connection.prepareStatement("select id, email from employees order by id");
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                employees.add(new PartialEmployeeDto(rs.getLong(1), null, null, rs.getString(2)));
+            }
+        }
+        return writer.writeValueAsBytes(employees);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeProjectionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
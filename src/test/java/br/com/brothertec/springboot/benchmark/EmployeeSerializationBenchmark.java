@@ -0,0 +1,75 @@
+package br.com.brothertec.springboot.benchmark;
+
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.model.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//entity (bean introspection) vs record DTO (hand-written serializer); main() attaches the GC profiler for alloc rates
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"100"})
+    public int size;
+
+    private ObjectWriter writer;
+    private Employee employee;
+    private List<Employee> employees;
+
+    @Setup
+    public void setup() {
+        writer = new ObjectMapper().writer();
+        employees = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            employees.add(Employee.builder()
+                    .id(i)
+                    .firstName("Romulo" + i)
+                    .lastName("Gomes" + i)
+                    .email("romulo" + i + "@teste.com")
+                    .build());
+        }
+        employee = employees.get(0);
+    }
+
+    @Benchmark
+    public byte[] entity() throws JsonProcessingException {
+        return writer.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] dto() throws JsonProcessingException {
+        return writer.writeValueAsBytes(EmployeeDto.from(employee));
+    }
+
+    @Benchmark
+    public byte[] entityList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] dtoList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(EmployeeDto.fromAll(employees));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
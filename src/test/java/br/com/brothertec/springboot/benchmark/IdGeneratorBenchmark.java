@@ -0,0 +1,53 @@
+package br.com.brothertec.springboot.benchmark;
+
+import br.com.brothertec.springboot.id.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//id allocation throughput on one node; the plain counter is the lower bound for a shared atomic
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IdGeneratorBenchmark {
+
+    private SnowflakeIdGenerator snowflake;
+    private AtomicLong counter;
+
+    @Setup
+    public void setup() {
+        snowflake = new SnowflakeIdGenerator(1);
+        counter = new AtomicLong();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long snowflakeSingleThread() {
+        return snowflake.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long snowflakeContended() {
+        return snowflake.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long atomicCounterContended() {
+        return counter.incrementAndGet();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IdGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
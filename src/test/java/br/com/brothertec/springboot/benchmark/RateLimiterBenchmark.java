@@ -0,0 +1,72 @@
+package br.com.brothertec.springboot.benchmark;
+
+import br.com.brothertec.springboot.ratelimit.AdaptiveConcurrencyLimiter;
+import br.com.brothertec.springboot.ratelimit.ClientRateLimiter;
+import br.com.brothertec.springboot.ratelimit.RateLimitProperties;
+import br.com.brothertec.springboot.ratelimit.TokenBucket;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+//hot-path cost of admission control under contention
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RateLimiterBenchmark {
+
+    //8 hot clients, a table near its default bound, and churn well past it so eviction runs
+    @Param({"8", "10000", "100000"})
+    private int clients;
+
+    private String[] clientIds;
+    private TokenBucket tokenBucket;
+    private ClientRateLimiter clientRateLimiter;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Setup
+    public void setup() {
+        tokenBucket = new TokenBucket(1_000_000_000, 1_000_000);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaults().setPermitsPerSecond(1_000_000_000);
+        properties.getDefaults().setBurst(1_000_000);
+        clientRateLimiter = new ClientRateLimiter(properties.getDefaults(), properties.getMaxClientsPerEndpoint());
+        clientIds = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            clientIds[i] = "client-" + i;
+        }
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(4, 1_000, TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Benchmark
+    public boolean sharedTokenBucket() {
+        return tokenBucket.tryAcquire();
+    }
+
+    @Benchmark
+    public boolean perClientTokenBucket() {
+        return clientRateLimiter.tryAcquire(clientIds[ThreadLocalRandom.current().nextInt(clientIds.length)]);
+    }
+
+    @Benchmark
+    public boolean concurrencyLimiterRoundTrip() {
+        boolean acquired = concurrencyLimiter.tryAcquire();
+        if (acquired) {
+            concurrencyLimiter.release(1_000);
+        }
+        return acquired;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimiterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
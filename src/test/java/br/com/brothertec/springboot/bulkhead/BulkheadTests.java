@@ -0,0 +1,104 @@
+package br.com.brothertec.springboot.bulkhead;
+
+import br.com.brothertec.springboot.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BulkheadTests {
+
+    private final Bulkhead bulkhead = new Bulkhead("scan", 1, 1);
+
+    @AfterEach
+    public void tearDown() {
+        bulkhead.shutdown();
+    }
+
+    @DisplayName("Bulkhead runs the task and returns its result")
+    @Test
+    public void givenTask_whenCall_thenReturnResult() {
+        //when - action or the behavior that we are going test
+        String threadName = bulkhead.call(() -> Thread.currentThread().getName());
+
+        //then - verify the output
+        assertThat(threadName).startsWith("employees-scan-");
+    }
+
+    @DisplayName("Submitted task completes the future on a bulkhead thread")
+    @Test
+    public void givenTask_whenSubmit_thenFutureCompletesWithResult() throws Exception {
+        //when - action or the behavior that we are going test
+        CompletableFuture<String> threadName = bulkhead.submit(() -> Thread.currentThread().getName());
+
+        //then - verify the output
+        assertThat(threadName.get(5, TimeUnit.SECONDS)).startsWith("employees-scan-");
+    }
+
+    @DisplayName("Saturated bulkhead fails the submitted future")
+    @Test
+    public void givenSaturatedBulkhead_whenSubmit_thenFutureFailsWithBulkheadFullException() {
+        //given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+        bulkhead.submit(() -> {
+            await(release);
+            return null;
+        });
+        bulkhead.submit(() -> null);
+
+        //when - action or the behavior that we are going test
+        CompletableFuture<Object> rejected = bulkhead.submit(() -> null);
+        release.countDown();
+
+        //then - verify the output
+        assertThat(rejected).failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(BulkheadFullException.class);
+    }
+
+    @DisplayName("Saturated bulkhead rejects instead of queueing without bound")
+    @Test
+    public void givenSaturatedBulkhead_whenCall_thenThrowsBulkheadFullException() throws Exception {
+        //given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<Object> busy = CompletableFuture.supplyAsync(() -> bulkhead.call(() -> {
+            running.countDown();
+            await(release);
+            return null;
+        }));
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Object> queued = CompletableFuture.supplyAsync(() -> bulkhead.call(() -> null));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        bulkhead.bindTo(registry);
+        while (registry.get("employees.bulkhead.queued").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        //when - action or the behavior that we are going test
+        assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> null));
+        release.countDown();
+        busy.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+
+        //then - verify the output
+        assertThat(registry.get("employees.bulkhead.rejected").functionCounter().count()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package br.com.brothertec.springboot.bulkimport;
+
+import br.com.brothertec.springboot.exception.InvalidCsvException;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.repository.EmployeeRepository;
+import br.com.brothertec.springboot.repository.ImportCheckpointRepository;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+//chunks commit in their own transactions, so the test itself runs without one
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeCsvImporterTests {
+
+    private static final String CSV = """
+            first_name,last_name,email
+            Romulo,Gomes,romulo@teste.com
+            Nayra,Cruz,nayra@teste.com
+            "Stark, Jr.",Tony,"tony@teste.com"
+            Romulo,Gomes,romulo@teste.com
+            ,Nobody,nobody@teste.com
+            Pepper,Potts,not-an-email
+            Bruce,Banner,bruce@teste.com
+            Natasha,Romanoff,natasha@teste.com
+            """;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ImportCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeCsvImporter importer;
+
+    @BeforeEach
+    public void setup() {
+        TenantContext.setTenantId("import");
+        CsvImportProperties properties = new CsvImportProperties();
+        //tiny blocks and chunks so a handful of rows crosses several of both
+        properties.setBlockSize(64);
+        properties.setChunkSize(10);
+        importer = new EmployeeCsvImporter(employeeRepository, checkpointRepository, transactionManager, properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        importer.destroy();
+        employeeRepository.deleteAll();
+        checkpointRepository.deleteAll();
+        TenantContext.clear();
+    }
+
+    private static ReadableByteChannel channel(String csv) {
+        return Channels.newChannel(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    //fails like a dropped upload once the given number of bytes has been read
+    private static ReadableByteChannel failingAfter(String csv, int bytes) {
+        ReadableByteChannel channel = channel(csv);
+        return new ReadableByteChannel() {
+            private int read;
+
+            @Override
+            public int read(ByteBuffer destination) throws IOException {
+                if (read >= bytes) {
+                    throw new IOException("connection reset");
+                }
+                ByteBuffer limited = destination.slice().limit(Math.min(destination.remaining(), bytes - read));
+                int count = channel.read(limited);
+                if (count > 0) {
+                    destination.position(destination.position() + count);
+                    read += count;
+                }
+                return count;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    @DisplayName("Valid rows are imported, duplicates and invalid rows are counted")
+    @Test
+    public void givenCsvWithDuplicatesAndInvalidRows_whenImport_thenOnlyValidUniqueRowsSaved() throws IOException {
+        //given - precondition or setup
+        employeeRepository.save(Employee.builder()
+                .firstName("Bruce")
+                .lastName("Banner")
+                .email("bruce@teste.com")
+                .build());
+
+        //when - action or the behavior that we are going test
+        CsvImportResult result = importer.importCsv(channel(CSV), null);
+
+        //then - verify the output
+        assertThat(result.rowsRead()).isEqualTo(8);
+        assertThat(result.imported()).isEqualTo(4);
+        assertThat(result.duplicates()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.errors()).hasSize(2);
+        assertThat(employeeRepository.findAll()).hasSize(5);
+        assertThat(employeeRepository.findByEmail("tony@teste.com").get().getFirstName()).isEqualTo("Stark, Jr.");
+    }
+
+    @DisplayName("Interrupted import resumes from its checkpoint without duplicating rows")
+    @Test
+    public void givenInterruptedImport_whenRerunWithSameImportId_thenContinuesFromCheckpoint() throws IOException {
+        //given - precondition or setup
+        StringBuilder csv = new StringBuilder("first_name,last_name,email\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append("First").append(i).append(",Last").append(i).append(",employee").append(i).append("@teste.com\n");
+        }
+        //well past the blocks read ahead of the first committed chunks
+        assertThrows(IOException.class, () -> importer.importCsv(failingAfter(csv.toString(), csv.length() / 2), "hr-2023"));
+        long committedOffset = checkpointRepository.findById("hr-2023").get().getByteOffset();
+
+        //when - action or the behavior that we are going test
+        CsvImportResult result = importer.importCsv(channel(csv.toString()), "hr-2023");
+
+        //then - verify the output
+        assertThat(committedOffset).isPositive();
+        assertThat(result.resumedFromOffset()).isEqualTo(committedOffset);
+        assertThat(result.rowsRead()).isEqualTo(200);
+        assertThat(result.imported()).isEqualTo(200);
+        assertThat(result.duplicates()).isZero();
+        assertThat(employeeRepository.findAll()).hasSize(200);
+        assertThat(checkpointRepository.findById("hr-2023").get().isCompleted()).isTrue();
+    }
+
+    @DisplayName("Import id of an interrupted import refuses a different file")
+    @Test
+    public void givenInterruptedImport_whenRerunWithOtherFile_thenThrowsInvalidCsvException() {
+        //given - precondition or setup
+        StringBuilder csv = new StringBuilder("first_name,last_name,email\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append("First").append(i).append(",Last").append(i).append(",employee").append(i).append("@teste.com\n");
+        }
+        assertThrows(IOException.class, () -> importer.importCsv(failingAfter(csv.toString(), csv.length() / 2), "hr-2023"));
+        long committedOffset = checkpointRepository.findById("hr-2023").get().getByteOffset();
+        String otherFile = csv.toString().replace("First0,", "Other0,");
+
+        //when - action or the behavior that we are going test
+        InvalidCsvException rejected = assertThrows(InvalidCsvException.class,
+                () -> importer.importCsv(channel(otherFile), "hr-2023"));
+
+        //then - verify the output
+        assertThat(rejected.getMessage()).contains("different file");
+        assertThat(checkpointRepository.findById("hr-2023").get().getByteOffset()).isEqualTo(committedOffset);
+    }
+
+    @DisplayName("Completed import is not run again under the same import id")
+    @Test
+    public void givenCompletedImport_whenRerunWithSameImportId_thenThrowsInvalidCsvException() throws IOException {
+        //given - precondition or setup
+        importer.importCsv(channel(CSV), "hr-2023");
+        employeeRepository.deleteAll();
+
+        //when - action or the behavior that we are going test
+        InvalidCsvException rejected = assertThrows(InvalidCsvException.class,
+                () -> importer.importCsv(channel(CSV), "hr-2023"));
+
+        //then - verify the output
+        assertThat(rejected.getMessage()).contains("already completed");
+        assertThat(employeeRepository.findAll()).isEmpty();
+    }
+
+    @DisplayName("CSV without the required columns is rejected")
+    @Test
+    public void givenCsvWithoutEmailColumn_whenImport_thenThrowsInvalidCsvException() {
+        assertThrows(InvalidCsvException.class,
+                () -> importer.importCsv(channel("first_name,last_name\nRomulo,Gomes\n"), null));
+    }
+}
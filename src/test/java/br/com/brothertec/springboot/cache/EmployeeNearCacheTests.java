@@ -0,0 +1,130 @@
+package br.com.brothertec.springboot.cache;
+
+import br.com.brothertec.springboot.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeNearCacheTests {
+
+    private static final String TENANT = "default";
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private LoopbackInvalidationBus bus;
+    private EmployeeNearCache nodeA;
+    private EmployeeNearCache nodeB;
+
+    //stands in for the database row
+    private Employee row;
+
+    @BeforeEach
+    public void setup() {
+        bus = new LoopbackInvalidationBus();
+        nodeA = new EmployeeNearCache(bus, 100, Duration.ofSeconds(60), clock::get);
+        nodeB = new EmployeeNearCache(bus, 100, Duration.ofSeconds(60), clock::get);
+        row = Employee.builder()
+                .id(1L)
+                .firstName("Romulo")
+                .lastName("Gomes")
+                .email("romulo@teste.com")
+                .tenantId(TENANT)
+                .build();
+    }
+
+    private Optional<Employee> load() {
+        loads.incrementAndGet();
+        return Optional.of(Employee.builder()
+                .id(row.getId())
+                .firstName(row.getFirstName())
+                .lastName(row.getLastName())
+                .email(row.getEmail())
+                .tenantId(row.getTenantId())
+                .build());
+    }
+
+    @DisplayName("Second read is served from the cache as an independent copy")
+    @Test
+    public void givenCachedEmployee_whenGetAndModify_thenCacheIsUnaffected() {
+        //given - precondition or setup
+        nodeA.get(TENANT, 1L, this::load);
+
+        //when - action or the behavior that we are going test
+        Employee cached = nodeA.get(TENANT, 1L, this::load).get();
+        cached.setEmail("changed@teste.com");
+
+        //then - verify the output
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(nodeA.get(TENANT, 1L, this::load).get().getEmail()).isEqualTo("romulo@teste.com");
+    }
+
+    @DisplayName("Write on one node invalidates the entry on the others")
+    @Test
+    public void givenEntryCachedOnTwoNodes_whenInvalidateOnOne_thenOtherReloads() {
+        //given - precondition or setup
+        nodeA.get(TENANT, 1L, this::load);
+        nodeB.get(TENANT, 1L, this::load);
+
+        //when - action or the behavior that we are going test
+        row.setEmail("rominho@gmail.com");
+        nodeA.invalidate(TENANT, 1L);
+
+        //then - verify the output
+        assertThat(nodeB.get(TENANT, 1L, this::load).get().getEmail()).isEqualTo("rominho@gmail.com");
+        assertThat(nodeA.get(TENANT, 1L, this::load).get().getEmail()).isEqualTo("rominho@gmail.com");
+    }
+
+    @DisplayName("Load that overlaps an invalidation does not repopulate the stale value")
+    @Test
+    public void givenInvalidationDuringLoad_whenLoadCompletes_thenValueIsNotCached() {
+        //given - precondition or setup
+        Optional<Employee> stale = load();
+
+        //when - action or the behavior that we are going test
+        nodeB.get(TENANT, 1L, () -> {
+            //the row changes and node A broadcasts after this read already saw the old value
+            row.setEmail("rominho@gmail.com");
+            nodeA.invalidate(TENANT, 1L);
+            return stale;
+        });
+
+        //then - verify the output
+        assertThat(nodeB.get(TENANT, 1L, this::load).get().getEmail()).isEqualTo("rominho@gmail.com");
+    }
+
+    @DisplayName("Entry expires after the ttl even without an invalidation")
+    @Test
+    public void givenCachedEmployee_whenTtlElapses_thenReloads() {
+        //given - precondition or setup
+        nodeA.get(TENANT, 1L, this::load);
+
+        //when - action or the behavior that we are going test
+        clock.addAndGet(Duration.ofSeconds(61).toNanos());
+        nodeA.get(TENANT, 1L, this::load);
+
+        //then - verify the output
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @DisplayName("Entries of different tenants never collide")
+    @Test
+    public void givenSameIdInTwoTenants_whenGet_thenEachTenantLoadsItsOwn() {
+        //given - precondition or setup
+        nodeA.get(TENANT, 1L, this::load);
+
+        //when - action or the behavior that we are going test
+        nodeA.get("acme", 1L, this::load);
+
+        //then - verify the output
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(nodeA.size()).isEqualTo(2);
+    }
+}
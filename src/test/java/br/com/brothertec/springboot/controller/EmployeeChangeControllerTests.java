@@ -0,0 +1,141 @@
+package br.com.brothertec.springboot.controller;
+
+import br.com.brothertec.springboot.event.EmployeeChangedEvent;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.stream.EmployeeChangeStream;
+import br.com.brothertec.springboot.tenant.TenantFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EmployeeChangeController.class)
+@Import(EmployeeChangeStream.class)
+public class EmployeeChangeControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeChangeStream employeeChangeStream;
+
+    @DisplayName("Subscriber receives committed changes of its tenant only")
+    @Test
+    public void givenSubscriber_whenEmployeesChange_thenStreamsChangesOfItsTenant() throws Exception {
+        //given - precondition or setup
+        MvcResult result = mockMvc.perform(get("/api/employees/changes").header(TenantFilter.TENANT_HEADER, "acme"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //when - action or the behavior that we are going test
+        employeeChangeStream.onEmployeeChanged(EmployeeChangedEvent.inserted(employee(2L, "globex", "john@teste.com")));
+        employeeChangeStream.onEmployeeChanged(EmployeeChangedEvent.inserted(employee(1L, "acme", "romulo@teste.com")));
+
+        //then - verify the output
+        String content = awaitContent(result, "romulo@teste.com");
+        assertThat(content).contains("event:inserted");
+        assertThat(content).doesNotContain("john@teste.com");
+    }
+
+    @DisplayName("Reconnecting subscriber resumes after its Last-Event-ID")
+    @Test
+    public void givenLastEventId_whenSubscribe_thenReplaysOnlyLaterChanges() throws Exception {
+        //given - precondition or setup
+        MvcResult first = mockMvc.perform(get("/api/employees/changes"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        employeeChangeStream.onEmployeeChanged(EmployeeChangedEvent.inserted(employee(1L, "default", "romulo@teste.com")));
+        String seen = awaitContent(first, "romulo@teste.com");
+        employeeChangeStream.onEmployeeChanged(EmployeeChangedEvent.deleted(employee(1L, "default", "romulo@teste.com")));
+
+        //when - action or the behavior that we are going test
+        MvcResult resumed = mockMvc.perform(get("/api/employees/changes").header("Last-Event-ID", lastId(seen)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then - verify the output
+        String content = awaitContent(resumed, "event:deleted");
+        assertThat(content).doesNotContain("event:inserted");
+    }
+
+    @DisplayName("Subscriber resuming from an unknown event id is told to reload")
+    @Test
+    public void givenUnknownLastEventId_whenSubscribe_thenSendsReset() throws Exception {
+        //when - action or the behavior that we are going test
+        MvcResult result = mockMvc.perform(get("/api/employees/changes").param("lastEventId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then - verify the output
+        awaitContent(result, "event:reset");
+    }
+
+    @DisplayName("One client cannot open more than its share of subscriptions")
+    @Test
+    public void givenClientAtItsSubscriberCap_whenSubscribeAgain_thenTooManyRequests() throws Exception {
+        //given - precondition or setup
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/api/employees/changes").with(remoteAddress("10.0.0.44")))
+                    .andExpect(request().asyncStarted());
+        }
+
+        //when - action or the behavior that we are going test
+        ResultActions sameClient = mockMvc.perform(get("/api/employees/changes").with(remoteAddress("10.0.0.44")));
+        ResultActions otherClient = mockMvc.perform(get("/api/employees/changes").with(remoteAddress("10.0.0.45")));
+
+        //then - verify the output
+        sameClient.andExpect(status().isTooManyRequests());
+        otherClient.andExpect(request().asyncStarted());
+        assertThat(employeeChangeStream.getSubscriberCount("10.0.0.44")).isEqualTo(10);
+    }
+
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+
+    private static String lastId(String content) {
+        Matcher matcher = Pattern.compile("id:(\\d+)").matcher(content);
+        String id = null;
+        while (matcher.find()) {
+            id = matcher.group(1);
+        }
+        return id;
+    }
+
+    private static Employee employee(long id, String tenantId, String email) {
+        return Employee.builder()
+                .id(id)
+                .tenantId(tenantId)
+                .firstName("Romulo")
+                .lastName("Gomes")
+                .email(email)
+                .build();
+    }
+}
@@ -1,9 +1,19 @@
 package br.com.brothertec.springboot.controller;
 
+import br.com.brothertec.springboot.bulkimport.EmployeeCsvImporter;
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.dto.EmployeeField;
+import br.com.brothertec.springboot.dto.EmployeeStatsDto;
+import br.com.brothertec.springboot.dto.PartialEmployeeDto;
+import br.com.brothertec.springboot.exception.CircuitBreakerOpenException;
 import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.service.AsyncEmployeeService;
 import br.com.brothertec.springboot.service.EmployeeService;
+import br.com.brothertec.springboot.stats.EmployeeStatsAggregator;
+import br.com.brothertec.springboot.stream.EmployeeChangeStream;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,13 +24,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.*;
@@ -37,6 +53,18 @@ public class EmployeeControllerTests {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeStatsAggregator employeeStatsAggregator;
+
+    @MockBean
+    private EmployeeCsvImporter employeeCsvImporter;
+
+    @MockBean
+    private AsyncEmployeeService asyncEmployeeService;
+
+    @MockBean
+    private EmployeeChangeStream employeeChangeStream;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -86,7 +114,11 @@ public class EmployeeControllerTests {
                         .email("nayra@teste.com")
                         .build()
         );
-        given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
+        willAnswer(invocation -> {
+            Consumer<EmployeeDto> consumer = invocation.getArgument(0);
+            listOfEmployees.forEach(employee -> consumer.accept(EmployeeDto.from(employee)));
+            return null;
+        }).given(employeeService).streamAllEmployees(any());
 
         //when - action or the behavior that we are going test
         ResultActions response = mockMvc.perform(get("/api/employees"));
@@ -99,6 +131,170 @@ public class EmployeeControllerTests {
 
     }
 
+    @DisplayName("Get All employees as Smile")
+    @Test
+    public void givenListOfEmployees_whenGetAllEmployeesAcceptingSmile_thenReturnSmileEncodedList() throws Exception {
+        //given - precondition or setup
+        List<Employee> listOfEmployees = List.of(
+                Employee.builder()
+                        .id(1l)
+                        .firstName("Romulo")
+                        .lastName("Gomes")
+                        .email("romulo@teste.com")
+                        .build(),
+                Employee.builder()
+                        .id(2l)
+                        .firstName("Nayra")
+                        .lastName("Cruz")
+                        .email("nayra@teste.com")
+                        .build()
+        );
+        willAnswer(invocation -> {
+            Consumer<EmployeeDto> consumer = invocation.getArgument(0);
+            listOfEmployees.forEach(employee -> consumer.accept(EmployeeDto.from(employee)));
+            return null;
+        }).given(employeeService).streamAllEmployees(any());
+
+        //when - action or the behavior that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .accept("application/x-jackson-smile"));
+
+        //then - verify the output
+        byte[] body = response.andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        Employee[] employees = new ObjectMapper(new SmileFactory()).readValue(body, Employee[].class);
+        assertThat(employees).hasSize(listOfEmployees.size());
+        assertThat(employees[0].getEmail()).isEqualTo("romulo@teste.com");
+    }
+
+    @DisplayName("Get All employees - database unavailable before the first row")
+    @Test
+    public void givenOpenCircuitBreaker_whenGetAllEmployees_thenReturnServiceUnavailable() throws Exception {
+        //given - precondition or setup
+        willThrow(new CircuitBreakerOpenException("Database circuit breaker is open"))
+                .given(employeeService).streamAllEmployees(any());
+
+        //when - action or the behavior that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees"));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isServiceUnavailable());
+        assertThat(response.andReturn().getResponse().getContentAsString()).doesNotStartWith("[");
+    }
+
+    @DisplayName("Get one page of employees")
+    @Test
+    public void givenPageAndSize_whenGetEmployees_thenReturnThatPage() throws Exception {
+        //given - precondition or setup
+        List<Employee> page = List.of(
+                Employee.builder()
+                        .id(3l)
+                        .firstName("Romulo")
+                        .lastName("Gomes")
+                        .email("romulo@teste.com")
+                        .build()
+        );
+        given(employeeService.getEmployees(1, 2)).willReturn(page);
+
+        //when - action or the behavior that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("page", "1")
+                .param("size", "2"));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(3)));
+    }
+
+    @DisplayName("Get one page of employees with only the selected fields")
+    @Test
+    public void givenFields_whenGetEmployees_thenReturnOnlyThoseFields() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getEmployees(0, 50, EnumSet.of(EmployeeField.ID, EmployeeField.EMAIL)))
+                .willReturn(List.of(new PartialEmployeeDto(3L, null, null, "romulo@teste.com")));
+
+        //when - action or the behavior that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("page", "0")
+                .param("fields", "id,email"));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(3)))
+                .andExpect(jsonPath("$[0].email", is("romulo@teste.com")))
+                .andExpect(jsonPath("$[0].firstName").doesNotExist());
+    }
+
+    @DisplayName("Unknown field is rejected")
+    @Test
+    public void givenUnknownField_whenGetEmployees_thenReturn400() throws Exception {
+        //when - action or the behavior that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("page", "0")
+                .param("fields", "id,salary"));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+        verify(employeeService, never()).getEmployees(anyInt(), anyInt(), any());
+    }
+
+    @DisplayName("Selected fields of the whole table are refused, they come in pages only")
+    @Test
+    public void givenFieldsWithoutPage_whenGetAllEmployees_thenReturn400() throws Exception {
+        //when - action or the behavior that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees").param("fields", "id,email"));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+        verify(employeeService, never()).getAllEmployees();
+        verify(employeeService, never()).streamAllEmployees(any());
+    }
+
+    @DisplayName("Oversized page is clamped to the largest page served")
+    @Test
+    public void givenHugePageSize_whenGetEmployees_thenSizeClamped() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getEmployees(0, EmployeeController.MAX_PAGE_SIZE,
+                EnumSet.of(EmployeeField.ID, EmployeeField.EMAIL))).willReturn(List.of());
+
+        //when - action or the behavior that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("page", "0")
+                .param("size", "1000000")
+                .param("fields", "id,email"));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk());
+        verify(employeeService).getEmployees(0, EmployeeController.MAX_PAGE_SIZE,
+                EnumSet.of(EmployeeField.ID, EmployeeField.EMAIL));
+    }
+
+    @DisplayName("Get employee stats")
+    @Test
+    public void givenStats_whenGetEmployeeStats_thenReturnAggregates() throws Exception {
+        //given - precondition or setup
+        given(employeeStatsAggregator.getStats()).willReturn(new EmployeeStatsDto(2,
+                Map.of("teste.com", 2L), Map.of("R", 1L, "N", 1L), Map.of("G", 1L, "C", 1L)));
+
+        //when - action or the behavior that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/stats"));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.byDomain['teste.com']", is(2)));
+        verify(employeeService, never()).streamAllEmployees(any());
+    }
+
     @DisplayName("Get employee by id - positive")
     @Test
     public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
@@ -212,4 +408,47 @@ public class EmployeeControllerTests {
                 .andExpect(content().string("Employee deleted successfully!"));
     }
 
+    @DisplayName("Async get employees by ids")
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIdsAsync_thenReturnFoundEmployees() throws Exception {
+        //given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Romulo")
+                .lastName("Gomes")
+                .email("romulo@teste.com")
+                .build();
+        given(asyncEmployeeService.getEmployeesByIds(List.of(1L, 2L)))
+                .willReturn(CompletableFuture.completedFuture(List.of(employee)));
+
+        //when - action or the behavior that we are going test
+        MvcResult started = mockMvc.perform(get("/api/async/employees").param("ids", "1", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(started));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].email", is(employee.getEmail())));
+    }
+
+    @DisplayName("Async get employee by id - negative")
+    @Test
+    public void givenInvalidEmployeeId_whenGetEmployeeByIdAsync_thenReturnEmpty() throws Exception {
+        //given - precondition or setup
+        given(asyncEmployeeService.getEmployeeById(1L))
+                .willReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        //when - action or the behavior that we are going test
+        MvcResult started = mockMvc.perform(get("/api/async/employees/{id}", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(started));
+
+        //then - verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
 }
@@ -0,0 +1,53 @@
+package br.com.brothertec.springboot.datagen;
+
+import br.com.brothertec.springboot.id.IdGeneratorConfig;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.repository.EmployeeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({EmployeeDataGenerator.class, IdGeneratorConfig.class})
+public class EmployeeDataGeneratorTests {
+
+    @Autowired
+    private EmployeeDataGenerator generator;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @DisplayName("Generate skewed employees with unique emails")
+    @Test
+    public void givenRowsAndSkew_whenGenerate_thenInsertRowsWithDuplicateNames() {
+        //given - precondition or setup
+        DataGeneratorProperties properties = new DataGeneratorProperties();
+        properties.setRows(5_000);
+        properties.setBatchSize(300);
+        properties.setThreads(1);
+        properties.setNameSkew(1.2);
+
+        //when - action or the behavior that we are going test
+        long inserted = generator.generate(properties);
+
+        //then - verify the output
+        List<Employee> employees = employeeRepository.findAll();
+        assertThat(inserted).isEqualTo(5_000);
+        assertThat(employees).hasSize(5_000);
+        assertThat(employees.stream().map(Employee::getEmail).distinct().count()).isEqualTo(5_000);
+
+        Map<String, Long> firstNames = employees.stream()
+                .collect(Collectors.groupingBy(Employee::getFirstName, Collectors.counting()));
+        long uniformShare = 5_000 / EmployeeDataGenerator.FIRST_NAMES.length;
+        assertThat(firstNames.get(EmployeeDataGenerator.FIRST_NAMES[0])).isGreaterThan(uniformShare * 3);
+    }
+}
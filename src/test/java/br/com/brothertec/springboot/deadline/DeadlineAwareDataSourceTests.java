@@ -0,0 +1,74 @@
+package br.com.brothertec.springboot.deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DeadlineAwareDataSourceTests {
+
+    //a cross join of 10^10 rows keeps H2 busy far longer than any deadline used here
+    private static final String SLOW_QUERY =
+            "select sum(a.x * b.x) from system_range(1, 100000) a, system_range(1, 100000) b";
+
+    private final DeadlineAwareDataSource dataSource = new DeadlineAwareDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1", "sa", ""));
+
+    @AfterEach
+    public void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @DisplayName("Slow query is cancelled when the request deadline passes")
+    @Test
+    public void givenRequestDeadline_whenSlowQuery_thenCancelledAtDeadline() throws SQLException {
+        //given - precondition or setup
+        RequestDeadline.startingNow(200);
+
+        //when - action or the behavior that we are going test
+        long startedAt = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            assertThrows(SQLException.class, () -> statement.executeQuery(SLOW_QUERY));
+        }
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        //then - verify the output
+        assertThat(elapsedMillis).isLessThan(5_000);
+    }
+
+    @DisplayName("Expired deadline fails before the statement reaches the database")
+    @Test
+    public void givenExpiredDeadline_whenCreateStatement_thenThrowsSQLTimeoutException() throws SQLException {
+        //given - precondition or setup
+        RequestDeadline.startingNow(-1);
+
+        //when - action or the behavior that we are going test
+        try (Connection connection = dataSource.getConnection()) {
+            //then - verify the output
+            assertThrows(SQLTimeoutException.class, () -> connection.prepareStatement("select 1"));
+        }
+    }
+
+    @DisplayName("Queries within the deadline are unaffected")
+    @Test
+    public void givenGenerousDeadline_whenFastQuery_thenReturnResult() {
+        //given - precondition or setup
+        RequestDeadline.startingNow(5_000);
+
+        //when - action or the behavior that we are going test
+        Integer result = new JdbcTemplate(dataSource).queryForObject("select 1", Integer.class);
+
+        //then - verify the output
+        assertThat(result).isEqualTo(1);
+    }
+}
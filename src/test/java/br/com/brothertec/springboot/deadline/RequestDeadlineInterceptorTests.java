@@ -0,0 +1,79 @@
+package br.com.brothertec.springboot.deadline;
+
+import br.com.brothertec.springboot.controller.EmployeeController;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestDeadlineInterceptorTests {
+
+    private RequestDeadlineInterceptor interceptor;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        //the shipped configuration, so a change to application.properties is caught here
+        DeadlineProperties properties = new Binder(ConfigurationPropertySources.from(
+                new ResourcePropertySource("classpath:application.properties")))
+                .bind("employees.deadline", DeadlineProperties.class)
+                .get();
+        interceptor = new RequestDeadlineInterceptor(properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @DisplayName("Full export gets a deadline of its own, longer than the list's")
+    @Test
+    public void givenShippedConfig_whenStreamingExport_thenDeadlineOutlastsListDeadline() throws Exception {
+        //given - precondition or setup
+        Method export = EmployeeController.class.getMethod("streamAllEmployees", List.class, HttpServletResponse.class);
+        Method list = EmployeeController.class.getMethod("getAllEmployees", String.class);
+
+        //when - action or the behavior that we are going test
+        long exportBudget = budgetFor(export);
+        long listBudget = budgetFor(list);
+
+        //then - verify the output
+        assertThat(listBudget).isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(10));
+        assertThat(exportBudget).isGreaterThan(TimeUnit.MINUTES.toNanos(10));
+    }
+
+    @DisplayName("Caller's timeout header still shortens the export")
+    @Test
+    public void givenTimeoutHeader_whenStreamingExport_thenHeaderWins() throws Exception {
+        //given - precondition or setup
+        Method export = EmployeeController.class.getMethod("streamAllEmployees", List.class, HttpServletResponse.class);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Request-Timeout", "500");
+
+        //when - action or the behavior that we are going test
+        interceptor.preHandle(request, new MockHttpServletResponse(), new HandlerMethod(new Object(), export));
+
+        //then - verify the output
+        assertThat(RequestDeadline.remainingNanos()).isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    private long budgetFor(Method method) {
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new HandlerMethod(new Object(), method));
+        long remaining = RequestDeadline.remainingNanos();
+        RequestDeadline.clear();
+        return remaining;
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.brothertec.springboot.dto;
+
+import br.com.brothertec.springboot.id.IdGeneratorConfig;
+import br.com.brothertec.springboot.id.IdGeneratorProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeIdSerializerTests {
+
+    private static final long ID = (1L << 53) + 1;
+
+    private static ObjectMapper objectMapper(boolean writeAsString) {
+        IdGeneratorProperties properties = new IdGeneratorProperties();
+        properties.setWriteAsString(writeAsString);
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new IdGeneratorConfig().idJsonShapeCustomizer(properties).customize(builder);
+        return builder.build();
+    }
+
+    @DisplayName("Ids are json numbers unless strings are asked for")
+    @Test
+    public void givenDefaultSettings_whenSerialize_thenIdIsNumber() throws IOException {
+        //given - precondition or setup
+        ObjectMapper objectMapper = objectMapper(false);
+
+        //when - action or the behavior that we are going test
+        JsonNode employee = objectMapper.readTree(objectMapper.writeValueAsString(
+                new EmployeeDto(ID, "Romulo", "Gomes", "romulo@teste.com", 0L)));
+
+        //then - verify the output
+        assertThat(employee.get("id").isNumber()).isTrue();
+        assertThat(employee.get("id").asLong()).isEqualTo(ID);
+    }
+
+    @DisplayName("Opted-in json gets exact string ids, full and partial employees alike")
+    @Test
+    public void givenWriteAsString_whenSerializeJson_thenIdIsExactString() throws IOException {
+        //given - precondition or setup
+        ObjectMapper objectMapper = objectMapper(true);
+
+        //when - action or the behavior that we are going test
+        JsonNode employees = objectMapper.readTree(objectMapper.writeValueAsString(List.of(
+                new EmployeeDto(ID, "Romulo", "Gomes", "romulo@teste.com", 0L),
+                new PartialEmployeeDto(ID, null, null, "romulo@teste.com"))));
+
+        //then - verify the output
+        assertThat(employees.get(0).get("id").textValue()).isEqualTo("9007199254740993");
+        assertThat(employees.get(1).get("id").textValue()).isEqualTo("9007199254740993");
+    }
+
+    @DisplayName("Binary encodings keep numeric ids even when json writes strings")
+    @Test
+    public void givenWriteAsString_whenSerializeSmile_thenIdIsNumber() throws IOException {
+        //given - precondition or setup
+        ObjectMapper smileMapper = objectMapper(true).copyWith(new SmileFactory());
+
+        //when - action or the behavior that we are going test
+        JsonNode employee = smileMapper.readTree(smileMapper.writeValueAsBytes(
+                new EmployeeDto(ID, "Romulo", "Gomes", "romulo@teste.com", 0L)));
+
+        //then - verify the output
+        assertThat(employee.get("id").isNumber()).isTrue();
+        assertThat(employee.get("id").asLong()).isEqualTo(ID);
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.brothertec.springboot.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EmployeeListWriterTests {
+
+    private EmployeeListWriter writer = new EmployeeListWriter(new ObjectMapper());
+
+    @DisplayName("Rows are flushed at chunk boundaries and form one array")
+    @Test
+    public void givenManyRows_whenWrite_thenFlushEveryChunkAndWriteWholeArray() throws IOException {
+        //given - precondition or setup
+        int rows = EmployeeListWriter.FLUSH_EVERY * 3 + 10;
+        CountingOutputStream out = new CountingOutputStream();
+
+        //when - action or the behavior that we are going test
+        writer.write(out, MediaType.APPLICATION_JSON, consumer -> {
+            for (long id = 1; id <= rows; id++) {
+                consumer.accept(new EmployeeDto(id, "Romulo", "Gomes", "romulo" + id + "@teste.com", 0L));
+            }
+        });
+
+        //then - verify the output
+        assertThat(out.flushes).isEqualTo(4);
+        assertThat(out.closed).isFalse();
+        JsonNode array = new ObjectMapper().readTree(out.toByteArray());
+        assertThat(array.size()).isEqualTo(rows);
+        assertThat(array.get(rows - 1).get("email").asText()).isEqualTo("romulo" + rows + "@teste.com");
+    }
+
+    @DisplayName("Binary formats are streamed by the same writer")
+    @Test
+    public void givenCbor_whenWrite_thenReturnCborEncodedArray() throws IOException {
+        //given - precondition or setup
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when - action or the behavior that we are going test
+        writer.write(out, MediaType.valueOf(EmployeeListWriter.CBOR_VALUE),
+                consumer -> consumer.accept(new EmployeeDto(1L, "Romulo", "Gomes", "romulo@teste.com", 0L)));
+
+        //then - verify the output
+        JsonNode array = new ObjectMapper(new CBORFactory()).readTree(out.toByteArray());
+        assertThat(array.get(0).get("firstName").asText()).isEqualTo("Romulo");
+    }
+
+    @DisplayName("A failed scan leaves the array open")
+    @Test
+    public void givenFailingSource_whenWrite_thenDoNotCloseTheArray() {
+        //given - precondition or setup
+        CountingOutputStream out = new CountingOutputStream();
+
+        //when - action or the behavior that we are going test
+        assertThatThrownBy(() -> writer.write(out, MediaType.APPLICATION_JSON, consumer -> {
+            for (long id = 1; id <= EmployeeListWriter.FLUSH_EVERY + 1; id++) {
+                consumer.accept(new EmployeeDto(id, "Romulo", "Gomes", "romulo" + id + "@teste.com", 0L));
+            }
+            throw new UncheckedIOException(new IOException("connection reset"));
+        })).isInstanceOf(IOException.class);
+
+        //then - verify the output
+        assertThat(out.flushes).isEqualTo(1);
+        assertThat(out.closed).isFalse();
+        assertThat(new String(out.toByteArray())).startsWith("[").doesNotEndWith("]");
+    }
+
+    @DisplayName("A scan failing before the first row writes nothing")
+    @Test
+    public void givenSourceFailingBeforeFirstRow_whenWrite_thenWriteNothing() {
+        //given - precondition or setup
+        CountingOutputStream out = new CountingOutputStream();
+
+        //when - action or the behavior that we are going test
+        assertThatThrownBy(() -> writer.write(out, MediaType.APPLICATION_JSON, consumer -> {
+            throw new IllegalStateException("bulkhead full");
+        })).isInstanceOf(IllegalStateException.class);
+
+        //then - verify the output
+        assertThat(out.toByteArray()).isEmpty();
+        assertThat(out.flushes).isZero();
+        assertThat(out.closed).isFalse();
+    }
+
+    @DisplayName("An empty scan still writes an empty array")
+    @Test
+    public void givenEmptySource_whenWrite_thenWriteEmptyArray() throws IOException {
+        //given - precondition or setup
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when - action or the behavior that we are going test
+        writer.write(out, MediaType.APPLICATION_JSON, consumer -> {
+        });
+
+        //then - verify the output
+        assertThat(out.toString()).isEqualTo("[]");
+    }
+
+    @DisplayName("Accept header picks the best supported type")
+    @Test
+    public void givenAcceptHeader_whenNegotiate_thenReturnBestSupportedType() {
+        assertThat(writer.negotiate(null)).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(writer.negotiate(MediaType.parseMediaTypes("*/*"))).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(writer.negotiate(MediaType.parseMediaTypes("application/json;q=0.5, application/cbor")))
+                .isEqualTo(MediaType.valueOf(EmployeeListWriter.CBOR_VALUE));
+        assertThat(writer.negotiate(MediaType.parseMediaTypes("application/cbor;q=0.5, application/json")))
+                .isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(writer.negotiate(MediaType.parseMediaTypes("text/csv"))).isNull();
+    }
+
+    @DisplayName("Types refused with q=0 are never picked")
+    @Test
+    public void givenRefusedType_whenNegotiate_thenSkipIt() {
+        assertThat(writer.negotiate(MediaType.parseMediaTypes("application/json;q=0"))).isNull();
+        assertThat(writer.negotiate(MediaType.parseMediaTypes("application/json;q=0, */*")))
+                .isEqualTo(MediaType.valueOf(EmployeeListWriter.SMILE_VALUE));
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private int flushes;
+        private boolean closed;
+
+        CountingOutputStream() {
+            super(new ByteArrayOutputStream());
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushes++;
+            super.flush();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        byte[] toByteArray() {
+            return ((ByteArrayOutputStream) out).toByteArray();
+        }
+    }
+}
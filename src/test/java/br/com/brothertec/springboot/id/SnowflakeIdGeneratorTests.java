@@ -0,0 +1,104 @@
+package br.com.brothertec.springboot.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SnowflakeIdGeneratorTests {
+
+    @DisplayName("Ids carry their node and creation time")
+    @Test
+    public void givenNodeId_whenNextId_thenIdEncodesNodeAndTimestamp() {
+        //given - precondition or setup
+        long now = SnowflakeIdGenerator.EPOCH_MILLIS + 123_456;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(42, () -> now);
+
+        //when - action or the behavior that we are going test
+        long id = generator.nextId();
+
+        //then - verify the output
+        assertThat(SnowflakeIdGenerator.nodeOf(id)).isEqualTo(42);
+        assertThat(SnowflakeIdGenerator.timestampOf(id)).isEqualTo(now);
+    }
+
+    @DisplayName("Ids keep increasing when the sequence is exhausted and when the clock goes back")
+    @Test
+    public void givenStalledAndBackwardClock_whenNextId_thenStrictlyIncreasing() {
+        //given - precondition or setup
+        AtomicLong clock = new AtomicLong(SnowflakeIdGenerator.EPOCH_MILLIS + 1_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+
+        //when - action or the behavior that we are going test
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                clock.addAndGet(-500);
+            }
+            long id = generator.nextId();
+
+            //then - verify the output
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+
+    @DisplayName("Concurrent callers never receive the same id")
+    @Test
+    public void givenManyThreads_whenNextId_thenAllIdsUnique() throws InterruptedException {
+        //given - precondition or setup
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //when - action or the behavior that we are going test
+        for (int thread = 0; thread < 8; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        //then - verify the output
+        assertThat(ids).hasSize(8 * 50_000);
+    }
+
+    @DisplayName("Tagged ids keep their tag and never collide with plain ids of the same node")
+    @Test
+    public void givenTaggedAndPlainCalls_whenNextId_thenTagKeptAndAllIdsUnique() {
+        //given - precondition or setup
+        AtomicLong clock = new AtomicLong(SnowflakeIdGenerator.EPOCH_MILLIS + 1_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, clock::get);
+        Set<Long> ids = new HashSet<>();
+
+        //when - action or the behavior that we are going test
+        for (int i = 0; i < 10_000; i++) {
+            int tag = i % 5;
+            long tagged = generator.nextId(6, tag);
+
+            //then - verify the output
+            assertThat(tagged & 63).isEqualTo(tag);
+            assertThat(SnowflakeIdGenerator.nodeOf(tagged)).isEqualTo(3);
+            assertThat(ids.add(tagged)).isTrue();
+            assertThat(ids.add(generator.nextId())).isTrue();
+        }
+    }
+
+    @DisplayName("Node id outside the 10-bit range is rejected")
+    @Test
+    public void givenNodeIdOutOfRange_whenCreate_thenThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+}
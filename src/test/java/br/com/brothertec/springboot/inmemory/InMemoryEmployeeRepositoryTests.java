@@ -0,0 +1,141 @@
+package br.com.brothertec.springboot.inmemory;
+
+import br.com.brothertec.springboot.event.EmployeeChangedEvent;
+import br.com.brothertec.springboot.id.SnowflakeIdGenerator;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.repository.EmployeeRepositoryContractTests;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InMemoryEmployeeRepositoryTests extends EmployeeRepositoryContractTests {
+
+    private List<Object> events = new ArrayList<>();
+
+    public InMemoryEmployeeRepositoryTests() {
+        employeeRepository = newRepository();
+    }
+
+    @AfterEach
+    public void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @DisplayName("Snapshot round trip restores employees and indexes")
+    @Test
+    public void givenSavedEmployees_whenSnapshotAndRestore_thenEmployeesAreFoundAgain(@TempDir Path directory) throws Exception {
+        //given - precondition or setup
+        InMemoryEmployeeRepository repository = (InMemoryEmployeeRepository) employeeRepository;
+        Employee saved = repository.save(employee("Romulo", "Gomes", "romulo@teste.com"));
+        TenantContext.setTenantId("acme");
+        repository.save(employee("John", "Cena", "cena@teste.com"));
+        TenantContext.clear();
+        Path file = directory.resolve("employees.snapshot");
+
+        //when - action or the behavior that we are going test
+        repository.snapshotTo(file);
+        InMemoryEmployeeRepository restored = newRepository();
+        restored.restoreFrom(file);
+
+        //then - verify the output
+        assertThat(restored.findById(saved.getId())).get().extracting(Employee::getEmail).isEqualTo("romulo@teste.com");
+        assertThat(restored.findByJPQL("Romulo", "Gomes")).isNotNull();
+        assertThat(restored.findByEmail("cena@teste.com")).isEmpty();
+        TenantContext.setTenantId("acme");
+        assertThat(restored.findByEmail("cena@teste.com")).isPresent();
+        assertThat(restored.count()).isEqualTo(1);
+    }
+
+    @DisplayName("Indexes follow the saved state")
+    @Test
+    public void givenEmployeeSavedAgainWithNewEmail_whenFindByEmail_thenOnlyNewEmailMatches() {
+        //given - precondition or setup
+        Employee saved = employeeRepository.save(employee("Romulo", "Gomes", "romulo@teste.com"));
+        Employee detached = employee("Romulo", "Gomes", "new_email@teste.com");
+        detached.setId(saved.getId());
+
+        //when - action or the behavior that we are going test
+        Employee updated = employeeRepository.save(detached);
+
+        //then - verify the output
+        assertThat(updated).isSameAs(detached);
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(employeeRepository.findByEmail("romulo@teste.com")).isEmpty();
+        assertThat(employeeRepository.findByEmail("new_email@teste.com")).get()
+                .extracting(Employee::getId).isEqualTo(saved.getId());
+        assertThat(events).extracting(event -> ((EmployeeChangedEvent) event).type())
+                .containsExactly(EmployeeChangedEvent.Type.INSERTED, EmployeeChangedEvent.Type.UPDATED);
+    }
+
+    @DisplayName("Employees handed out are copies that never change the stored state")
+    @Test
+    public void givenEmployeeReadTwice_whenOneCopyIsModified_thenStoredStateAndOtherCopyUnchanged() {
+        //given - precondition or setup
+        Employee saved = employeeRepository.save(employee("Romulo", "Gomes", "romulo@teste.com"));
+        Employee first = employeeRepository.findById(saved.getId()).get();
+        Employee second = employeeRepository.findById(saved.getId()).get();
+
+        //when - action or the behavior that we are going test
+        first.setEmail("changed@teste.com");
+        saved.setLastName("Silva");
+
+        //then - verify the output
+        assertThat(first).isNotSameAs(second);
+        assertThat(second.getEmail()).isEqualTo("romulo@teste.com");
+        Employee stored = employeeRepository.findById(saved.getId()).get();
+        assertThat(stored.getEmail()).isEqualTo("romulo@teste.com");
+        assertThat(stored.getLastName()).isEqualTo("Gomes");
+        assertThat(employeeRepository.findByEmail("changed@teste.com")).isEmpty();
+    }
+
+    @DisplayName("Tenants do not see each other's employees")
+    @Test
+    public void givenEmployeeOfAnotherTenant_whenFindById_thenReturnEmpty() {
+        //given - precondition or setup
+        TenantContext.setTenantId("acme");
+        Employee saved = employeeRepository.save(employee("Romulo", "Gomes", "romulo@teste.com"));
+
+        //when - action or the behavior that we are going test
+        TenantContext.setTenantId("globex");
+
+        //then - verify the output
+        assertThat(employeeRepository.findById(saved.getId())).isEmpty();
+        assertThat(employeeRepository.findAll()).isEmpty();
+        assertThat(employeeRepository.count()).isZero();
+    }
+
+    @DisplayName("Unique query fails when several employees match")
+    @Test
+    public void givenTwoEmployeesWithSameName_whenFindByJPQL_thenThrowIncorrectResultSize() {
+        //given - precondition or setup
+        employeeRepository.save(employee("Romulo", "Gomes", "romulo@teste.com"));
+        employeeRepository.save(employee("Romulo", "Gomes", "romulo2@teste.com"));
+
+        //when - action or the behavior that we are going test
+        //then - verify the output
+        assertThatThrownBy(() -> employeeRepository.findByJPQL("Romulo", "Gomes"))
+                .isInstanceOf(IncorrectResultSizeDataAccessException.class);
+    }
+
+    private InMemoryEmployeeRepository newRepository() {
+        return new InMemoryEmployeeRepository(new SnowflakeIdGenerator(0), events::add, 16);
+    }
+
+    private static Employee employee(String firstName, String lastName, String email) {
+        return Employee.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .build();
+    }
+}
@@ -2,21 +2,47 @@ package br.com.brothertec.springboot.integration;
 
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestExecutionListeners;
+import org.testcontainers.DockerClientFactory;
 import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
 
+import java.util.Map;
+
+//singleton database for the integration suites: a reusable MySQL container, or H2 in MySQL mode without Docker
+@TestExecutionListeners(listeners = TruncateTablesTestExecutionListener.class,
+        mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
 public abstract class AbstractContainerBaseTest {
-    static final MySQLContainer MY_SQL_CONTAINER;
+    //classes sharing the container database must not run concurrently with each other
+    public static final String DATABASE_LOCK = "mysql-container";
+
+    static final DockerImageName MYSQL_IMAGE = DockerImageName.parse("mysql:8.0.32");
+    static final String H2_FALLBACK_URL = "jdbc:h2:mem:ems;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final MySQLContainer<?> MY_SQL_CONTAINER;
 
     static {
-        MY_SQL_CONTAINER = new MySQLContainer("mysql:latest")
-                .withUsername("username")
-                .withPassword("password")
-                .withDatabaseName("ems");
-        MY_SQL_CONTAINER.start();
+        if (DockerClientFactory.instance().isDockerAvailable()) {
+            MY_SQL_CONTAINER = new MySQLContainer<>(MYSQL_IMAGE);
+            //reuse only kicks in with testcontainers.reuse.enable=true in ~/.testcontainers.properties
+            MY_SQL_CONTAINER.withUsername("username")
+                    .withPassword("password")
+                    .withDatabaseName("ems")
+                    .withTmpFs(Map.of("/var/lib/mysql", "rw"))
+                    .withReuse(true);
+            MY_SQL_CONTAINER.start();
+        } else {
+            MY_SQL_CONTAINER = null;
+        }
     }
 
     @DynamicPropertySource
     public static void dynamicPropertySource(DynamicPropertyRegistry registry){
+        if (MY_SQL_CONTAINER == null) {
+            registry.add("spring.datasource.url", () -> H2_FALLBACK_URL);
+            registry.add("spring.datasource.username", () -> "sa");
+            registry.add("spring.datasource.password", () -> "");
+            return;
+        }
         registry.add("spring.datasource.url", MY_SQL_CONTAINER::getJdbcUrl);
         registry.add("spring.datasource.username", MY_SQL_CONTAINER::getUsername);
         registry.add("spring.datasource.password", MY_SQL_CONTAINER::getPassword);
@@ -3,12 +3,9 @@ package br.com.brothertec.springboot.integration;
 import br.com.brothertec.springboot.model.Employee;
 import br.com.brothertec.springboot.repository.EmployeeRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -25,8 +22,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
-@AutoConfigureMockMvc
+@IntegrationTest
 public class EmployeeControllerIntegrationTests {
 
     @Autowired
@@ -38,11 +34,6 @@ public class EmployeeControllerIntegrationTests {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @BeforeEach
-    public void setup(){
-        employeeRepository.deleteAll();
-    }
-
     @DisplayName("Create Employee")
     @Test
     public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() throws Exception {
@@ -3,12 +3,10 @@ package br.com.brothertec.springboot.integration;
 import br.com.brothertec.springboot.model.Employee;
 import br.com.brothertec.springboot.repository.EmployeeRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -21,8 +19,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
-@AutoConfigureMockMvc
+@IntegrationTest
+@ResourceLock(AbstractContainerBaseTest.DATABASE_LOCK)
 public class EmployeeControllerTestecontainersIntegrationTests extends AbstractContainerBaseTest {
 
 //    @Container
@@ -47,11 +45,6 @@ public class EmployeeControllerTestecontainersIntegrationTests extends AbstractC
     @Autowired
     private ObjectMapper objectMapper;
 
-    @BeforeEach
-    public void setup(){
-        employeeRepository.deleteAll();
-    }
-
     @DisplayName("Create Employee")
     @Test
     public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() throws Exception {
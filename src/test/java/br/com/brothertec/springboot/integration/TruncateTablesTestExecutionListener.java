@@ -0,0 +1,21 @@
+package br.com.brothertec.springboot.integration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+//empties the tables before every test class, so each starts from the same empty baseline; a reused container
+//would otherwise still hold the rows of earlier classes and runs
+public class TruncateTablesTestExecutionListener extends AbstractTestExecutionListener {
+    //employee_stats is derived from employees, so both are emptied together
+    private static final List<String> TABLES = List.of("employees", "employee_stats", "employee_import_checkpoints");
+
+    @Override
+    public void beforeTestClass(TestContext testContext) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(testContext.getApplicationContext().getBean(DataSource.class));
+        TABLES.forEach(table -> jdbcTemplate.execute("truncate table " + table));
+    }
+}
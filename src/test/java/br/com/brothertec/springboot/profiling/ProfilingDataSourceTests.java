@@ -0,0 +1,74 @@
+package br.com.brothertec.springboot.profiling;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProfilingDataSourceTests {
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new ProfilingDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:profiling;DB_CLOSE_DELAY=-1", "sa", "")));
+
+    @DisplayName("Queries are recorded with their sql id and row count")
+    @Test
+    public void givenRecording_whenQueryRuns_thenQueryEventCarriesSqlIdAndRows(@TempDir Path directory) throws Exception {
+        //given - precondition or setup
+        jdbcTemplate.execute("create table if not exists employees (id bigint primary key, email varchar(255))");
+        jdbcTemplate.update("delete from employees");
+        String sql = "select id, email from employees order by id";
+        Path file = directory.resolve("queries.jfr");
+
+        //when - action or the behavior that we are going test
+        try (Recording recording = new Recording()) {
+            recording.enable(EmployeeQueryEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            jdbcTemplate.batchUpdate("insert into employees values (?, ?)",
+                    List.of(new Object[]{1L, "romulo@teste.com"}, new Object[]{2L, "cena@teste.com"}));
+            jdbcTemplate.queryForList(sql);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        //then - verify the output
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events)
+                .filteredOn(event -> sql.equals(event.getString("sql")))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("sqlId")).isEqualTo(String.format("%08x", sql.hashCode()));
+                    assertThat(event.getLong("rows")).isEqualTo(2);
+                });
+        assertThat(events)
+                .filteredOn(event -> event.getString("sql").startsWith("insert"))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getLong("rows")).isEqualTo(2));
+    }
+
+    @DisplayName("Statements are left unwrapped while no recording wants query events")
+    @Test
+    public void givenNoRecording_whenPrepareStatement_thenStatementIsNotProxied() throws Exception {
+        //when - action or the behavior that we are going test
+        Boolean proxied = jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("select 1")) {
+                return Proxy.isProxyClass(statement.getClass());
+            }
+        });
+
+        //then - verify the output
+        assertThat(proxied).isFalse();
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.brothertec.springboot.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimiterTests {
+
+    @DisplayName("Token bucket allows the burst and then the configured rate")
+    @Test
+    public void givenTokenBucket_whenBurstIsExhausted_thenRejectUntilRefill() {
+        //given - precondition or setup
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+        //when - action or the behavior that we are going test
+        boolean first = bucket.tryAcquire();
+        boolean second = bucket.tryAcquire();
+        boolean third = bucket.tryAcquire();
+        boolean fourth = bucket.tryAcquire();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        boolean afterRefill = bucket.tryAcquire();
+
+        //then - verify the output
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isTrue();
+        assertThat(fourth).isFalse();
+        assertThat(afterRefill).isTrue();
+    }
+
+    @DisplayName("Client rate limiter keeps separate buckets per client")
+    @Test
+    public void givenTwoClients_whenOneIsThrottled_thenOtherIsNot() {
+        //given - precondition or setup
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaults().setPermitsPerSecond(1);
+        properties.getDefaults().setBurst(1);
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(properties.getDefaults(), 10);
+
+        //when - action or the behavior that we are going test
+        rateLimiter.tryAcquire("client-a");
+        boolean clientAAgain = rateLimiter.tryAcquire("client-a");
+        boolean clientB = rateLimiter.tryAcquire("client-b");
+
+        //then - verify the output
+        assertThat(clientAAgain).isFalse();
+        assertThat(clientB).isTrue();
+    }
+
+    @DisplayName("New clients evict the least recently seen one, not every bucket")
+    @Test
+    public void givenFullClientTable_whenNewClientsArrive_thenThrottledActiveClientStaysThrottled() {
+        //given - precondition or setup
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaults().setPermitsPerSecond(0.001);
+        properties.getDefaults().setBurst(1);
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(properties.getDefaults(), 2);
+        rateLimiter.tryAcquire("client-a");
+
+        //when - action or the behavior that we are going test
+        boolean clientB = rateLimiter.tryAcquire("client-b");
+        boolean clientAAfterB = rateLimiter.tryAcquire("client-a");
+        boolean clientC = rateLimiter.tryAcquire("client-c");
+        boolean clientAAfterC = rateLimiter.tryAcquire("client-a");
+        boolean clientBAgain = rateLimiter.tryAcquire("client-b");
+
+        //then - verify the output
+        assertThat(clientB).isTrue();
+        assertThat(clientC).isTrue();
+        assertThat(clientAAfterB).isFalse();
+        assertThat(clientAAfterC).isFalse();
+        //b was the least recently seen when c arrived, so it starts again with a full bucket
+        assertThat(clientBAgain).isTrue();
+    }
+
+    @DisplayName("Client table stays bounded under concurrent churn and keeps recently seen clients")
+    @Test
+    public void givenManyConcurrentClients_whenTableOverflows_thenBoundedAndRecentClientKept() throws InterruptedException {
+        //given - precondition or setup
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaults().setPermitsPerSecond(0.001);
+        properties.getDefaults().setBurst(1);
+        AtomicLong clock = new AtomicLong();
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(properties.getDefaults(), 100, clock::incrementAndGet);
+        rateLimiter.tryAcquire("active");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        //when - action or the behavior that we are going test
+        for (int thread = 0; thread < 4; thread++) {
+            int offset = thread * 1_000;
+            executor.execute(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    rateLimiter.tryAcquire("client-" + (offset + i));
+                    if (i % 10 == 0) {
+                        rateLimiter.tryAcquire("active");
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        //inserts racing a trim may overshoot until the next new client
+        rateLimiter.tryAcquire("late");
+        boolean activeAgain = rateLimiter.tryAcquire("active");
+
+        //then - verify the output
+        assertThat(rateLimiter.size()).isLessThanOrEqualTo(100);
+        assertThat(activeAgain).isFalse();
+    }
+
+    @DisplayName("Limits are looked up by controller and method before the bare method name")
+    @Test
+    public void givenQualifiedAndBareLimits_whenLookingUp_thenQualifiedWins() throws NoSuchMethodException {
+        //given - precondition or setup
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Limit qualified = new RateLimitProperties.Limit();
+        RateLimitProperties.Limit bare = new RateLimitProperties.Limit();
+        properties.getEndpoints().put("RateLimiterTests.endpoint", qualified);
+        properties.getEndpoints().put("endpoint", bare);
+        properties.getEndpoints().put("otherEndpoint", bare);
+
+        //when - action or the behavior that we are going test
+        RateLimitProperties.Limit forEndpoint = properties.limitFor(RateLimiterTests.class.getDeclaredMethod("endpoint"));
+        RateLimitProperties.Limit forOther = properties.limitFor(RateLimiterTests.class.getDeclaredMethod("otherEndpoint"));
+
+        //then - verify the output
+        assertThat(forEndpoint).isSameAs(qualified);
+        assertThat(forOther).isSameAs(bare);
+    }
+
+    private void endpoint() {
+    }
+
+    private void otherEndpoint() {
+    }
+
+    @DisplayName("Adaptive limiter sheds load when latency rises")
+    @Test
+    public void givenSlowResponses_whenReleasing_thenLimitShrinks() {
+        //given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 4, TimeUnit.MILLISECONDS.toNanos(10));
+
+        //when - action or the behavior that we are going test
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(TimeUnit.SECONDS.toNanos(1));
+        }
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+
+        //then - verify the output
+        assertThat(limiter.getLimit()).isEqualTo(1);
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+    }
+}
@@ -0,0 +1,308 @@
+package br.com.brothertec.springboot.repository;
+
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.dto.EmployeeField;
+import br.com.brothertec.springboot.dto.PartialEmployeeDto;
+import br.com.brothertec.springboot.model.Employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+//behaviour every EmployeeRepository implementation must share; subclasses supply the repository.
+//spring reads @Transactional from the class declaring the test method, not from the @DataJpaTest subclass
+@Transactional
+public abstract class EmployeeRepositoryContractTests {
+
+    protected EmployeeRepository employeeRepository;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        //given - precondition or setup
+        employee = Employee.builder()
+                .firstName("Romulo")
+                .lastName("Gomes")
+                .email("romulo@teste.com")
+                .build();
+    }
+
+    @DisplayName("JUnit test for save employee operation")
+    @Test
+    public void givenEmployeeObject_whenSave_thenReturnSavedEmployee() {
+        //given - precondition or setup
+
+
+        //when - action or the behavior that we are going test
+        Employee savedEmployee = employeeRepository.save(employee);
+
+        //then - verify the output
+        assertThat(savedEmployee).isNotNull();
+        assertThat(savedEmployee.getId()).isGreaterThan(0);
+    }
+
+    @DisplayName("Get all the employess operation")
+    @Test
+    public void givenEmployeesList_whenFindAll_thenEmployeesList() {
+        //given - precondition or setup
+//        var employee1 = Employee.builder()
+//                .firstName("Romulo")
+//                .lastName("Gomes")
+//                .email("romulo@teste.com")
+//                .build();
+
+        var employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("cena@teste.com")
+                .build();
+
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+
+        //when - action or the behavior that we are going test
+        var employeeList = employeeRepository.findAll();
+
+        //then - verify the output
+        assertThat(employeeList).isNotNull();
+        assertThat(employeeList.size()).isEqualTo(2);
+
+    }
+
+    @DisplayName("Get employee by id operation")
+    @Test
+    public void givenEmployeeId_whenFindById_thenReturnEmployee() {
+        //given - precondition or setup
+//        var employee = Employee.builder()
+//                .firstName("Romulo")
+//                .lastName("Gomes")
+//                .email("romulo@teste.com")
+//                .build();
+
+        employeeRepository.save(employee);
+        Long id = employee.getId();
+
+        //when - action or the behavior that we are going test
+        Employee employeeDB = employeeRepository.getReferenceById(id);
+
+        //then - verify the output
+        assertThat(employeeDB).isNotNull();
+    }
+
+    @DisplayName("Get emloyee by email operation")
+    @Test
+    public void givenSavedEmployeeEmail_whenFindByEmail_thenReturnEmployeeObject() {
+        //given - precondition or setup
+//        var employee = Employee.builder()
+//                .firstName("Romulo")
+//                .lastName("Gomes")
+//                .email("romulo@teste.com")
+//                .build();
+
+        employeeRepository.save(employee);
+        String email = employee.getEmail();
+
+        //when - action or the behavior that we are going test
+        Employee employeeDB = employeeRepository.findByEmail(email).get();
+
+        //then - verify the output
+        assertThat(employeeDB).isNotNull();
+    }
+
+    @DisplayName("Update employee")
+    @Test
+    public void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee() {
+        //given - precondition or setup
+//        var employee = Employee.builder()
+//                .firstName("Romulo")
+//                .lastName("Gomes")
+//                .email("romulo@teste.com")
+//                .build();
+        employeeRepository.save(employee);
+
+        //when - action or the behavior that we are going test
+        Employee employeeDB = employeeRepository.findById(employee.getId()).get();
+        employeeDB.setEmail("new_email@teste.com");
+        employeeDB.setFirstName("Rominho");
+        employeeRepository.save(employeeDB);
+
+        Employee updatedEmployee = employeeRepository.findById(employee.getId()).get();
+
+        //then - verify the output
+        assertThat(updatedEmployee.getEmail()).isEqualTo("new_email@teste.com");
+        assertThat(updatedEmployee.getFirstName()).isEqualTo("Rominho");
+    }
+
+    @DisplayName("Delete employee")
+    @Test
+    public void givenEmployeeObject_whenDeleteEmployee_thenRemoveEmployee() {
+        //given - precondition or setup
+//        var employee = Employee.builder()
+//                .firstName("Romulo")
+//                .lastName("Gomes")
+//                .email("romulo@teste.com")
+//                .build();
+        employeeRepository.save(employee);
+
+        //when - action or the behavior that we are going test
+        employeeRepository.delete(employee);
+        Optional<Employee> employeeOptional = employeeRepository.findById(employee.getId());
+
+        //then - verify the output
+        assertThat(employeeOptional).isEmpty();
+    }
+
+    @DisplayName("Custom JPQL query with index")
+    @Test
+    public void givenEmployeeFirstNameAndLastName_whenFindByJPQL_thenReturnEmployeeObject() {
+        //given - precondition or setup
+//        var employee = Employee.builder()
+//                .firstName("Romulo")
+//                .lastName("Gomes")
+//                .email("romulo@teste.com")
+//                .build();
+        employeeRepository.save(employee);
+
+        //when - action or the behavior that we are going test
+        var savedEmployee = employeeRepository.findByJPQL("Romulo", "Gomes");
+
+        //then - verify the output
+        assertThat(savedEmployee).isNotNull();
+    }
+
+    @DisplayName("Custom JPQL query with named params")
+    @Test
+    public void givenEmployeeFirstNameAndLastName_whenFindByJPQLNamedParams_thenReturnEmployeeObject() {
+        //given - precondition or setup
+//        var employee = Employee.builder()
+//                .firstName("Romulo")
+//                .lastName("Gomes")
+//                .email("romulo@teste.com")
+//                .build();
+        employeeRepository.save(employee);
+
+        //when - action or the behavior that we are going test
+        var savedEmployee = employeeRepository.findByJPQLNamedParams("Romulo", "Gomes");
+
+        //then - verify the output
+        assertThat(savedEmployee).isNotNull();
+    }
+
+    @DisplayName("Custom Native query with index param")
+    @Test
+    public void givenEmployeeFirstNameAndLastName_whenFindByNativeSQL_thenReturnEmployeeObject() {
+        //given - precondition or setup
+//        var employee = Employee.builder()
+//                .firstName("Romulo")
+//                .lastName("Gomes")
+//                .email("romulo@teste.com")
+//                .build();
+        employeeRepository.save(employee);
+
+        //when - action or the behavior that we are going test
+        var savedEmployee = employeeRepository.findByNativeSQL("Romulo", "Gomes");
+
+        //then - verify the output
+        assertThat(savedEmployee).isNotNull();
+    }
+
+    @DisplayName("Custom Native query with named param")
+    @Test
+    public void givenEmployeeFirstNameAndLastName_whenFindByNativeSQLNamedParams_thenReturnEmployeeObject() {
+        //given - precondition or setup
+//        var employee = Employee.builder()
+//                .firstName("Romulo")
+//                .lastName("Gomes")
+//                .email("romulo@teste.com")
+//                .build();
+        employeeRepository.save(employee);
+
+        //when - action or the behavior that we are going test
+        var savedEmployee = employeeRepository.findByNativeSQLNamedParams("Romulo", "Gomes");
+
+        //then - verify the output
+        assertThat(savedEmployee).isNotNull();
+    }
+
+    @DisplayName("Projection reads only the selected fields")
+    @Test
+    public void givenEmployees_whenFindAllProjected_thenReturnOnlySelectedFieldsInIdOrder() {
+        //given - precondition or setup
+        var employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("cena@teste.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+
+        //when - action or the behavior that we are going test
+        List<PartialEmployeeDto> page = employeeRepository.findAllProjected(
+                EnumSet.of(EmployeeField.ID, EmployeeField.EMAIL), PageRequest.of(0, 1));
+
+        //then - verify the output
+        assertThat(page).containsExactly(new PartialEmployeeDto(employee.getId(), null, null, "romulo@teste.com"));
+    }
+
+    @DisplayName("Streaming hands every employee to the consumer in id order")
+    @Test
+    public void givenEmployees_whenStreamAll_thenConsumeEveryEmployeeInIdOrder() {
+        //given - precondition or setup
+        var employee2 = Employee.builder()
+                .firstName("John")
+                .lastName("Cena")
+                .email("cena@teste.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+
+        //when - action or the behavior that we are going test
+        List<EmployeeDto> streamed = new ArrayList<>();
+        employeeRepository.streamAll(streamed::add);
+
+        //then - verify the output
+        assertThat(streamed).extracting(EmployeeDto::email).containsExactly("romulo@teste.com", "cena@teste.com");
+        assertThat(streamed.get(0).id()).isEqualTo(employee.getId());
+    }
+
+    @DisplayName("Query by example follows the matcher's string matching, case and match mode")
+    @Test
+    public void givenEmployees_whenQueryByExample_thenReturnMatchingEmployees() {
+        //given - precondition or setup
+        employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder().firstName("Nayra").lastName("Cruz").email("nayra@teste.com").build());
+        employeeRepository.save(Employee.builder().firstName("Romulo").lastName("Silva").email("rs@gmail.com").build());
+
+        //when - action or the behavior that we are going test
+        List<Employee> romulos = employeeRepository.findAll(
+                Example.of(Employee.builder().firstName("romulo").build(), ExampleMatcher.matching().withIgnoreCase()),
+                Sort.by("lastName").descending());
+        long atTeste = employeeRepository.count(Example.of(Employee.builder().email("@teste.com").build(),
+                ExampleMatcher.matching().withStringMatcher(ExampleMatcher.StringMatcher.ENDING)));
+        long nayraOrSilva = employeeRepository.count(Example.of(
+                Employee.builder().firstName("Nayra").lastName("Silva").build(), ExampleMatcher.matchingAny()));
+        Optional<Employee> nayra = employeeRepository.findOne(Example.of(Employee.builder().firstName("Nayra").build()));
+        List<String> fluent = employeeRepository.findBy(Example.of(Employee.builder().firstName("Romulo").build()),
+                query -> query.sortBy(Sort.by("email")).all().stream().map(Employee::getEmail).toList());
+
+        //then - verify the output
+        assertThat(romulos).extracting(Employee::getLastName).containsExactly("Silva", "Gomes");
+        assertThat(atTeste).isEqualTo(2);
+        assertThat(nayraOrSilva).isEqualTo(2);
+        assertThat(nayra).get().extracting(Employee::getEmail).isEqualTo("nayra@teste.com");
+        assertThat(employeeRepository.exists(Example.of(Employee.builder().lastName("Cena").build()))).isFalse();
+        assertThat(fluent).containsExactly("romulo@teste.com", "rs@gmail.com");
+    }
+}
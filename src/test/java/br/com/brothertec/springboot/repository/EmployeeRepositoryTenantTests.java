@@ -0,0 +1,83 @@
+package br.com.brothertec.springboot.repository;
+
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//the tenant is bound when a session opens, so every repository call here runs in its own transaction
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeRepositoryTenantTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @AfterEach
+    public void tearDown() {
+        for (String tenant : new String[]{"acme", "globex"}) {
+            TenantContext.setTenantId(tenant);
+            employeeRepository.deleteAll();
+        }
+        TenantContext.clear();
+    }
+
+    @DisplayName("Queries only see the current tenant's employees")
+    @Test
+    public void givenEmployeesOfTwoTenants_whenQueryAsOneTenant_thenOnlyItsEmployeesAreReturned() {
+        //given - precondition or setup
+        TenantContext.setTenantId("acme");
+        Employee acmeEmployee = employeeRepository.save(Employee.builder()
+                .firstName("Romulo")
+                .lastName("Gomes")
+                .email("romulo@acme.com")
+                .build());
+
+        TenantContext.setTenantId("globex");
+        employeeRepository.save(Employee.builder()
+                .firstName("Romulo")
+                .lastName("Gomes")
+                .email("romulo@globex.com")
+                .build());
+
+        //when - action or the behavior that we are going test
+        TenantContext.setTenantId("acme");
+        var acmeEmployees = employeeRepository.findAll();
+        var byNativeSQL = employeeRepository.findByNativeSQL("Romulo", "Gomes");
+        var byOtherTenantEmail = employeeRepository.findByEmail("romulo@globex.com");
+
+        //then - verify the output
+        assertThat(acmeEmployees).hasSize(1);
+        assertThat(acmeEmployees.get(0).getTenantId()).isEqualTo("acme");
+        assertThat(byNativeSQL.getId()).isEqualTo(acmeEmployee.getId());
+        assertThat(byOtherTenantEmail).isEmpty();
+    }
+
+    @DisplayName("Loading by id does not reach another tenant's employee")
+    @Test
+    public void givenEmployeeOfOtherTenant_whenFindByIdAsOneTenant_thenReturnEmpty() {
+        //given - precondition or setup
+        TenantContext.setTenantId("globex");
+        Employee globexEmployee = employeeRepository.save(Employee.builder()
+                .firstName("Romulo")
+                .lastName("Gomes")
+                .email("romulo@globex.com")
+                .build());
+
+        //when - action or the behavior that we are going test
+        TenantContext.setTenantId("acme");
+        var byId = employeeRepository.findById(globexEmployee.getId());
+        var exists = employeeRepository.existsById(globexEmployee.getId());
+
+        //then - verify the output
+        assertThat(byId).isEmpty();
+        assertThat(exists).isFalse();
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.brothertec.springboot.resilience;
+
+import br.com.brothertec.springboot.exception.CircuitBreakerOpenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DatabaseResilienceTests {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private FaultInjectingDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private DatabaseResilience resilience;
+
+    @BeforeEach
+    public void setup() {
+        dataSource = new FaultInjectingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:resilience;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists employees (id bigint primary key, email varchar(255))");
+
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getRetry().setMaxAttempts(3);
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(5));
+        properties.getCircuitBreaker().setSlidingWindowSize(10);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        properties.getCircuitBreaker().setFailureRateThreshold(0.5);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofSeconds(10));
+        properties.getCircuitBreaker().setHalfOpenCalls(1);
+        resilience = new DatabaseResilience(properties, clock::get);
+    }
+
+    private Integer countEmployees() {
+        attempts.incrementAndGet();
+        return jdbcTemplate.queryForObject("select count(*) from employees", Integer.class);
+    }
+
+    @DisplayName("Deadlocks are retried until the statement goes through")
+    @Test
+    public void givenTwoDeadlocks_whenCalled_thenRetriedAndSucceeds() {
+        //given - precondition or setup
+        dataSource.failNextStatements(2, new SQLException("Deadlock found when trying to get lock", "40001", 1213));
+
+        //when - action or the behavior that we are going test
+        Integer count = resilience.call(this::countEmployees);
+
+        //then - verify the output
+        assertThat(count).isNotNull();
+        assertThat(attempts).hasValue(3);
+        assertThat(resilience.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @DisplayName("Retries stop after max attempts")
+    @Test
+    public void givenPersistentDeadlocks_whenCalled_thenFailsAfterMaxAttempts() {
+        //given - precondition or setup
+        dataSource.failNextStatements(5, new SQLException("Deadlock found when trying to get lock", "40001", 1213));
+
+        //when - action or the behavior that we are going test
+        DataAccessException failure = assertThrows(DataAccessException.class, () -> resilience.call(this::countEmployees));
+
+        //then - verify the output
+        assertThat(DatabaseFailures.isRetryable(failure)).isTrue();
+        assertThat(attempts).hasValue(3);
+    }
+
+    @DisplayName("Errors that would fail again are not retried")
+    @Test
+    public void givenBadSql_whenCalled_thenNotRetried() {
+        //when - action or the behavior that we are going test
+        assertThrows(BadSqlGrammarException.class, () -> resilience.call(() -> {
+            attempts.incrementAndGet();
+            return jdbcTemplate.queryForObject("select count(*) from no_such_table", Integer.class);
+        }));
+
+        //then - verify the output
+        assertThat(attempts).hasValue(1);
+        assertThat(resilience.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @DisplayName("An unreachable database opens the circuit and later calls fail fast")
+    @Test
+    public void givenDatabaseDown_whenFailuresCrossThreshold_thenCircuitOpensAndCallsFailFast() {
+        //given - precondition or setup
+        //the table created in setup took a connection too
+        int setupAttempts = dataSource.getConnectionAttempts();
+        dataSource.failConnections(new SQLNonTransientConnectionException("Connection refused", "08001"));
+        assertThrows(DataAccessException.class, () -> resilience.call(this::countEmployees));
+        assertThrows(DataAccessException.class, () -> resilience.call(this::countEmployees));
+        int connectionAttempts = dataSource.getConnectionAttempts() - setupAttempts;
+
+        //when - action or the behavior that we are going test
+        assertThrows(CircuitBreakerOpenException.class, () -> resilience.call(this::countEmployees));
+
+        //then - verify the output
+        assertThat(connectionAttempts).isEqualTo(4);
+        assertThat(dataSource.getConnectionAttempts() - setupAttempts).isEqualTo(connectionAttempts);
+        assertThat(resilience.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @DisplayName("A successful trial call after the open duration closes the circuit")
+    @Test
+    public void givenOpenCircuit_whenDatabaseRecovers_thenTrialCallClosesCircuit() {
+        //given - precondition or setup
+        dataSource.failConnections(new SQLNonTransientConnectionException("Connection refused", "08001"));
+        assertThrows(DataAccessException.class, () -> resilience.call(this::countEmployees));
+        assertThrows(RuntimeException.class, () -> resilience.call(this::countEmployees));
+        assertThat(resilience.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        dataSource.heal();
+
+        //when - action or the behavior that we are going test
+        assertThrows(CircuitBreakerOpenException.class, () -> resilience.call(this::countEmployees));
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        Integer count = resilience.call(this::countEmployees);
+
+        //then - verify the output
+        assertThat(count).isNotNull();
+        assertThat(resilience.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.brothertec.springboot.resilience;
+
+import br.com.brothertec.springboot.bulkhead.BulkheadProperties;
+import br.com.brothertec.springboot.bulkhead.EmployeeBulkheads;
+import br.com.brothertec.springboot.cache.EmployeeNearCache;
+import br.com.brothertec.springboot.cache.LoopbackInvalidationBus;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.repository.EmployeeRepository;
+import br.com.brothertec.springboot.service.UpdateProperties;
+import br.com.brothertec.springboot.service.impl.EmployeeServiceImpl;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import br.com.brothertec.springboot.warmup.EmployeeAccessLog;
+import br.com.brothertec.springboot.warmup.WarmupProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//EmployeeServiceImpl over a real JPA stack whose connections fail on demand, so retries and the stale read are
+//exercised through hibernate's and spring's exception translation. the rows are committed, so they live in a
+//tenant of their own where repository tests cannot see them
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(EmployeeServiceFaultInjectionTests.FaultInjection.class)
+public class EmployeeServiceFaultInjectionTests {
+    private static final String TENANT = "fault-injection";
+    private static final SQLException DEADLOCK = new SQLException("Deadlock found when trying to get lock", "40001", 1213);
+
+    @TestConfiguration
+    static class FaultInjection {
+        @Bean
+        static BeanPostProcessor faultInjectingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof FaultInjectingDataSource)
+                            ? new FaultInjectingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private FaultInjectingDataSource faults;
+
+    private EmployeeBulkheads bulkheads;
+
+    private EmployeeServiceImpl employeeService;
+
+    @BeforeEach
+    public void setup() {
+        TenantContext.setTenantId(TENANT);
+        faults = (FaultInjectingDataSource) dataSource;
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(5));
+        bulkheads = new EmployeeBulkheads(new BulkheadProperties());
+        //entries expire at once, so every read goes to the database and only an outage serves from the cache
+        employeeService = new EmployeeServiceImpl(employeeRepository, bulkheads,
+                new EmployeeNearCache(new LoopbackInvalidationBus(), 100, Duration.ofNanos(1)),
+                new EmployeeAccessLog(new WarmupProperties()), new DatabaseResilience(properties),
+                new UpdateProperties());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        faults.heal();
+        employeeRepository.deleteAll();
+        bulkheads.destroy();
+        TenantContext.clear();
+    }
+
+    @DisplayName("saveEmployee retries deadlocked statements and saves once")
+    @Test
+    public void givenDeadlocks_whenSaveEmployee_thenRetriedAndSavedOnce() {
+        //given - precondition or setup
+        faults.failNextStatements(2, DEADLOCK);
+
+        //when - action or the behavior that we are going test
+        Employee savedEmployee = employeeService.saveEmployee(employee("romulo@teste.com"));
+
+        //then - verify the output
+        assertThat(savedEmployee.getId()).isNotNull();
+        assertThat(employeeRepository.findAll()).extracting(Employee::getEmail).containsExactly("romulo@teste.com");
+    }
+
+    @DisplayName("updateEmployee retries a deadlocked statement and bumps the version once")
+    @Test
+    public void givenDeadlock_whenUpdateEmployee_thenRetriedAndUpdated() {
+        //given - precondition or setup
+        Employee savedEmployee = employeeRepository.save(employee("romulo@teste.com"));
+        Employee edit = employee("romulo.gomes@teste.com");
+        edit.setId(savedEmployee.getId());
+        edit.setVersion(savedEmployee.getVersion());
+        faults.failNextStatements(1, DEADLOCK);
+
+        //when - action or the behavior that we are going test
+        Employee updatedEmployee = employeeService.updateEmployee(edit);
+
+        //then - verify the output
+        assertThat(updatedEmployee.getEmail()).isEqualTo("romulo.gomes@teste.com");
+        assertThat(updatedEmployee.getVersion()).isEqualTo(savedEmployee.getVersion() + 1);
+        assertThat(employeeRepository.findById(savedEmployee.getId()))
+                .map(Employee::getEmail).hasValue("romulo.gomes@teste.com");
+    }
+
+    @DisplayName("getEmployeeById serves the last loaded employee while the database cannot be reached")
+    @Test
+    public void givenUnreachableDatabase_whenGetEmployeeById_thenServesStaleEmployee() {
+        //given - precondition or setup
+        long id = employeeRepository.save(employee("romulo@teste.com")).getId();
+        assertThat(employeeService.getEmployeeById(id)).isPresent();
+        faults.failConnections(new SQLNonTransientConnectionException("Communications link failure", "08S01"));
+        int attemptsBefore = faults.getConnectionAttempts();
+
+        //when - action or the behavior that we are going test
+        Optional<Employee> employee = employeeService.getEmployeeById(id);
+
+        //then - verify the output
+        assertThat(employee).map(Employee::getEmail).hasValue("romulo@teste.com");
+        //the expired entry was not served before the database had been tried
+        assertThat(faults.getConnectionAttempts()).isGreaterThan(attemptsBefore);
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("Romulo")
+                .lastName("Gomes")
+                .email(email)
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.brothertec.springboot.resilience;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//fails the next statements, or every connection attempt, the way a contended or unreachable database would
+class FaultInjectingDataSource extends DelegatingDataSource {
+    private final Queue<SQLException> statementFaults = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger connectionAttempts = new AtomicInteger();
+    private volatile SQLException connectionFault;
+
+    FaultInjectingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    void failNextStatements(int count, SQLException fault) {
+        for (int i = 0; i < count; i++) {
+            statementFaults.add(fault);
+        }
+    }
+
+    void failConnections(SQLException fault) {
+        this.connectionFault = fault;
+    }
+
+    void heal() {
+        statementFaults.clear();
+        connectionFault = null;
+    }
+
+    int getConnectionAttempts() {
+        return connectionAttempts.get();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        connectionAttempts.incrementAndGet();
+        SQLException fault = connectionFault;
+        if (fault != null) {
+            throw fault;
+        }
+        Connection connection = super.getConnection();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("prepare") || method.getName().equals("createStatement")) {
+                        SQLException statementFault = statementFaults.poll();
+                        if (statementFault != null) {
+                            throw statementFault;
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
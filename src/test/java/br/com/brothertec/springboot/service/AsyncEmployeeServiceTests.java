@@ -0,0 +1,110 @@
+package br.com.brothertec.springboot.service;
+
+import br.com.brothertec.springboot.bulkhead.BulkheadProperties;
+import br.com.brothertec.springboot.bulkhead.EmployeeBulkheads;
+import br.com.brothertec.springboot.exception.TooManyIdsException;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.service.impl.AsyncEmployeeServiceImpl;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncEmployeeServiceTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeBulkheads bulkheads;
+
+    private AsyncEmployeeServiceImpl asyncEmployeeService;
+
+    @BeforeEach
+    public void setup() {
+        bulkheads = new EmployeeBulkheads(new BulkheadProperties());
+        asyncEmployeeService = new AsyncEmployeeServiceImpl(employeeService, bulkheads);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bulkheads.destroy();
+        TenantContext.clear();
+    }
+
+    @DisplayName("Lookups by ids overlap instead of running one after the other")
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenLookupsRunConcurrently() throws Exception {
+        //given - precondition or setup
+        //each lookup only returns once both are in flight, so a serial implementation would time out
+        CyclicBarrier bothInFlight = new CyclicBarrier(2);
+        given(employeeService.getEmployeeById(1L)).willAnswer(invocation -> {
+            bothInFlight.await(5, TimeUnit.SECONDS);
+            return Optional.of(employee(1L));
+        });
+        given(employeeService.getEmployeeById(2L)).willAnswer(invocation -> {
+            bothInFlight.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+
+        //when - action or the behavior that we are going test
+        List<Employee> employees = asyncEmployeeService.getEmployeesByIds(List.of(1L, 2L)).get(10, TimeUnit.SECONDS);
+
+        //then - verify the output
+        assertThat(employees).extracting(Employee::getId).containsExactly(1L);
+    }
+
+    @DisplayName("Lookups by more ids than the cap are refused before any is queued")
+    @Test
+    public void givenTooManyIds_whenGetEmployeesByIds_thenThrowsTooManyIdsException() {
+        //given - precondition or setup
+        List<Long> ids = LongStream.rangeClosed(1, AsyncEmployeeServiceImpl.MAX_IDS + 1).boxed().toList();
+
+        //when - action or the behavior that we are going test
+        assertThrows(TooManyIdsException.class, () -> asyncEmployeeService.getEmployeesByIds(ids));
+
+        //then - verify the output
+        verify(employeeService, never()).getEmployeeById(anyLong());
+    }
+
+    @DisplayName("Async calls run under the caller's tenant")
+    @Test
+    public void givenTenant_whenGetEmployeeById_thenServiceSeesCallerTenant() throws Exception {
+        //given - precondition or setup
+        TenantContext.setTenantId("acme");
+        given(employeeService.getEmployeeById(1L)).willAnswer(invocation ->
+                Optional.of(Employee.builder().id(1L).tenantId(TenantContext.getTenantId()).build()));
+
+        //when - action or the behavior that we are going test
+        Optional<Employee> employee = asyncEmployeeService.getEmployeeById(1L).get(5, TimeUnit.SECONDS);
+
+        //then - verify the output
+        assertThat(employee).get().extracting(Employee::getTenantId).isEqualTo("acme");
+    }
+
+    private static Employee employee(long id) {
+        return Employee.builder()
+                .id(id)
+                .firstName("Romulo")
+                .lastName("Gomes")
+                .email("romulo@teste.com")
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.brothertec.springboot.service;
+
+import br.com.brothertec.springboot.bulkhead.BulkheadProperties;
+import br.com.brothertec.springboot.bulkhead.EmployeeBulkheads;
+import br.com.brothertec.springboot.cache.EmployeeNearCache;
+import br.com.brothertec.springboot.cache.LoopbackInvalidationBus;
+import br.com.brothertec.springboot.exception.EmployeeConflictException;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.repository.EmployeeRepository;
+import br.com.brothertec.springboot.resilience.DatabaseResilience;
+import br.com.brothertec.springboot.resilience.ResilienceProperties;
+import br.com.brothertec.springboot.service.impl.EmployeeServiceImpl;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import br.com.brothertec.springboot.warmup.EmployeeAccessLog;
+import br.com.brothertec.springboot.warmup.WarmupProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//editors increment a counter kept in firstName through read-modify-write updates of the same employee;
+//every increment that is missing from the final value is a lost update. the rows are committed, so they live in a
+//tenant of their own where repository tests sharing this context cannot see them
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeConcurrentUpdateTests {
+    private static final String TENANT = "concurrent-update";
+    private static final int EDITORS = 8;
+    private static final int INCREMENTS_PER_EDITOR = 50;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeBulkheads bulkheads;
+
+    private EmployeeServiceImpl employeeService;
+
+    private long employeeId;
+
+    @BeforeEach
+    public void setup() {
+        TenantContext.setTenantId(TENANT);
+        bulkheads = new EmployeeBulkheads(new BulkheadProperties());
+        employeeService = new EmployeeServiceImpl(employeeRepository, bulkheads,
+                new EmployeeNearCache(new LoopbackInvalidationBus(), 100, Duration.ofMinutes(1)),
+                new EmployeeAccessLog(new WarmupProperties()), new DatabaseResilience(new ResilienceProperties()),
+                new UpdateProperties());
+        employeeId = employeeRepository.save(Employee.builder()
+                .firstName("0")
+                .lastName("Gomes")
+                .email("romulo@teste.com")
+                .build()).getId();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.deleteAll();
+        bulkheads.destroy();
+        TenantContext.clear();
+    }
+
+    @DisplayName("Versioned updates under contention lose nothing")
+    @Test
+    public void givenConcurrentEditorsSendingVersions_whenIncrementing_thenNoUpdateIsLost() throws Exception {
+        //when - action or the behavior that we are going test
+        Result result = run(true);
+
+        //then - verify the output
+        assertThat(result.lostUpdates()).isZero();
+    }
+
+    @DisplayName("Updates without a version are last writer wins (reported, not asserted)")
+    @Test
+    public void givenConcurrentEditorsWithoutVersions_whenIncrementing_thenLostUpdatesAreCounted() throws Exception {
+        //when - action or the behavior that we are going test
+        Result result = run(false);
+
+        //then - verify the output
+        assertThat(result.lostUpdates()).isNotNegative();
+    }
+
+    private Result run(boolean sendVersion) throws Exception {
+        LongAdder conflicts = new LongAdder();
+        CyclicBarrier start = new CyclicBarrier(EDITORS);
+        ExecutorService editors = Executors.newFixedThreadPool(EDITORS);
+        long startedAt = System.nanoTime();
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int i = 0; i < EDITORS; i++) {
+                done.add(editors.submit(() -> {
+                    TenantContext.setTenantId(TENANT);
+                    start.await();
+                    for (int increment = 0; increment < INCREMENTS_PER_EDITOR; increment++) {
+                        incrementUntilApplied(sendVersion, conflicts);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> editor : done) {
+                editor.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            editors.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        int expected = EDITORS * INCREMENTS_PER_EDITOR;
+        int actual = Integer.parseInt(employeeRepository.findById(employeeId).orElseThrow().getFirstName());
+        Result result = new Result(expected - actual, conflicts.intValue());
+        System.out.printf("versioned=%s updates=%d lost=%d conflicts=%d throughput=%.0f updates/s%n", sendVersion,
+                expected, result.lostUpdates(), result.conflicts(), expected / (elapsedNanos / 1e9));
+        return result;
+    }
+
+    //what a client does: read, edit, send back, and start over from the current state on 409
+    private void incrementUntilApplied(boolean sendVersion, LongAdder conflicts) {
+        while (true) {
+            Employee read = employeeRepository.findById(employeeId).orElseThrow();
+            Employee edited = Employee.builder()
+                    .id(employeeId)
+                    .firstName(String.valueOf(Integer.parseInt(read.getFirstName()) + 1))
+                    .lastName(read.getLastName())
+                    .email(read.getEmail())
+                    .version(sendVersion ? read.getVersion() : null)
+                    .build();
+            try {
+                employeeService.updateEmployee(edited);
+                return;
+            } catch (EmployeeConflictException e) {
+                conflicts.increment();
+            }
+        }
+    }
+
+    private record Result(int lostUpdates, int conflicts) {
+    }
+}
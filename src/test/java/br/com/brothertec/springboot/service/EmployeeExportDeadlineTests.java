@@ -0,0 +1,131 @@
+package br.com.brothertec.springboot.service;
+
+import br.com.brothertec.springboot.bulkhead.BulkheadProperties;
+import br.com.brothertec.springboot.bulkhead.EmployeeBulkheads;
+import br.com.brothertec.springboot.cache.EmployeeNearCache;
+import br.com.brothertec.springboot.cache.LoopbackInvalidationBus;
+import br.com.brothertec.springboot.controller.EmployeeController;
+import br.com.brothertec.springboot.deadline.DeadlineDataSourcePostProcessor;
+import br.com.brothertec.springboot.deadline.DeadlineProperties;
+import br.com.brothertec.springboot.deadline.RequestDeadline;
+import br.com.brothertec.springboot.deadline.RequestDeadlineInterceptor;
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.repository.EmployeeRepository;
+import br.com.brothertec.springboot.resilience.CircuitBreaker;
+import br.com.brothertec.springboot.resilience.DatabaseResilience;
+import br.com.brothertec.springboot.resilience.ResilienceProperties;
+import br.com.brothertec.springboot.service.impl.EmployeeServiceImpl;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import br.com.brothertec.springboot.warmup.EmployeeAccessLog;
+import br.com.brothertec.springboot.warmup.WarmupProperties;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//a client reading slowly keeps the export going past the 10s list deadline; under that deadline it would be cut off.
+//the rows are committed, so they live in a tenant of their own
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(DeadlineDataSourcePostProcessor.class)
+public class EmployeeExportDeadlineTests {
+    private static final int ROWS = 600;
+    private static final long PAUSE_MILLIS = 20;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeBulkheads bulkheads;
+
+    private DatabaseResilience resilience;
+
+    private EmployeeServiceImpl employeeService;
+
+    @BeforeEach
+    public void setup() {
+        TenantContext.setTenantId("export");
+        bulkheads = new EmployeeBulkheads(new BulkheadProperties());
+        resilience = new DatabaseResilience(new ResilienceProperties());
+        employeeService = new EmployeeServiceImpl(employeeRepository, bulkheads,
+                new EmployeeNearCache(new LoopbackInvalidationBus(), 100, Duration.ofMinutes(1)),
+                new EmployeeAccessLog(new WarmupProperties()), resilience, new UpdateProperties());
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            employees.add(Employee.builder()
+                    .firstName("Romulo")
+                    .lastName("Gomes")
+                    .email("romulo" + i + "@teste.com")
+                    .build());
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestDeadline.clear();
+        employeeRepository.deleteAll();
+        bulkheads.destroy();
+        TenantContext.clear();
+    }
+
+    @DisplayName("Full export read for longer than 10s completes under its own deadline")
+    @Test
+    public void givenSlowClient_whenStreamAllEmployeesForMoreThan10s_thenEveryRowIsSent() throws Exception {
+        //given - precondition or setup
+        startDeadlineOf(EmployeeController.class.getMethod("streamAllEmployees", List.class, HttpServletResponse.class));
+        List<EmployeeDto> sent = new ArrayList<>();
+
+        //when - action or the behavior that we are going test
+        long startedAt = System.nanoTime();
+        employeeService.streamAllEmployees(employee -> {
+            sent.add(employee);
+            pause();
+        });
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        //then - verify the output
+        assertThat(elapsedNanos).isGreaterThan(TimeUnit.SECONDS.toNanos(10));
+        assertThat(sent).hasSize(ROWS);
+        assertThat(resilience.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    //the deadline the interceptor gives a request to this handler under the shipped configuration
+    private static void startDeadlineOf(Method handler) throws IOException {
+        DeadlineProperties properties = new Binder(ConfigurationPropertySources.from(
+                new ResourcePropertySource("classpath:application.properties")))
+                .bind("employees.deadline", DeadlineProperties.class)
+                .get();
+        new RequestDeadlineInterceptor(properties).preHandle(new MockHttpServletRequest(),
+                new MockHttpServletResponse(), new HandlerMethod(new Object(), handler));
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(PAUSE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,26 +1,49 @@
 package br.com.brothertec.springboot.service;
 
+import br.com.brothertec.springboot.bulkhead.BulkheadProperties;
+import br.com.brothertec.springboot.bulkhead.EmployeeBulkheads;
+import br.com.brothertec.springboot.cache.EmployeeNearCache;
+import br.com.brothertec.springboot.cache.LoopbackInvalidationBus;
+import br.com.brothertec.springboot.dto.EmployeeDto;
+import br.com.brothertec.springboot.exception.EmployeeConflictException;
 import br.com.brothertec.springboot.exception.ResourceNotFoundException;
 import br.com.brothertec.springboot.model.Employee;
 import br.com.brothertec.springboot.repository.EmployeeRepository;
+import br.com.brothertec.springboot.resilience.DatabaseResilience;
+import br.com.brothertec.springboot.resilience.ResilienceProperties;
 import br.com.brothertec.springboot.service.impl.EmployeeServiceImpl;
+import br.com.brothertec.springboot.warmup.EmployeeAccessLog;
+import br.com.brothertec.springboot.warmup.WarmupProperties;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,7 +52,8 @@ public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
-    @InjectMocks
+    private EmployeeBulkheads bulkheads;
+
     private EmployeeServiceImpl employeeService;
 
     private Employee employee;
@@ -37,7 +61,11 @@ public class EmployeeServiceTests {
     @BeforeEach
     public void setup() {
 //        employeeRepository = Mockito.mock(EmployeeRepository.class);
-//        employeeService = new EmployeeServiceImpl(employeeRepository);
+        bulkheads = new EmployeeBulkheads(new BulkheadProperties());
+        employeeService = new EmployeeServiceImpl(employeeRepository, bulkheads,
+                new EmployeeNearCache(new LoopbackInvalidationBus(), 100, Duration.ofMinutes(1)),
+                new EmployeeAccessLog(new WarmupProperties()),
+                new DatabaseResilience(new ResilienceProperties()), new UpdateProperties());
 
         employee = Employee.builder()
                 .firstName("Romulo")
@@ -46,6 +74,11 @@ public class EmployeeServiceTests {
                 .build();
     }
 
+    @AfterEach
+    public void tearDown() {
+        bulkheads.destroy();
+    }
+
     @DisplayName("Test saveEmployee method")
     @Test
     public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
@@ -145,7 +178,9 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeObject_whenUpdateEmployee_thenReturnEmployeeObject() {
         //given - precondition or setup
-        given(employeeRepository.save(employee)).willReturn(employee);
+        employee.setId(1L);
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(copy(employee, 0L)));
+        given(employeeRepository.save(any(Employee.class))).willAnswer(invocation -> invocation.getArgument(0));
 
         //when - action or the behavior that we are going test
         employee.setEmail("rominho@gmail.com");
@@ -173,4 +208,256 @@ public class EmployeeServiceTests {
 
     }
 
-}  
+    @DisplayName("saveEmployee retries a deadlock")
+    @Test
+    public void givenDeadlockOnFirstAttempt_whenSaveEmployee_thenRetriedAndSaved() {
+        //given - precondition or setup
+        given(employeeRepository.findByEmail(employee.getEmail()))
+                .willThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"))
+                .willReturn(Optional.empty());
+        given(employeeRepository.save(employee)).willReturn(employee);
+
+        //when - action or the behavior that we are going test
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+
+        //then - verify the output
+        assertThat(savedEmployee).isEqualTo(employee);
+        verify(employeeRepository, times(2)).findByEmail(employee.getEmail());
+        verify(employeeRepository, times(1)).save(employee);
+    }
+
+    @DisplayName("Get by id serves an expired cached employee while the database is down")
+    @Test
+    public void givenExpiredCachedEmployee_whenDatabaseDown_thenGetEmployeeByIdReturnsStaleEmployee() {
+        //given - precondition or setup
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getRetry().setMaxAttempts(1);
+        EmployeeServiceImpl service = new EmployeeServiceImpl(employeeRepository, bulkheads,
+                new EmployeeNearCache(new LoopbackInvalidationBus(), 100, Duration.ZERO),
+                new EmployeeAccessLog(new WarmupProperties()), new DatabaseResilience(properties),
+                new UpdateProperties());
+        given(employeeRepository.findById(1L))
+                .willReturn(Optional.of(employee))
+                .willThrow(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+                        new SQLNonTransientConnectionException("Connection refused", "08001")));
+        service.getEmployeeById(1L);
+
+        //when - action or the behavior that we are going test
+        Optional<Employee> staleEmployee = service.getEmployeeById(1L);
+
+        //then - verify the output
+        assertThat(staleEmployee).get().extracting(Employee::getEmail).isEqualTo(employee.getEmail());
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    @DisplayName("Get by id fails when the database is down and nothing is cached")
+    @Test
+    public void givenNothingCached_whenDatabaseDown_thenGetEmployeeByIdThrows() {
+        //given - precondition or setup
+        given(employeeRepository.findById(2L))
+                .willThrow(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+                        new SQLNonTransientConnectionException("Connection refused", "08001")));
+
+        //when - action or the behavior that we are going test
+        //then - verify the output
+        assertThrows(CannotGetJdbcConnectionException.class, () -> employeeService.getEmployeeById(2L));
+    }
+
+    @DisplayName("Full export is retried when it fails before the first row")
+    @Test
+    public void givenDeadlockBeforeFirstRow_whenStreamAllEmployees_thenRetriedAndEveryRowSent() {
+        //given - precondition or setup
+        willThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"))
+                .willAnswer(invocation -> {
+                    Consumer<EmployeeDto> consumer = invocation.getArgument(0);
+                    consumer.accept(new EmployeeDto(1L, "Romulo", "Gomes", "romulo@teste.com", 0L));
+                    return null;
+                })
+                .given(employeeRepository).streamAll(any());
+        List<EmployeeDto> sent = new ArrayList<>();
+
+        //when - action or the behavior that we are going test
+        employeeService.streamAllEmployees(sent::add);
+
+        //then - verify the output
+        assertThat(sent).hasSize(1);
+        verify(employeeRepository, times(2)).streamAll(any());
+    }
+
+    @DisplayName("Full export is not retried once rows were sent")
+    @Test
+    public void givenDeadlockAfterFirstRow_whenStreamAllEmployees_thenNotRetried() {
+        //given - precondition or setup
+        willAnswer(invocation -> {
+            Consumer<EmployeeDto> consumer = invocation.getArgument(0);
+            consumer.accept(new EmployeeDto(1L, "Romulo", "Gomes", "romulo@teste.com", 0L));
+            throw new CannotAcquireLockException("Deadlock found when trying to get lock");
+        }).given(employeeRepository).streamAll(any());
+        List<EmployeeDto> sent = new ArrayList<>();
+
+        //when - action or the behavior that we are going test
+        assertThrows(CannotAcquireLockException.class, () -> employeeService.streamAllEmployees(sent::add));
+
+        //then - verify the output
+        assertThat(sent).hasSize(1);
+        verify(employeeRepository, times(1)).streamAll(any());
+    }
+
+    @DisplayName("A client reading an export slowly does not hold up list scans")
+    @Test
+    public void givenStalledExport_whenGetEmployees_thenScanNotBlocked() throws Exception {
+        //given - precondition or setup
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setScan(new BulkheadProperties.Pool(1, 1));
+        EmployeeBulkheads singleScanThread = new EmployeeBulkheads(properties);
+        EmployeeServiceImpl service = new EmployeeServiceImpl(employeeRepository, singleScanThread,
+                new EmployeeNearCache(new LoopbackInvalidationBus(), 100, Duration.ofMinutes(1)),
+                new EmployeeAccessLog(new WarmupProperties()),
+                new DatabaseResilience(new ResilienceProperties()), new UpdateProperties());
+        willAnswer(invocation -> {
+            Consumer<EmployeeDto> consumer = invocation.getArgument(0);
+            consumer.accept(new EmployeeDto(1L, "Romulo", "Gomes", "romulo@teste.com", 0L));
+            return null;
+        }).given(employeeRepository).streamAll(any());
+        given(employeeRepository.findAll(any(Pageable.class))).willReturn(new PageImpl<>(List.of(employee)));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch clientReads = new CountDownLatch(1);
+        Thread export = new Thread(() -> service.streamAllEmployees(row -> {
+            writing.countDown();
+            try {
+                clientReads.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        export.start();
+        writing.await();
+
+        //when - action or the behavior that we are going test
+        List<Employee> page = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> service.getEmployees(0, 10));
+
+        //then - verify the output
+        assertThat(page).containsExactly(employee);
+        clientReads.countDown();
+        export.join();
+        singleScanThread.destroy();
+    }
+
+    @DisplayName("updateEmployee rejects changes made to an outdated version")
+    @Test
+    public void givenOutdatedVersion_whenUpdateEmployee_thenConflictCarriesCurrentEmployee() {
+        //given - precondition or setup
+        employee.setId(1L);
+        Employee current = copy(employee, 3L);
+        current.setLastName("Silva");
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(current));
+        Employee edited = copy(employee, 2L);
+        edited.setFirstName("Rominho");
+
+        //when - action or the behavior that we are going test
+        EmployeeConflictException conflict = assertThrows(EmployeeConflictException.class,
+                () -> employeeService.updateEmployee(edited));
+
+        //then - verify the output
+        assertThat(conflict.getCurrent().getVersion()).isEqualTo(3L);
+        assertThat(conflict.getCurrent().getLastName()).isEqualTo("Silva");
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    @DisplayName("updateEmployee rejects an outdated version even when its fields match the current ones")
+    @Test
+    public void givenOutdatedVersionWithCurrentFields_whenUpdateEmployee_thenConflict() {
+        //given - precondition or setup
+        employee.setId(1L);
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(copy(employee, 3L)));
+        Employee edited = copy(employee, 2L);
+
+        //when - action or the behavior that we are going test
+        //then - verify the output
+        assertThrows(EmployeeConflictException.class, () -> employeeService.updateEmployee(edited));
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    @DisplayName("updateEmployee does not merge a versioned update that lost a race")
+    @Test
+    public void givenVersionedUpdateRacingChangeOfOtherField_whenUpdateEmployee_thenConflict() {
+        //given - precondition or setup
+        employee.setId(1L);
+        Employee concurrent = copy(employee, 1L);
+        concurrent.setLastName("Silva");
+        given(employeeRepository.findById(1L))
+                .willReturn(Optional.of(copy(employee, 0L)))
+                .willReturn(Optional.of(concurrent));
+        given(employeeRepository.save(any(Employee.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+        Employee edited = copy(employee, 0L);
+        edited.setFirstName("Rominho");
+
+        //when - action or the behavior that we are going test
+        EmployeeConflictException conflict = assertThrows(EmployeeConflictException.class,
+                () -> employeeService.updateEmployee(edited));
+
+        //then - verify the output
+        assertThat(conflict.getCurrent().getVersion()).isEqualTo(1L);
+        verify(employeeRepository, times(1)).save(any(Employee.class));
+    }
+
+    @DisplayName("updateEmployee merges a concurrent change of another field")
+    @Test
+    public void givenConcurrentChangeOfOtherField_whenUpdateEmployee_thenBothChangesAreKept() {
+        //given - precondition or setup
+        employee.setId(1L);
+        Employee concurrent = copy(employee, 1L);
+        concurrent.setLastName("Silva");
+        given(employeeRepository.findById(1L))
+                .willReturn(Optional.of(copy(employee, 0L)))
+                .willReturn(Optional.of(concurrent));
+        given(employeeRepository.save(any(Employee.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        Employee edited = copy(employee, null);
+        edited.setFirstName("Rominho");
+
+        //when - action or the behavior that we are going test
+        Employee updatedEmployee = employeeService.updateEmployee(edited);
+
+        //then - verify the output
+        assertThat(updatedEmployee.getFirstName()).isEqualTo("Rominho");
+        assertThat(updatedEmployee.getLastName()).isEqualTo("Silva");
+        assertThat(updatedEmployee.getVersion()).isEqualTo(1L);
+    }
+
+    @DisplayName("updateEmployee does not merge a concurrent change of the same field")
+    @Test
+    public void givenConcurrentChangeOfSameField_whenUpdateEmployee_thenConflict() {
+        //given - precondition or setup
+        employee.setId(1L);
+        Employee concurrent = copy(employee, 1L);
+        concurrent.setFirstName("Romulinho");
+        given(employeeRepository.findById(1L))
+                .willReturn(Optional.of(copy(employee, 0L)))
+                .willReturn(Optional.of(concurrent));
+        given(employeeRepository.save(any(Employee.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+        Employee edited = copy(employee, null);
+        edited.setFirstName("Rominho");
+
+        //when - action or the behavior that we are going test
+        EmployeeConflictException conflict = assertThrows(EmployeeConflictException.class,
+                () -> employeeService.updateEmployee(edited));
+
+        //then - verify the output
+        assertThat(conflict.getCurrent().getFirstName()).isEqualTo("Romulinho");
+        verify(employeeRepository, times(1)).save(any(Employee.class));
+    }
+
+    private static Employee copy(Employee employee, Long version) {
+        return Employee.builder()
+                .id(employee.getId())
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,225 @@
+package br.com.brothertec.springboot.sharding;
+
+import br.com.brothertec.springboot.event.EmployeeChangedEvent;
+import br.com.brothertec.springboot.exception.EmployeeConflictException;
+import br.com.brothertec.springboot.id.SnowflakeIdGenerator;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.resilience.DatabaseResilience;
+import br.com.brothertec.springboot.resilience.ResilienceProperties;
+import br.com.brothertec.springboot.service.UpdateProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ShardedEmployeeStoreTests {
+
+    private static final int SHARDS = 3;
+
+    private List<DataSource> dataSources = new ArrayList<>();
+
+    private List<Object> events = new CopyOnWriteArrayList<>();
+
+    private ShardedEmployeeStore store;
+
+    @BeforeEach
+    public void setup() {
+        for (int index = 0; index < SHARDS; index++) {
+            DataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:shard" + index + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+            new ResourceDatabasePopulator(new ClassPathResource("db/sharded-employees-schema.sql")).execute(dataSource);
+            dataSources.add(dataSource);
+        }
+        store = storeOnNode(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.getShards().forEach(shard -> shard.getJdbcTemplate().execute("drop all objects"));
+        store.shutdown();
+    }
+
+    //another instance of the application over the same shard databases
+    private ShardedEmployeeStore storeOnNode(int nodeId) {
+        List<Shard> shards = new ArrayList<>();
+        for (int index = 0; index < SHARDS; index++) {
+            shards.add(new Shard(index, "shard-" + index, dataSources.get(index)));
+        }
+        return new ShardedEmployeeStore(shards, 128, new SnowflakeIdGenerator(nodeId), events::add,
+                Executors.newFixedThreadPool(SHARDS));
+    }
+
+    private List<Employee> saveEmployees(int count) {
+        List<Employee> saved = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            saved.add(store.save(Employee.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("employee" + i + "@gmail.com")
+                    .build()));
+        }
+        return saved;
+    }
+
+    @DisplayName("Saved employees are spread across every shard")
+    @Test
+    public void givenManyEmployees_whenSave_thenEveryShardHoldsRows() {
+        //given - precondition or setup
+        saveEmployees(300);
+
+        //when - action or the behavior that we are going test
+        List<Long> rowsPerShard = store.getShards().stream()
+                .map(shard -> shard.getJdbcTemplate().queryForObject("select count(*) from employees", Long.class))
+                .toList();
+
+        //then - verify the output
+        assertThat(rowsPerShard).allSatisfy(rows -> assertThat(rows).isGreaterThan(50L));
+        assertThat(store.count()).isEqualTo(300);
+    }
+
+    @DisplayName("Employee is read back from the shard encoded in its id")
+    @Test
+    public void givenSavedEmployee_whenFindById_thenReturnsFromOwningShard() {
+        //given - precondition or setup
+        Employee employee = saveEmployees(1).get(0);
+
+        //when - action or the behavior that we are going test
+        Optional<Employee> found = store.findById(employee.getId());
+
+        //then - verify the output
+        assertThat(found).isPresent();
+        assertThat(found.get().getEmail()).isEqualTo(employee.getEmail());
+        Shard owner = store.getShards().get(Shard.indexOf(employee.getId()));
+        assertThat(owner.getJdbcTemplate().queryForObject(
+                "select count(*) from employees where id = ?", Long.class, employee.getId())).isEqualTo(1);
+    }
+
+    @DisplayName("Email lookup still finds an employee whose email changed after placement")
+    @Test
+    public void givenChangedEmail_whenFindByEmail_thenFoundOnOriginalShard() {
+        //given - precondition or setup
+        Employee employee = saveEmployees(1).get(0);
+        employee.setEmail("renamed@gmail.com");
+        store.save(employee);
+
+        //when - action or the behavior that we are going test
+        Optional<Employee> found = store.findByEmail("renamed@gmail.com");
+
+        //then - verify the output
+        assertThat(found).isPresent();
+        assertThat(found.get().getId()).isEqualTo(employee.getId());
+    }
+
+    @DisplayName("Pages merged across shards are ordered by id without gaps or overlaps")
+    @Test
+    public void givenEmployeesOnAllShards_whenFindPage_thenPagesConcatenateToFindAll() {
+        //given - precondition or setup
+        saveEmployees(50);
+
+        //when - action or the behavior that we are going test
+        List<Employee> paged = new ArrayList<>();
+        for (int page = 0; page < 6; page++) {
+            paged.addAll(store.findPage(page, 10));
+        }
+
+        //then - verify the output
+        assertThat(paged).extracting(Employee::getId)
+                .isSorted()
+                .containsExactlyElementsOf(store.findAll().stream().map(Employee::getId).toList());
+        assertThat(paged).hasSize(50);
+    }
+
+    @DisplayName("Two instances inserting into the same shards never reuse an id")
+    @Test
+    public void givenTwoNodes_whenSaveConcurrently_thenEveryInsertSucceeds() {
+        //given - precondition or setup
+        ShardedEmployeeStore otherNode = storeOnNode(2);
+
+        //when - action or the behavior that we are going test
+        for (int i = 0; i < 100; i++) {
+            store.save(Employee.builder().firstName("First").lastName("Last").email("a" + i + "@gmail.com").build());
+            otherNode.save(Employee.builder().firstName("First").lastName("Last").email("b" + i + "@gmail.com").build());
+        }
+        otherNode.shutdown();
+
+        //then - verify the output
+        assertThat(store.findAll()).hasSize(200)
+                .allSatisfy(employee -> assertThat(store.shardOf(employee.getId()).getJdbcTemplate().queryForObject(
+                        "select count(*) from employees where id = ?", Long.class, employee.getId())).isEqualTo(1));
+    }
+
+    @DisplayName("Inserts, updates and deletes are published with the state before and after")
+    @Test
+    public void givenWrites_whenCommitted_thenChangesPublished() {
+        //given - precondition or setup
+        Employee employee = saveEmployees(1).get(0);
+        employee.setLastName("Silva");
+
+        //when - action or the behavior that we are going test
+        store.save(employee);
+        store.deleteById(employee.getId());
+
+        //then - verify the output
+        assertThat(events).hasSize(3).allSatisfy(event -> assertThat(event).isInstanceOf(EmployeeChangedEvent.class));
+        EmployeeChangedEvent inserted = (EmployeeChangedEvent) events.get(0);
+        EmployeeChangedEvent updated = (EmployeeChangedEvent) events.get(1);
+        EmployeeChangedEvent deleted = (EmployeeChangedEvent) events.get(2);
+        assertThat(inserted.type()).isEqualTo(EmployeeChangedEvent.Type.INSERTED);
+        assertThat(inserted.current().getLastName()).isEqualTo("Last0");
+        assertThat(updated.type()).isEqualTo(EmployeeChangedEvent.Type.UPDATED);
+        assertThat(updated.previous().getLastName()).isEqualTo("Last0");
+        assertThat(updated.current().getLastName()).isEqualTo("Silva");
+        assertThat(updated.current().getVersion()).isEqualTo(1L);
+        assertThat(deleted.type()).isEqualTo(EmployeeChangedEvent.Type.DELETED);
+        assertThat(deleted.previous().getLastName()).isEqualTo("Silva");
+    }
+
+    @DisplayName("An outdated versioned update answers a conflict carrying the current employee")
+    @Test
+    public void givenOutdatedVersion_whenUpdateEmployee_thenConflictCarriesCurrentEmployee() {
+        //given - precondition or setup
+        ShardedEmployeeService service = new ShardedEmployeeService(store,
+                new DatabaseResilience(new ResilienceProperties()), new UpdateProperties());
+        Employee employee = saveEmployees(1).get(0);
+        service.updateEmployee(Employee.builder().id(employee.getId()).version(0L)
+                .firstName("First0").lastName("Silva").email(employee.getEmail()).build());
+        Employee outdated = Employee.builder().id(employee.getId()).version(0L)
+                .firstName("Maria").lastName("Last0").email(employee.getEmail()).build();
+
+        //when - action or the behavior that we are going test
+        EmployeeConflictException conflict = assertThrows(EmployeeConflictException.class,
+                () -> service.updateEmployee(outdated));
+
+        //then - verify the output
+        assertThat(conflict.getCurrent().getVersion()).isEqualTo(1L);
+        assertThat(conflict.getCurrent().getLastName()).isEqualTo("Silva");
+        assertThat(store.findById(employee.getId()).get().getFirstName()).isEqualTo("First0");
+    }
+
+    @DisplayName("Deleted employee is no longer found")
+    @Test
+    public void givenSavedEmployee_whenDeleteById_thenNotFound() {
+        //given - precondition or setup
+        Employee employee = saveEmployees(1).get(0);
+
+        //when - action or the behavior that we are going test
+        boolean deleted = store.deleteById(employee.getId());
+
+        //then - verify the output
+        assertThat(deleted).isTrue();
+        assertThat(store.findById(employee.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.brothertec.springboot.stats;
+
+import br.com.brothertec.springboot.dto.EmployeeStatsDto;
+import br.com.brothertec.springboot.event.EmployeeChangePublisher;
+import br.com.brothertec.springboot.model.Employee;
+import br.com.brothertec.springboot.repository.EmployeeRepository;
+import br.com.brothertec.springboot.repository.EmployeeStatRepository;
+import br.com.brothertec.springboot.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//stats follow committed changes only, so every repository call here runs in its own transaction
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EmployeeChangePublisher.class, EmployeeStatsAggregator.class})
+public class EmployeeStatsAggregatorTests {
+
+    @Autowired
+    private EmployeeStatsAggregator employeeStatsAggregator;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeStatRepository employeeStatRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        TenantContext.setTenantId("stats");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.deleteAll();
+        employeeStatsAggregator.flush();
+        employeeStatRepository.deleteAll();
+        TenantContext.clear();
+    }
+
+    private Employee saveEmployee(String firstName, String lastName, String email) {
+        return employeeRepository.save(Employee.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .build());
+    }
+
+    @DisplayName("Stats follow saves, updates and deletes before and after a flush")
+    @Test
+    public void givenSavedUpdatedAndDeletedEmployees_whenGetStats_thenCountsMatch() {
+        //given - precondition or setup
+        saveEmployee("Romulo", "Gomes", "romulo@gmail.com");
+        Employee nayra = saveEmployee("Nayra", "Cruz", "nayra@gmail.com");
+        Employee tony = saveEmployee("Tony", "Stark", "tony@teste.com");
+        nayra = employeeRepository.findById(nayra.getId()).get();
+        nayra.setEmail("nayra@teste.com");
+        employeeRepository.save(nayra);
+        employeeRepository.deleteById(tony.getId());
+
+        //when - action or the behavior that we are going test
+        EmployeeStatsDto buffered = employeeStatsAggregator.getStats();
+        employeeStatsAggregator.flush();
+        EmployeeStatsDto flushed = employeeStatsAggregator.getStats();
+
+        //then - verify the output
+        for (EmployeeStatsDto stats : new EmployeeStatsDto[]{buffered, flushed}) {
+            assertThat(stats.total()).isEqualTo(2);
+            assertThat(stats.byDomain()).isEqualTo(Map.of("gmail.com", 1L, "teste.com", 1L));
+            assertThat(stats.byFirstNameInitial()).isEqualTo(Map.of("N", 1L, "R", 1L));
+            assertThat(stats.byLastNameInitial()).isEqualTo(Map.of("C", 1L, "G", 1L));
+        }
+    }
+
+    @DisplayName("Empty stats table is seeded from the employees table")
+    @Test
+    public void givenExistingEmployeesAndNoStats_whenInitialize_thenStatsCountThem() {
+        //given - precondition or setup
+        saveEmployee("Romulo", "Gomes", "romulo@gmail.com");
+        saveEmployee("Nayra", "Cruz", "nayra@Gmail.com");
+        EmployeeStatsAggregator freshAggregator = new EmployeeStatsAggregator(employeeStatRepository, transactionManager);
+
+        //when - action or the behavior that we are going test
+        freshAggregator.initialize();
+        EmployeeStatsDto stats = freshAggregator.getStats();
+
+        //then - verify the output
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.byDomain()).isEqualTo(Map.of("gmail.com", 2L));
+    }
+
+    @DisplayName("Rebuild counts rows inserted without entity events")
+    @Test
+    public void givenSeededStatsAndBulkInsertedEmployee_whenRebuild_thenStatsCountEveryRow() {
+        //given - precondition or setup
+        saveEmployee("Romulo", "Gomes", "romulo@gmail.com");
+        employeeStatsAggregator.flush();
+        jdbcTemplate.update("insert into employees (id, first_name, last_name, email, tenant_id) values (?, ?, ?, ?, ?)",
+                42L, "Nayra", "Cruz", "nayra@teste.com", "stats");
+
+        //when - action or the behavior that we are going test
+        employeeStatsAggregator.rebuild();
+        EmployeeStatsDto stats = employeeStatsAggregator.getStats();
+
+        //then - verify the output
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.byDomain()).isEqualTo(Map.of("gmail.com", 1L, "teste.com", 1L));
+        assertThat(stats.byFirstNameInitial()).isEqualTo(Map.of("N", 1L, "R", 1L));
+    }
+}
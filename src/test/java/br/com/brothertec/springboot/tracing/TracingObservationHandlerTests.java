@@ -0,0 +1,102 @@
+package br.com.brothertec.springboot.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TracingObservationHandlerTests {
+
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter(100);
+
+    private ObservationRegistry registry(double samplingProbability) {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig()
+                .observationHandler(new TracingObservationHandler(() -> registry, samplingProbability, exporter));
+        return registry;
+    }
+
+    @DisplayName("Nested observations become child spans of the same trace")
+    @Test
+    public void givenParentObservation_whenChildObserved_thenChildSpanSharesTraceAndPointsToParent() {
+        //given - precondition or setup
+        ObservationRegistry registry = registry(1.0);
+        Observation parent = Observation.start("employees.service", registry);
+
+        //when - action or the behavior that we are going test
+        try (Observation.Scope scope = parent.openScope()) {
+            Observation.createNotStarted("employees.jdbc", registry)
+                    .contextualName("jdbc select")
+                    .lowCardinalityKeyValue("sql.id", "0000002a")
+                    .observe(() -> { });
+        }
+        parent.stop();
+
+        //then - verify the output
+        List<FinishedSpan> spans = exporter.getSpans();
+        assertThat(spans).hasSize(2);
+        FinishedSpan child = spans.get(0);
+        FinishedSpan root = spans.get(1);
+        assertThat(child.name()).isEqualTo("jdbc select");
+        assertThat(child.tags()).containsEntry("sql.id", "0000002a");
+        assertThat(child.traceId()).isEqualTo(root.traceId());
+        assertThat(child.parentSpanId()).isEqualTo(root.spanId());
+        assertThat(root.parentSpanId()).isNull();
+    }
+
+    @DisplayName("An incoming traceparent header continues the caller's trace")
+    @Test
+    public void givenTraceparentHeader_whenRequestObserved_thenSpanContinuesTraceAndIsReturned() {
+        //given - precondition or setup
+        ObservationRegistry registry = registry(0.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+        request.addHeader(TracingObservationHandler.TRACEPARENT_HEADER,
+                "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServerRequestObservationContext context = new ServerRequestObservationContext(request, response);
+
+        //when - action or the behavior that we are going test
+        Observation.createNotStarted("http.server.requests", () -> context, registry).observe(() -> { });
+
+        //then - verify the output
+        assertThat(exporter.getSpans()).singleElement().satisfies(span -> {
+            assertThat(span.traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+            assertThat(span.parentSpanId()).isEqualTo("00f067aa0ba902b7");
+        });
+        TraceContext returned = TraceContext.parse(response.getHeader(TracingObservationHandler.TRACEPARENT_HEADER));
+        assertThat(returned).isNotNull();
+        assertThat(returned.traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(returned.sampled()).isTrue();
+    }
+
+    @DisplayName("Unsampled traces are not exported")
+    @Test
+    public void givenZeroSamplingProbability_whenObserved_thenNothingIsExported() {
+        //given - precondition or setup
+        ObservationRegistry registry = registry(0.0);
+
+        //when - action or the behavior that we are going test
+        Observation.createNotStarted("employees.service", registry).observe(() -> { });
+
+        //then - verify the output
+        assertThat(exporter.getSpans()).isEmpty();
+    }
+
+    @DisplayName("Malformed traceparent headers are ignored")
+    @Test
+    public void givenMalformedTraceparent_whenParsed_thenNull() {
+        //when - action or the behavior that we are going test
+        //then - verify the output
+        assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7")).isNull();
+        assertThat(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.parse("garbage")).isNull();
+        assertThat(TraceContext.parse(null)).isNull();
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.brothertec.springboot.warmup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeAccessLogTests {
+
+    @TempDir
+    private Path tempDir;
+
+    @DisplayName("Most frequently read employees come first in the hot set")
+    @Test
+    public void givenRepeatedReads_whenHottest_thenOrderedByFrequency() {
+        //given - precondition or setup
+        EmployeeAccessLog accessLog = new EmployeeAccessLog(new WarmupProperties());
+        for (int i = 0; i < 5; i++) {
+            accessLog.record("default", 3L);
+        }
+        for (int i = 0; i < 3; i++) {
+            accessLog.record("acme", 3L);
+        }
+        accessLog.record("default", 7L);
+
+        //when - action or the behavior that we are going test
+        List<HotKey> hottest = accessLog.hottest(2);
+
+        //then - verify the output
+        assertThat(hottest).containsExactly(new HotKey("default", 3L), new HotKey("acme", 3L));
+    }
+
+    @DisplayName("Only the most recent reads are remembered")
+    @Test
+    public void givenMoreReadsThanCapacity_whenHottest_thenOldReadsAreForgotten() {
+        //given - precondition or setup
+        WarmupProperties properties = new WarmupProperties();
+        properties.setAccessLogCapacity(4);
+        EmployeeAccessLog accessLog = new EmployeeAccessLog(properties);
+        accessLog.record("default", 1L);
+
+        //when - action or the behavior that we are going test
+        for (long id = 2; id <= 5; id++) {
+            accessLog.record("default", id);
+        }
+
+        //then - verify the output
+        assertThat(accessLog.hottest(10)).doesNotContain(new HotKey("default", 1L)).hasSize(4);
+    }
+
+    @DisplayName("Hot set saved on shutdown is loaded on the next start")
+    @Test
+    public void givenHotSetFile_whenDestroyAndLoad_thenHotSetSurvivesRestart() {
+        //given - precondition or setup
+        WarmupProperties properties = new WarmupProperties();
+        properties.setHotSetFile(tempDir.resolve("hot-set.txt").toString());
+        EmployeeAccessLog previousRun = new EmployeeAccessLog(properties);
+        previousRun.record("default", 3L);
+        previousRun.record("default", 3L);
+        previousRun.record("acme", 9L);
+
+        //when - action or the behavior that we are going test
+        previousRun.destroy();
+        List<HotKey> hotSet = new EmployeeAccessLog(properties).loadHotSet();
+
+        //then - verify the output
+        assertThat(hotSet).containsExactly(new HotKey("default", 3L), new HotKey("acme", 9L));
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.brothertec.springboot.warmup;
+
+import br.com.brothertec.springboot.ratelimit.RateLimitInterceptor;
+import br.com.brothertec.springboot.ratelimit.RateLimitProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WarmupTrafficTests {
+
+    private final WarmupTraffic warmupTraffic = new WarmupTraffic();
+
+    @DisplayName("Warm-up requests carrying the process token skip the rate limit, forged ones do not")
+    @Test
+    public void givenExhaustedRateLimit_whenWarmupAndForgedRequests_thenOnlyWarmupPasses() throws Exception {
+        //given - precondition or setup
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaults().setPermitsPerSecond(0.001);
+        properties.getDefaults().setBurst(1);
+        RateLimitInterceptor rateLimiter = new RateLimitInterceptor(properties);
+        HandlerMethod handler = new HandlerMethod(this, WarmupTrafficTests.class.getDeclaredMethod("endpoint"));
+        rateLimiter.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler);
+
+        //when - action or the behavior that we are going test
+        MockHttpServletResponse warmupResponse = new MockHttpServletResponse();
+        boolean warmup = admit(rateLimiter, handler, WarmupTraffic.TOKEN, warmupResponse);
+        MockHttpServletResponse forgedResponse = new MockHttpServletResponse();
+        boolean forged = admit(rateLimiter, handler, "not-the-token", forgedResponse);
+
+        //then - verify the output
+        assertThat(warmup).isTrue();
+        assertThat(forged).isFalse();
+        assertThat(forgedResponse.getStatus()).isEqualTo(429);
+    }
+
+    @DisplayName("Reads made by the warm-up's own requests are not recorded in the access log")
+    @Test
+    public void givenWarmupRequest_whenRecord_thenReadIgnored() {
+        //given - precondition or setup
+        EmployeeAccessLog accessLog = new EmployeeAccessLog(new WarmupProperties());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(WarmupTraffic.TOKEN_HEADER, WarmupTraffic.TOKEN);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when - action or the behavior that we are going test
+        warmupTraffic.preHandle(request, response, null);
+        try {
+            accessLog.record("default", 3L);
+        } finally {
+            warmupTraffic.afterCompletion(request, response, null, null);
+        }
+        accessLog.record("default", 7L);
+
+        //then - verify the output
+        assertThat(accessLog.hottest(10)).containsExactly(new HotKey("default", 7L));
+    }
+
+    private boolean admit(RateLimitInterceptor rateLimiter, HandlerMethod handler, String token,
+                          MockHttpServletResponse response) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(WarmupTraffic.TOKEN_HEADER, token);
+        try {
+            return warmupTraffic.preHandle(request, response, handler) && rateLimiter.preHandle(request, response, handler);
+        } finally {
+            warmupTraffic.afterCompletion(request, response, handler, null);
+        }
+    }
+
+    private void endpoint() {
+    }
+}